@@ -0,0 +1,15 @@
+-- Sequence dos ids de cep_audit_logs (alocação em pool de 50 pelo Hibernate), para bancos
+-- criados quando a coluna id ainda era IDENTITY. Rodar uma vez antes de subir a versão que
+-- usa a sequence, com a aplicação parada:
+--   psql -h $DB_HOST -U $DB_USER -d $DB_NAME -f scripts/audit-logs-sequence.sql
+-- Sem o script, o perfil aws (ddl-auto: validate) não sobe e, com ddl-auto: update, o Hibernate
+-- cria a sequence começando em 1 e os novos ids colidem com os registros existentes.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS cep_audit_logs_seq INCREMENT BY 50;
+
+-- O próximo bloco alocado começa acima do maior id existente
+SELECT setval('cep_audit_logs_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM cep_audit_logs));
+
+COMMIT;
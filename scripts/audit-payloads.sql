@@ -0,0 +1,16 @@
+-- Armazenamento deduplicado dos payloads de resposta da auditoria. Necessário apenas onde o
+-- schema não é atualizado pelo Hibernate (perfil aws, ddl-auto: validate):
+--   psql -h $DB_HOST -U $DB_USER -d $DB_NAME -f scripts/audit-payloads.sql
+-- Registros antigos mantêm o JSON em response_data e continuam legíveis.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS cep_audit_payloads (
+    hash VARCHAR(64) PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+ALTER TABLE cep_audit_logs ADD COLUMN IF NOT EXISTS response_hash VARCHAR(64);
+
+COMMIT;
@@ -0,0 +1,45 @@
+-- Tabelas de rollup das estatísticas de auditoria. Necessário apenas onde o schema não é
+-- atualizado pelo Hibernate (perfil aws, ddl-auto: validate):
+--   psql -h $DB_HOST -U $DB_USER -d $DB_NAME -f scripts/audit-stats-rollups.sql
+-- Para preencher com o histórico existente, suba uma vez com AUDIT_STATS_BACKFILL=true.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS cep_audit_stats_rollup_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cep_audit_cep_stats_rollup_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cep_audit_latency_rollup_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS cep_audit_stats_rollup (
+    id BIGINT PRIMARY KEY,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    total_requests BIGINT NOT NULL,
+    successful_requests BIGINT NOT NULL,
+    failed_requests BIGINT NOT NULL,
+    execution_time_sum_ms BIGINT NOT NULL,
+    execution_time_max_ms BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_stats_rollup_bucket ON cep_audit_stats_rollup (bucket_start);
+
+CREATE TABLE IF NOT EXISTS cep_audit_cep_stats_rollup (
+    id BIGINT PRIMARY KEY,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    cep VARCHAR(8) NOT NULL,
+    total_requests BIGINT NOT NULL,
+    successful_requests BIGINT NOT NULL,
+    failed_requests BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_cep_stats_rollup_bucket ON cep_audit_cep_stats_rollup (bucket_start);
+CREATE INDEX IF NOT EXISTS idx_audit_cep_stats_rollup_cep ON cep_audit_cep_stats_rollup (cep, bucket_start);
+
+CREATE TABLE IF NOT EXISTS cep_audit_latency_rollup (
+    id BIGINT PRIMARY KEY,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    latency_bucket INTEGER NOT NULL,
+    requests BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_latency_rollup_bucket ON cep_audit_latency_rollup (bucket_start);
+
+COMMIT;
@@ -0,0 +1,63 @@
+-- Converte uma cep_audit_logs existente (sem particionamento) em tabela particionada por mês
+-- em request_timestamp. Rodar uma única vez, com a aplicação parada:
+--   psql -h $DB_HOST -U $DB_USER -d $DB_NAME -f scripts/partition-audit-logs.sql
+-- Depois, suba a aplicação com AUDIT_PARTITIONING_ENABLED=true (granularidade MONTHLY) para
+-- criar as partições seguintes e aplicar a retenção. O histórico anterior ao mês corrente
+-- fica na partição cep_audit_logs_legacy, que não é removida automaticamente.
+-- Se o banco é anterior à sequence cep_audit_logs_seq, rode antes scripts/audit-logs-sequence.sql;
+-- o fim deste script reposiciona a sequence acima do maior id de novo, por segurança.
+
+BEGIN;
+
+ALTER TABLE cep_audit_logs RENAME TO cep_audit_logs_legacy;
+ALTER TABLE cep_audit_logs_legacy RENAME CONSTRAINT cep_audit_logs_pkey TO cep_audit_logs_legacy_pkey;
+ALTER TABLE cep_audit_logs_legacy ADD COLUMN IF NOT EXISTS response_hash VARCHAR(64);
+DROP INDEX IF EXISTS idx_cep_audit_logs_cep_timestamp;
+DROP INDEX IF EXISTS idx_cep_audit_logs_timestamp;
+
+CREATE TABLE cep_audit_logs (
+    id BIGINT NOT NULL,
+    cep VARCHAR(8) NOT NULL,
+    request_timestamp TIMESTAMP(6) NOT NULL,
+    response_data TEXT,
+    success BOOLEAN NOT NULL,
+    error_message VARCHAR(255),
+    execution_time_ms BIGINT,
+    source_ip VARCHAR(255),
+    user_agent VARCHAR(255),
+    response_hash VARCHAR(64),
+    PRIMARY KEY (id, request_timestamp)
+) PARTITION BY RANGE (request_timestamp);
+
+CREATE INDEX idx_cep_audit_logs_cep_timestamp ON cep_audit_logs (cep, request_timestamp DESC, id DESC);
+CREATE INDEX idx_cep_audit_logs_timestamp ON cep_audit_logs (request_timestamp DESC, id DESC);
+
+DO $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', now()::timestamp);
+    next_month TIMESTAMP := month_start + INTERVAL '1 month';
+BEGIN
+    -- Mês corrente em sua própria partição, com o nome usado pelo AuditPartitionManager
+    EXECUTE format('CREATE TABLE cep_audit_logs_p%s PARTITION OF cep_audit_logs FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start, 'YYYYMM'), month_start, next_month);
+    INSERT INTO cep_audit_logs (id, cep, request_timestamp, response_data, success, error_message,
+            execution_time_ms, source_ip, user_agent, response_hash)
+        SELECT id, cep, request_timestamp, response_data, success, error_message,
+            execution_time_ms, source_ip, user_agent, response_hash
+        FROM cep_audit_logs_legacy WHERE request_timestamp >= month_start;
+    DELETE FROM cep_audit_logs_legacy WHERE request_timestamp >= month_start;
+
+    -- A restrição validada evita nova varredura no ATTACH; o índice único atende à chave primária
+    EXECUTE format('ALTER TABLE cep_audit_logs_legacy ADD CONSTRAINT cep_audit_logs_legacy_range CHECK (request_timestamp < %L)',
+            month_start);
+    CREATE UNIQUE INDEX cep_audit_logs_legacy_id_timestamp ON cep_audit_logs_legacy (id, request_timestamp);
+    EXECUTE format('ALTER TABLE cep_audit_logs ATTACH PARTITION cep_audit_logs_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+            month_start);
+END $$;
+
+CREATE SEQUENCE IF NOT EXISTS cep_audit_logs_seq INCREMENT BY 50;
+SELECT setval('cep_audit_logs_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) + 1 FROM cep_audit_logs),
+        (SELECT last_value FROM cep_audit_logs_seq)));
+
+COMMIT;
@@ -0,0 +1,251 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.AuditExportFormat;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.domain.service.AuditExportService;
+import com.stefanini.ceptracker.infrastructure.archive.AuditArchiveStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exportação de auditoria em streaming: as linhas são lidas por um cursor JDBC somente
+ * para frente, com fetch size limitado, e escritas direto na saída, sem entidades nem
+ * persistence context. O período anterior a {@link AuditArchiveStore#archivedUntil()} vem
+ * dos segmentos arquivados, um bloco por vez, antes do cursor. O uso de memória não
+ * depende do tamanho da exportação.
+ */
+@Service
+@Slf4j
+public class AuditExportServiceImpl implements AuditExportService {
+
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Registros novos guardam só o hash do payload; os antigos ainda têm o JSON em linha
+    private static final String SELECT = "SELECT l.id, l.cep, l.request_timestamp, l.success, l.execution_time_ms, "
+            + "l.error_message, l.source_ip, l.user_agent, COALESCE(l.response_data, p.payload) "
+            + "FROM cep_audit_logs l LEFT JOIN cep_audit_payloads p ON p.hash = l.response_hash "
+            + "WHERE l.request_timestamp >= ? AND l.request_timestamp < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditArchiveStore archiveStore;
+    private final JsonFactory jsonFactory;
+    private final Counter exportedRowsCounter;
+
+    public AuditExportServiceImpl(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            AuditArchiveStore archiveStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.export.fetch-size:1000}") int fetchSize) {
+        // JdbcTemplate próprio para que o fetch size valha só para a exportação
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.archiveStore = archiveStore;
+        this.jsonFactory = objectMapper.getFactory();
+        this.exportedRowsCounter = Counter.builder("cep.audit.export.rows")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long export(String cep, LocalDateTime from, LocalDateTime to, AuditExportFormat format,
+            OutputStream outputStream) throws IOException {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime windowStart = from != null ? from : HISTORY_START;
+        LocalDateTime windowEnd = to != null ? to : LocalDateTime.now();
+        // Mesma divisão da consulta paginada: antes de archivedUntil, só os segmentos arquivados
+        LocalDateTime archivedUntil = archiveStore.archivedUntil();
+        LocalDateTime databaseFrom = archivedUntil != null && archivedUntil.isAfter(windowStart) ? archivedUntil : windowStart;
+
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> params = new ArrayList<>(3);
+        params.add(databaseFrom);
+        params.add(windowEnd);
+        if (cep != null) {
+            sql.append(" AND l.cep = ?");
+            params.add(cep);
+        }
+        sql.append(" ORDER BY l.request_timestamp, l.id");
+
+        ExportWriter writer = format == AuditExportFormat.CSV
+                ? new CsvExportWriter(outputStream)
+                : new NdjsonExportWriter(jsonFactory.createGenerator(outputStream));
+        try {
+            if (databaseFrom.isAfter(windowStart)) {
+                archiveStore.scan(cep, windowStart, databaseFrom.isBefore(windowEnd) ? databaseFrom : windowEnd,
+                        writer::processArchived);
+            }
+            // No PostgreSQL o fetch size só vira cursor com autocommit desligado, ou seja, dentro de transação
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql.toString(), writer, params.toArray()));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            log.warn("Exportação de auditoria interrompida após {} registros: {}", writer.rows, e.getMessage());
+            throw e.getCause();
+        } finally {
+            exportedRowsCounter.increment(writer.rows);
+        }
+
+        log.info("Exportação de auditoria em {} concluída: {} registros em {}ms", format, writer.rows,
+                System.currentTimeMillis() - startTime);
+        return writer.rows;
+    }
+
+    private abstract static class ExportWriter implements RowCallbackHandler {
+
+        long rows;
+
+        @Override
+        public final void processRow(ResultSet rs) throws SQLException {
+            long executionTime = rs.getLong(5);
+            Long executionTimeMs = rs.wasNull() ? null : executionTime;
+            process(rs.getLong(1), rs.getString(2), rs.getObject(3, LocalDateTime.class), rs.getBoolean(4),
+                    executionTimeMs, rs.getString(6), rs.getString(7), rs.getString(8), rs.getString(9));
+        }
+
+        final void processArchived(CepAuditLog auditLog) {
+            process(auditLog.getId(), auditLog.getCep(), auditLog.getRequestTimestamp(),
+                    Boolean.TRUE.equals(auditLog.getSuccess()), auditLog.getExecutionTimeMs(), auditLog.getErrorMessage(),
+                    auditLog.getSourceIp(), auditLog.getUserAgent(), auditLog.getResponseData());
+        }
+
+        private void process(long id, String cep, LocalDateTime requestTimestamp, boolean success, Long executionTimeMs,
+                String errorMessage, String sourceIp, String userAgent, String responseData) {
+            try {
+                write(id, cep, requestTimestamp, success, executionTimeMs, errorMessage, sourceIp, userAgent, responseData);
+            } catch (IOException e) {
+                // Cliente desconectado: interrompe a leitura do cursor ou dos segmentos
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+        }
+
+        abstract void write(long id, String cep, LocalDateTime requestTimestamp, boolean success, Long executionTimeMs,
+                String errorMessage, String sourceIp, String userAgent, String responseData) throws IOException;
+
+        abstract void finish() throws IOException;
+    }
+
+    // Mesmos nomes de campo do JSON de CepAuditLog, um objeto por linha
+    private static final class NdjsonExportWriter extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonExportWriter(JsonGenerator generator) {
+            // Sem o separador padrão (um espaço) entre valores raiz: cada linha começa no '{'
+            this.generator = generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(long id, String cep, LocalDateTime requestTimestamp, boolean success, Long executionTimeMs,
+                String errorMessage, String sourceIp, String userAgent, String responseData) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("cep", cep);
+            generator.writeStringField("requestTimestamp", requestTimestamp.toString());
+            generator.writeBooleanField("success", success);
+            if (executionTimeMs == null) {
+                generator.writeNullField("executionTimeMs");
+            } else {
+                generator.writeNumberField("executionTimeMs", executionTimeMs);
+            }
+            generator.writeStringField("errorMessage", errorMessage);
+            generator.writeStringField("sourceIp", sourceIp);
+            generator.writeStringField("userAgent", userAgent);
+            generator.writeStringField("responseData", responseData);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvExportWriter extends ExportWriter {
+
+        private static final String HEADER =
+                "id,cep,requestTimestamp,success,executionTimeMs,errorMessage,sourceIp,userAgent,responseData\n";
+
+        private final Writer out;
+
+        CsvExportWriter(OutputStream outputStream) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            this.out.write(HEADER);
+        }
+
+        @Override
+        void write(long id, String cep, LocalDateTime requestTimestamp, boolean success, Long executionTimeMs,
+                String errorMessage, String sourceIp, String userAgent, String responseData) throws IOException {
+            out.write(Long.toString(id));
+            out.write(',');
+            field(cep);
+            out.write(',');
+            out.write(requestTimestamp.toString());
+            out.write(',');
+            out.write(success ? "true" : "false");
+            out.write(',');
+            if (executionTimeMs != null) {
+                out.write(Long.toString(executionTimeMs));
+            }
+            out.write(',');
+            field(errorMessage);
+            out.write(',');
+            field(sourceIp);
+            out.write(',');
+            field(userAgent);
+            out.write(',');
+            field(responseData);
+            out.write('\n');
+        }
+
+        // RFC 4180: aspas apenas quando o valor tem separador, aspas ou quebra de linha
+        private void field(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -1,45 +1,149 @@
 package com.stefanini.ceptracker.application.service;
 
+import com.stefanini.ceptracker.domain.dto.AuditLogPage;
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
 import com.stefanini.ceptracker.domain.entity.CepAuditLog;
 import com.stefanini.ceptracker.domain.service.AuditService;
+import com.stefanini.ceptracker.infrastructure.archive.AuditArchiveStore;
+import com.stefanini.ceptracker.infrastructure.audit.AsyncAuditLogWriter;
+import com.stefanini.ceptracker.infrastructure.audit.AuditPayloadStore;
 import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import javax.persistence.EntityNotFoundException;
+import jakarta.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuditServiceImpl implements AuditService {
 
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final CepAuditLogRepository auditLogRepository;
+    private final AsyncAuditLogWriter auditLogWriter;
+    private final AuditPayloadStore payloadStore;
+    private final AuditArchiveStore archiveStore;
+    // Fuso resolvido uma vez: LocalDateTime.now() sem Clock clona o TimeZone padrão a cada chamada
+    private final Clock clock = Clock.systemDefaultZone();
 
     @Override
-    public void logCepRequest(String cep, String responseData, boolean success,
+    public void logCepRequest(String cep, CepResponse response, boolean success,
             String errorMessage, long executionTime,
             String sourceIp, String userAgent) {
 
         CepAuditLog auditLog = CepAuditLog.builder()
                 .cep(cep)
-                .requestTimestamp(LocalDateTime.now())
-                .responseData(responseData)
+                .requestTimestamp(LocalDateTime.now(clock))
                 .success(success)
                 .errorMessage(errorMessage)
                 .executionTimeMs(executionTime)
                 .sourceIp(sourceIp)
                 .userAgent(userAgent)
                 .build();
+        if (response != null) {
+            payloadStore.attach(auditLog, response);
+        }
+
+        auditLogWriter.submit(auditLog);
+        log.debug("Audit log enfileirado para CEP: {}, Success: {}", cep, success);
+    }
+
+    @Override
+    public void logCepBatch(List<CepLookupResult> results, long executionTime,
+            String sourceIp, String userAgent) {
 
-        auditLogRepository.save(auditLog);
-        log.debug("Audit log criado para CEP: {}, Success: {}", cep, success);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<CepAuditLog> auditLogs = new ArrayList<>(results.size());
+        for (CepLookupResult result : results) {
+            boolean success = result.getStatus() == CepLookupResult.Status.FOUND;
+            CepAuditLog auditLog = CepAuditLog.builder()
+                    .cep(result.getCep())
+                    .requestTimestamp(now)
+                    .success(success)
+                    .errorMessage(success ? null : errorMessage(result))
+                    .executionTimeMs(executionTime)
+                    .sourceIp(sourceIp)
+                    .userAgent(userAgent)
+                    .build();
+            if (success) {
+                payloadStore.attach(auditLog, result.getData());
+            }
+            auditLogs.add(auditLog);
+        }
+
+        auditLogWriter.submitAll(auditLogs);
+        log.debug("{} audit logs do lote enfileirados", auditLogs.size());
     }
 
     @Override
     public CepAuditLog findById(Long id) {
-        return auditLogRepository.findById(id)
+        CepAuditLog auditLog = auditLogRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Audit log não encontrado com ID: " + id));
+        payloadStore.resolve(List.of(auditLog));
+        return auditLog;
+    }
+
+    @Override
+    public AuditLogPage findLogs(String cep, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        LocalDateTime windowStart = from != null ? from : HISTORY_START;
+        LocalDateTime beforeTimestamp = to != null ? to : HISTORY_END;
+        long beforeId = Long.MIN_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = position.lastIndexOf('|');
+                beforeTimestamp = LocalDateTime.parse(position.substring(0, separator));
+                beforeId = Long.parseLong(position.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+            }
+        }
+
+        // Antes de archivedUntil os registros vêm só dos segmentos arquivados, mesmo que ainda estejam no banco
+        LocalDateTime archivedUntil = archiveStore.archivedUntil();
+        LocalDateTime databaseFrom = archivedUntil != null && archivedUntil.isAfter(windowStart) ? archivedUntil : windowStart;
+
+        // Um registro a mais indica se existe próxima página, sem COUNT
+        List<CepAuditLog> logs = new ArrayList<>(size + 1);
+        if (!beforeTimestamp.isBefore(databaseFrom)) {
+            PageRequest limit = PageRequest.of(0, size + 1);
+            logs.addAll(cep == null
+                    ? auditLogRepository.findPageBefore(databaseFrom, beforeTimestamp, beforeId, limit)
+                    : auditLogRepository.findPageByCepBefore(cep, databaseFrom, beforeTimestamp, beforeId, limit));
+        }
+        if (logs.size() <= size && archivedUntil != null && windowStart.isBefore(archivedUntil)) {
+            // Os arquivados são todos anteriores aos do banco, então a página continua neles
+            logs.addAll(archiveStore.findPageBefore(cep, windowStart, beforeTimestamp, beforeId, size + 1 - logs.size()));
+        }
+
+        String nextCursor = null;
+        if (logs.size() > size) {
+            logs = new ArrayList<>(logs.subList(0, size));
+            CepAuditLog last = logs.get(size - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getRequestTimestamp() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        payloadStore.resolve(logs);
+        return AuditLogPage.builder()
+                .content(logs)
+                .size(size)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private String errorMessage(CepLookupResult result) {
+        return result.getStatus() == CepLookupResult.Status.NOT_FOUND ? "CEP não encontrado" : result.getError();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.stefanini.ceptracker.domain.dto.AuditStats;
+import com.stefanini.ceptracker.domain.dto.CepStats;
+import com.stefanini.ceptracker.domain.service.AuditStatsService;
+import com.stefanini.ceptracker.infrastructure.audit.AuditStatsAggregator;
+import com.stefanini.ceptracker.infrastructure.audit.AuditStatsSnapshot;
+import com.stefanini.ceptracker.infrastructure.audit.LatencyHistogram;
+import com.stefanini.ceptracker.infrastructure.repository.AuditCepStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.AuditLatencyRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.AuditStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.AuditStatsTotals;
+import com.stefanini.ceptracker.infrastructure.repository.CepStatsTotals;
+import com.stefanini.ceptracker.infrastructure.repository.LatencyBucketCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Consultas sobre os rollups por minuto: custo proporcional aos minutos da janela, não às linhas de auditoria
+@Service
+@RequiredArgsConstructor
+public class AuditStatsServiceImpl implements AuditStatsService {
+
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final AuditStatsRollupRepository statsRepository;
+    private final AuditCepStatsRollupRepository cepStatsRepository;
+    private final AuditLatencyRollupRepository latencyRepository;
+    private final AuditStatsAggregator statsAggregator;
+
+    @Override
+    public AuditStats getStats(LocalDateTime from, LocalDateTime to, int topCeps) {
+        LocalDateTime windowStart = windowStart(from);
+        LocalDateTime windowEnd = windowEnd(to);
+        AuditStatsSnapshot pending = statsAggregator.pending(windowStart, windowEnd);
+
+        AuditStatsTotals totals = statsRepository.sumBetween(windowStart, windowEnd);
+        long totalRequests = value(totals.getTotalRequests()) + pending.getTotalRequests();
+        long executionTimeSum = value(totals.getExecutionTimeSumMs()) + pending.getExecutionTimeSumMs();
+        long maxExecutionTime = Math.max(value(totals.getExecutionTimeMaxMs()), pending.getExecutionTimeMaxMs());
+
+        long[] latencyCounts = pending.getLatencyCounts().clone();
+        for (LatencyBucketCount bucket : latencyRepository.sumBetween(windowStart, windowEnd)) {
+            latencyCounts[bucket.getLatencyBucket()] += bucket.getRequests();
+        }
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            long value = Math.min(LatencyHistogram.percentile(latencyCounts, percentile), maxExecutionTime);
+            percentiles.put("p" + Math.round(percentile * 100), value);
+        }
+
+        return AuditStats.builder()
+                .from(windowStart)
+                .to(windowEnd)
+                .totalRequests(totalRequests)
+                .successfulRequests(value(totals.getSuccessfulRequests()) + pending.getSuccessfulRequests())
+                .failedRequests(value(totals.getFailedRequests()) + pending.getFailedRequests())
+                .averageExecutionTimeMs(totalRequests == 0 ? 0 : (double) executionTimeSum / totalRequests)
+                .maxExecutionTimeMs(maxExecutionTime)
+                .executionTimePercentiles(percentiles)
+                .topCeps(topCeps > 0 ? topCeps(windowStart, windowEnd, topCeps, pending) : List.of())
+                .build();
+    }
+
+    @Override
+    public CepStats getCepStats(String cep, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime windowStart = windowStart(from);
+        LocalDateTime windowEnd = windowEnd(to);
+        CepStats stats = CepStats.builder().cep(cep).build();
+
+        CepStatsTotals totals = cepStatsRepository.sumByCep(cep, windowStart, windowEnd);
+        if (totals != null) {
+            add(stats, totals.getTotalRequests(), totals.getSuccessfulRequests(), totals.getFailedRequests());
+        }
+        long[] pending = statsAggregator.pending(windowStart, windowEnd).getCepCounts().get(cep);
+        if (pending != null) {
+            add(stats, pending[0], pending[1], pending[2]);
+        }
+        return stats;
+    }
+
+    // Une o top N persistido com os incrementos em memória e reordena
+    private List<CepStats> topCeps(LocalDateTime from, LocalDateTime to, int limit, AuditStatsSnapshot pending) {
+        Map<String, CepStats> merged = new LinkedHashMap<>();
+        for (CepStatsTotals totals : cepStatsRepository.findTopCeps(from, to, PageRequest.of(0, limit))) {
+            CepStats stats = CepStats.builder().cep(totals.getCep()).build();
+            add(stats, totals.getTotalRequests(), totals.getSuccessfulRequests(), totals.getFailedRequests());
+            merged.put(totals.getCep(), stats);
+        }
+        pending.getCepCounts().forEach((cep, counts) ->
+                add(merged.computeIfAbsent(cep, key -> CepStats.builder().cep(key).build()), counts[0], counts[1], counts[2]));
+
+        List<CepStats> top = new ArrayList<>(merged.values());
+        top.sort(Comparator.comparingLong(CepStats::getTotalRequests).reversed());
+        return top.size() > limit ? new ArrayList<>(top.subList(0, limit)) : top;
+    }
+
+    private static void add(CepStats stats, long total, long successful, long failed) {
+        stats.setTotalRequests(stats.getTotalRequests() + total);
+        stats.setSuccessfulRequests(stats.getSuccessfulRequests() + successful);
+        stats.setFailedRequests(stats.getFailedRequests() + failed);
+    }
+
+    private static LocalDateTime windowStart(LocalDateTime from) {
+        return from == null ? HISTORY_START : from.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    // Fim exclusivo arredondado para o próximo minuto, para incluir o minuto parcial
+    private static LocalDateTime windowEnd(LocalDateTime to) {
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime truncated = end.truncatedTo(ChronoUnit.MINUTES);
+        return truncated.equals(end) && to != null ? truncated : truncated.plusMinutes(1);
+    }
+
+    private static long value(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -1,44 +1,141 @@
 package com.stefanini.ceptracker.application.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stefanini.ceptracker.domain.service.CacheService;
+import com.stefanini.ceptracker.infrastructure.cache.CacheCodec;
+import com.stefanini.ceptracker.infrastructure.cache.NearCache;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CacheServiceImpl implements CacheService {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, byte[]> cacheRedisTemplate;
+    private final CacheCodec cacheCodec;
+    private final NearCache nearCache;
+    private final StageTimers stageTimers;
 
     @Override
     public <T> void save(String key, T value, Duration ttl) {
         try {
-            String jsonValue = objectMapper.writeValueAsString(value);
-            redisTemplate.opsForValue().set(key, jsonValue, ttl);
+            byte[] encoded = cacheCodec.encode(value);
+            long start = stageTimers.start();
+            cacheRedisTemplate.opsForValue().set(key, encoded, ttl);
+            stageTimers.record(Stage.CACHE_SAVE, start);
+            nearCache.put(key, value);
             log.debug("Valor salvo no cache com chave: {}", key);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("Erro ao serializar objeto para cache: {}", e.getMessage());
         }
     }
 
     @Override
     public <T> T get(String key, Class<T> type) {
+        T localValue = nearCache.get(key, type);
+        if (localValue != null) {
+            return localValue;
+        }
+
         try {
-            String jsonValue = redisTemplate.opsForValue().get(key);
-            if (jsonValue != null) {
-                return objectMapper.readValue(jsonValue, type);
+            long start = stageTimers.start();
+            byte[] encoded = cacheRedisTemplate.opsForValue().get(key);
+            stageTimers.record(Stage.CACHE_GET, start);
+            if (encoded != null) {
+                start = stageTimers.start();
+                T value = cacheCodec.decode(encoded, type);
+                stageTimers.record(Stage.CACHE_DESERIALIZE, start);
+                nearCache.put(key, value);
+                return value;
             }
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             log.error("Erro ao deserializar objeto do cache: {}", e.getMessage());
         }
         return null;
     }
-}
\ No newline at end of file
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> values = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            T localValue = nearCache.get(key, type);
+            if (localValue != null) {
+                values.put(key, localValue);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        // Um único MGET para todas as chaves ausentes do L1
+        long start = stageTimers.start();
+        List<byte[]> encodedValues = cacheRedisTemplate.opsForValue().multiGet(missing);
+        stageTimers.record(Stage.CACHE_GET, start);
+        if (encodedValues == null) {
+            return values;
+        }
+        for (int i = 0; i < missing.size(); i++) {
+            byte[] encoded = encodedValues.get(i);
+            if (encoded == null) {
+                continue;
+            }
+            try {
+                start = stageTimers.start();
+                T value = cacheCodec.decode(encoded, type);
+                stageTimers.record(Stage.CACHE_DESERIALIZE, start);
+                nearCache.put(missing.get(i), value);
+                values.put(missing.get(i), value);
+            } catch (IOException e) {
+                log.error("Erro ao deserializar objeto do cache: {}", e.getMessage());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public <T> void saveAll(Map<String, T> values, Duration ttl) {
+        Map<byte[], byte[]> serialized = new LinkedHashMap<>();
+        for (Map.Entry<String, T> entry : values.entrySet()) {
+            try {
+                serialized.put(entry.getKey().getBytes(StandardCharsets.UTF_8),
+                        cacheCodec.encode(entry.getValue()));
+            } catch (IOException e) {
+                log.error("Erro ao serializar objeto para cache: {}", e.getMessage());
+            }
+        }
+        if (serialized.isEmpty()) {
+            return;
+        }
+
+        // Todas as escritas seguem num único pipeline, com um round trip ao Redis
+        Expiration expiration = Expiration.from(ttl);
+        long start = stageTimers.start();
+        cacheRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            serialized.forEach((key, value) -> connection.stringCommands().set(key, value, expiration, SetOption.upsert()));
+            return null;
+        });
+        stageTimers.record(Stage.CACHE_SAVE, start);
+        values.forEach(nearCache::put);
+        log.debug("{} valores salvos no cache em pipeline", serialized.size());
+    }
+}
@@ -0,0 +1,262 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.stefanini.ceptracker.domain.dto.CacheWarmUpStatus;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
+import com.stefanini.ceptracker.domain.dto.LookupOrigin;
+import com.stefanini.ceptracker.domain.service.CacheService;
+import com.stefanini.ceptracker.domain.service.CepService;
+import com.stefanini.ceptracker.infrastructure.repository.AuditCepStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.CepStatsTotals;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pré-carrega no cache (Redis e L1) os CEPs mais consultados segundo os rollups por CEP
+ * da auditoria, na subida da aplicação ou sob demanda, sem varrer cep_audit_logs. Os CEPs já em cache são conferidos
+ * com MGET e só os ausentes vão à API externa, em lotes e com taxa limitada. A prontidão
+ * fica pendente até a fração de consultas atendidas pelo cache atingir a meta.
+ */
+@Service
+@Slf4j
+public class CacheWarmUpService {
+
+    private final AuditCepStatsRollupRepository cepStatsRepository;
+    private final CepService cepService;
+    private final CacheService cacheService;
+    private final boolean enabled;
+    private final int topN;
+    private final int lookbackDays;
+    private final int batchSize;
+    private final double ratePerSecond;
+    private final double targetHitRatio;
+    private final long readinessDeadlineNanos;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicInteger processedCeps = new AtomicInteger();
+    private final AtomicInteger alreadyCached = new AtomicInteger();
+    private final AtomicInteger fetched = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong warmRequests = new AtomicLong();
+    private volatile CacheWarmUpStatus.State state = CacheWarmUpStatus.State.IDLE;
+    private volatile int totalCeps;
+    private volatile long totalRequests;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean targetReached;
+    private long nextSlotNanos;
+
+    public CacheWarmUpService(AuditCepStatsRollupRepository cepStatsRepository,
+            CepService cepService,
+            CacheService cacheService,
+            MeterRegistry meterRegistry,
+            @Value("${app.cep-service.cache.warm-up.enabled:true}") boolean enabled,
+            @Value("${app.cep-service.cache.warm-up.top-n:10000}") int topN,
+            @Value("${app.cep-service.cache.warm-up.lookback-days:30}") int lookbackDays,
+            @Value("${app.cep-service.cache.warm-up.batch-size:100}") int batchSize,
+            @Value("${app.cep-service.cache.warm-up.rate-per-second:50}") double ratePerSecond,
+            @Value("${app.cep-service.cache.warm-up.target-hit-ratio:0.9}") double targetHitRatio,
+            @Value("${app.cep-service.cache.warm-up.readiness-timeout:300}") long readinessTimeoutSeconds) {
+        this.cepStatsRepository = cepStatsRepository;
+        this.cepService = cepService;
+        this.cacheService = cacheService;
+        this.enabled = enabled;
+        this.topN = topN;
+        this.lookbackDays = lookbackDays;
+        this.batchSize = batchSize;
+        this.ratePerSecond = ratePerSecond;
+        this.targetHitRatio = targetHitRatio;
+        this.readinessDeadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(readinessTimeoutSeconds);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("cep.cache.warmup.hit.ratio", this, CacheWarmUpService::warmHitRatio)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Retorna false se já houver um aquecimento em andamento
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        state = CacheWarmUpStatus.State.RUNNING;
+        executor.execute(this::run);
+        return true;
+    }
+
+    // Pronto ao atingir a meta (uma vez atingida não volta atrás) ou após o prazo máximo de espera
+    public boolean isReady() {
+        return !enabled || targetReached || System.nanoTime() - readinessDeadlineNanos >= 0;
+    }
+
+    public CacheWarmUpStatus status() {
+        return CacheWarmUpStatus.builder()
+                .state(state)
+                .totalCeps(totalCeps)
+                .processedCeps(processedCeps.get())
+                .alreadyCached(alreadyCached.get())
+                .fetched(fetched.get())
+                .failed(failed.get())
+                .warmHitRatio(warmHitRatio())
+                .targetHitRatio(targetHitRatio)
+                .ready(isReady())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+
+    void run() {
+        reset();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<CepStatsTotals> mostRequested = cepStatsRepository.findTopCeps(
+                    now.minusDays(lookbackDays), now, PageRequest.of(0, topN));
+            Map<String, Long> requestsByCep = new HashMap<>(mostRequested.size() * 2);
+            long requests = 0;
+            for (CepStatsTotals count : mostRequested) {
+                requestsByCep.put(count.getCep(), count.getTotalRequests());
+                requests += count.getTotalRequests();
+            }
+            totalCeps = mostRequested.size();
+            totalRequests = requests;
+            log.info("Aquecimento do cache iniciado com os {} CEPs mais consultados nos últimos {} dias",
+                    totalCeps, lookbackDays);
+
+            for (int from = 0; from < mostRequested.size(); from += batchSize) {
+                List<CepStatsTotals> batch = mostRequested.subList(from, Math.min(from + batchSize, mostRequested.size()));
+                warmBatch(batch, requestsByCep);
+            }
+
+            state = CacheWarmUpStatus.State.COMPLETED;
+            log.info("Aquecimento do cache concluído: {} já em cache, {} consultados, {} falhas, hit ratio {}",
+                    alreadyCached.get(), fetched.get(), failed.get(), String.format("%.3f", warmHitRatio()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = CacheWarmUpStatus.State.FAILED;
+            error = "Aquecimento interrompido";
+        } catch (RuntimeException e) {
+            state = CacheWarmUpStatus.State.FAILED;
+            error = e.getMessage();
+            log.error("Erro no aquecimento do cache: {}", e.getMessage());
+        } finally {
+            finishedAt = Instant.now();
+            updateTargetReached();
+            running.set(false);
+        }
+    }
+
+    private void warmBatch(List<CepStatsTotals> batch, Map<String, Long> requestsByCep) throws InterruptedException {
+        List<String> cacheKeys = new ArrayList<>(batch.size());
+        for (CepStatsTotals count : batch) {
+            cacheKeys.add("cep:" + count.getCep());
+        }
+        Map<String, CachedCepResponse> cached = cacheService.getAll(cacheKeys, CachedCepResponse.class);
+
+        long now = System.currentTimeMillis();
+        List<String> cold = new ArrayList<>();
+        for (CepStatsTotals count : batch) {
+            CachedCepResponse entry = cached.get("cep:" + count.getCep());
+            if (entry != null && entry.getResponse() != null && entry.isFresh(now)) {
+                alreadyCached.incrementAndGet();
+                processedCeps.incrementAndGet();
+                warmRequests.addAndGet(count.getTotalRequests());
+            } else {
+                cold.add(count.getCep());
+            }
+        }
+        updateTargetReached();
+        if (cold.isEmpty()) {
+            return;
+        }
+
+        pace(cold.size());
+        cepService.findCeps(cold, LookupOrigin.WARMUP, result -> {
+            processedCeps.incrementAndGet();
+            if (result.getStatus() == CepLookupResult.Status.ERROR) {
+                failed.incrementAndGet();
+                return;
+            }
+            fetched.incrementAndGet();
+            warmRequests.addAndGet(requestsByCep.getOrDefault(result.getCep(), 0L));
+        });
+        updateTargetReached();
+    }
+
+    // Limita a taxa de CEPs enviados à consulta: cada lote reserva sua janela e espera por ela
+    private void pace(int ceps) throws InterruptedException {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = nextSlotNanos - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        nextSlotNanos = Math.max(now, nextSlotNanos) + (long) (ceps * TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+    }
+
+    private void reset() {
+        processedCeps.set(0);
+        alreadyCached.set(0);
+        fetched.set(0);
+        failed.set(0);
+        warmRequests.set(0);
+        totalCeps = 0;
+        totalRequests = 0;
+        startedAt = Instant.now();
+        finishedAt = null;
+        error = null;
+    }
+
+    private void updateTargetReached() {
+        // Sem histórico não há o que aquecer; só vale depois de a lista ter sido carregada
+        if (state == CacheWarmUpStatus.State.RUNNING && totalCeps == 0) {
+            return;
+        }
+        if (warmHitRatio() >= targetHitRatio) {
+            targetReached = true;
+        }
+    }
+
+    private double warmHitRatio() {
+        long total = totalRequests;
+        return total == 0 ? 1.0 : (double) warmRequests.get() / total;
+    }
+}
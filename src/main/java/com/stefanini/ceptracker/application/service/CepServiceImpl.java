@@ -1,69 +1,392 @@
 package com.stefanini.ceptracker.application.service;
 
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
 import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.LookupOrigin;
 import com.stefanini.ceptracker.domain.service.CacheService;
 import com.stefanini.ceptracker.domain.service.CepService;
+import com.stefanini.ceptracker.infrastructure.cache.NotFoundCepFilter;
 import com.stefanini.ceptracker.infrastructure.client.CepApiClient;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 public class CepServiceImpl implements CepService {
 
+    private static final String NOT_FOUND_KEY_PREFIX = "cep:notfound:";
+
     private final CepApiClient cepApiClient;
     private final CacheService cacheService;
-    private final Counter cepRequestCounter;
-    private final Counter cacheHitCounter;
-    private final Counter cacheMissCounter;
+    private final Map<LookupOrigin, LookupCounters> countersByOrigin = new EnumMap<>(LookupOrigin.class);
+    private final NotFoundCepFilter notFoundFilter;
+    private final ExecutorService refreshExecutor;
+    private final ConcurrentMap<String, CompletableFuture<CepResponse>> inFlightRequests = new ConcurrentHashMap<>();
 
     public CepServiceImpl(CepApiClient cepApiClient,
             CacheService cacheService,
-            MeterRegistry meterRegistry) {
+            NotFoundCepFilter notFoundFilter,
+            MeterRegistry meterRegistry,
+            @Value("${app.cep-service.cache.refresh.threads:2}") int refreshThreads,
+            @Value("${app.cep-service.cache.refresh.queue-capacity:1000}") int refreshQueueCapacity) {
         this.cepApiClient = cepApiClient;
         this.cacheService = cacheService;
-        this.cepRequestCounter = Counter.builder("cep.requests.total")
-                .register(meterRegistry);
-        this.cacheHitCounter = Counter.builder("cep.cache.hits")
-                .register(meterRegistry);
-        this.cacheMissCounter = Counter.builder("cep.cache.misses")
-                .register(meterRegistry);
+        this.notFoundFilter = notFoundFilter;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "cep-cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (LookupOrigin origin : LookupOrigin.values()) {
+            countersByOrigin.put(origin, new LookupCounters(meterRegistry, origin));
+        }
     }
 
     @Value("${app.cep-service.cache.ttl:3600}")
     private int cacheTtlSeconds;
 
+    @Value("${app.cep-service.cache.hard-ttl:86400}")
+    private int cacheHardTtlSeconds;
+
+    @Value("${app.cep-service.cache.max-stale:604800}")
+    private int cacheMaxStaleSeconds;
+
+    @Value("${app.cep-service.cache.negative.enabled:true}")
+    private boolean negativeCacheEnabled;
+
+    @Value("${app.cep-service.cache.negative.ttl:600}")
+    private int negativeCacheTtlSeconds;
+
+    @Value("${app.cep-service.batch.parallelism:16}")
+    private int batchParallelism;
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
     @Override
     public CepResponse findCep(String cep) {
-        cepRequestCounter.increment();
+        LookupCounters counters = countersByOrigin.get(LookupOrigin.REQUEST);
+        counters.requests.increment();
 
         String cacheKey = "cep:" + cep;
 
+        if (isKnownNotFound(cep)) {
+            log.debug("CEP {} encontrado no cache negativo", cep);
+            counters.negativeHits.increment();
+            return CepResponse.builder().erro(true).build();
+        }
+
         // Tentar buscar no cache primeiro
-        CepResponse cachedResponse = cacheService.get(cacheKey, CepResponse.class);
-        if (cachedResponse != null) {
+        CachedCepResponse cached = cacheService.get(cacheKey, CachedCepResponse.class);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.getResponse() != null && !cached.isExpired(now)) {
             log.debug("CEP {} encontrado no cache", cep);
-            cacheHitCounter.increment();
-            return cachedResponse;
+            counters.cacheHits.increment();
+            if (!cached.isFresh(now)) {
+                // Stale-while-revalidate: devolve o valor antigo e atualiza em segundo plano
+                counters.staleHits.increment();
+                refreshInBackground(cep, cacheKey, counters);
+            }
+            return cached.getResponse();
+        }
+
+        counters.cacheMisses.increment();
+
+        try {
+            return fetchCoalesced(cep, counters, () -> fetchAndCache(cep, cacheKey, counters));
+        } catch (CepApiException e) {
+            // Serve-stale-on-error: API externa indisponível, mas ainda há uma cópia expirada
+            if (cached == null || cached.getResponse() == null) {
+                throw e;
+            }
+            counters.staleOnError.increment();
+            log.warn("API externa falhou para o CEP {}, servindo valor expirado do cache: {}", cep, e.getMessage());
+            return cached.getResponse();
+        }
+    }
+
+    @Override
+    public void findCeps(Collection<String> ceps, Consumer<CepLookupResult> onResult) {
+        findCeps(ceps, LookupOrigin.REQUEST, onResult);
+    }
+
+    @Override
+    public void findCeps(Collection<String> ceps, LookupOrigin origin, Consumer<CepLookupResult> onResult) {
+        LookupCounters counters = countersByOrigin.get(origin);
+        List<String> pending = new ArrayList<>();
+        for (String cep : new LinkedHashSet<>(ceps)) {
+            counters.requests.increment();
+            if (isKnownNotFound(cep)) {
+                counters.negativeHits.increment();
+                onResult.accept(CepLookupResult.of(cep, CepResponse.builder().erro(true).build()));
+            } else {
+                pending.add(cep);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<String> cacheKeys = new ArrayList<>(pending.size());
+        for (String cep : pending) {
+            cacheKeys.add("cep:" + cep);
+        }
+        Map<String, CachedCepResponse> cachedEntries = cacheService.getAll(cacheKeys, CachedCepResponse.class);
+
+        long now = System.currentTimeMillis();
+        Map<String, CachedCepResponse> misses = new LinkedHashMap<>();
+        for (String cep : pending) {
+            CachedCepResponse cached = cachedEntries.get("cep:" + cep);
+            if (cached != null && cached.getResponse() != null && !cached.isExpired(now)) {
+                counters.cacheHits.increment();
+                if (!cached.isFresh(now)) {
+                    counters.staleHits.increment();
+                    refreshInBackground(cep, "cep:" + cep, counters);
+                }
+                onResult.accept(CepLookupResult.of(cep, cached.getResponse()));
+            } else {
+                counters.cacheMisses.increment();
+                misses.put(cep, cached);
+            }
+        }
+        if (!misses.isEmpty()) {
+            fetchMisses(misses, counters, onResult);
+        }
+    }
+
+    // Fan-out das faltas com paralelismo limitado; os resultados voltam à thread chamadora por uma fila
+    private void fetchMisses(Map<String, CachedCepResponse> misses, LookupCounters counters,
+            Consumer<CepLookupResult> onResult) {
+        BlockingQueue<CepLookupResult> results = new LinkedBlockingQueue<>();
+        Semaphore permits = new Semaphore(batchParallelism);
+        Map<String, CachedCepResponse> fetched = new ConcurrentHashMap<>();
+        Map<String, Long> notFound = new ConcurrentHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            misses.forEach((cep, stale) -> executor.execute(() -> {
+                try {
+                    permits.acquire();
+                    try {
+                        results.add(fetchMiss(cep, stale, counters, fetched, notFound));
+                    } finally {
+                        permits.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(CepLookupResult.error(cep, "Consulta interrompida"));
+                }
+            }));
+
+            for (int i = 0; i < misses.size(); i++) {
+                onResult.accept(results.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CepApiException("Consulta em lote interrompida", e);
+        }
+
+        // Os novos valores voltam ao Redis num único pipeline por TTL
+        if (!fetched.isEmpty()) {
+            cacheService.saveAll(prefixed("cep:", fetched), Duration.ofSeconds(cacheHardTtlSeconds + cacheMaxStaleSeconds));
         }
+        if (!notFound.isEmpty() && negativeCacheEnabled) {
+            cacheService.saveAll(prefixed(NOT_FOUND_KEY_PREFIX, notFound), Duration.ofSeconds(negativeCacheTtlSeconds));
+            notFound.keySet().forEach(notFoundFilter::put);
+            counters.negativeStores.increment(notFound.size());
+        }
+    }
+
+    private CepLookupResult fetchMiss(String cep, CachedCepResponse stale, LookupCounters counters,
+            Map<String, CachedCepResponse> fetched, Map<String, Long> notFound) {
+        try {
+            return CepLookupResult.of(cep, fetchCoalesced(cep, counters, () -> {
+                CepResponse response = cepApiClient.findCep(cep);
+                if (response != null && (response.getErro() == null || !response.getErro())) {
+                    fetched.put(cep, CachedCepResponse.of(response, cacheTtlSeconds, cacheHardTtlSeconds));
+                } else if (response != null) {
+                    notFound.put(cep, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(negativeCacheTtlSeconds));
+                }
+                return response;
+            }));
+        } catch (CepApiException e) {
+            if (stale != null && stale.getResponse() != null) {
+                counters.staleOnError.increment();
+                return CepLookupResult.of(cep, stale.getResponse());
+            }
+            return CepLookupResult.error(cep, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Erro ao consultar CEP {} no lote: {}", cep, e.getMessage());
+            return CepLookupResult.error(cep, e.getMessage());
+        }
+    }
+
+    private static <T> Map<String, T> prefixed(String prefix, Map<String, T> values) {
+        Map<String, T> keyed = new HashMap<>(values.size() * 2);
+        values.forEach((cep, value) -> keyed.put(prefix + cep, value));
+        return keyed;
+    }
+
+    // Single-flight: apenas uma chamada à API externa por CEP; requisições concorrentes aguardam o resultado
+    private CepResponse fetchCoalesced(String cep, LookupCounters counters, Supplier<CepResponse> fetch) {
+        CompletableFuture<CepResponse> leader = new CompletableFuture<>();
+        CompletableFuture<CepResponse> inFlight = inFlightRequests.putIfAbsent(cep, leader);
+        if (inFlight != null) {
+            counters.coalesced.increment();
+            log.debug("Aguardando consulta em andamento do CEP {}", cep);
+            return awaitInFlight(inFlight);
+        }
+
+        return lead(cep, leader, fetch);
+    }
+
+    private CepResponse lead(String cep, CompletableFuture<CepResponse> leader, Supplier<CepResponse> fetch) {
+        try {
+            CepResponse response = fetch.get();
+            leader.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(cep, leader);
+        }
+    }
+
+    // A revalidação entra no mesmo mapa do single-flight: no máximo uma atualização por CEP
+    private void refreshInBackground(String cep, String cacheKey, LookupCounters counters) {
+        CompletableFuture<CepResponse> leader = new CompletableFuture<>();
+        if (inFlightRequests.putIfAbsent(cep, leader) != null) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    lead(cep, leader, () -> fetchAndCache(cep, cacheKey, counters));
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao revalidar o CEP {} em segundo plano: {}", cep, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightRequests.remove(cep, leader);
+            leader.completeExceptionally(new CepApiException("Revalidação do CEP não agendada", e));
+            log.debug("Fila de revalidação cheia, CEP {} será atualizado em outra requisição", cep);
+        }
+    }
 
-        cacheMissCounter.increment();
+    private CepResponse awaitInFlight(CompletableFuture<CepResponse> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CepApiException("Erro ao consultar CEP na API externa", e.getCause());
+        }
+    }
 
+    private CepResponse fetchAndCache(String cep, String cacheKey, LookupCounters counters) {
         // Buscar na API externa
         log.debug("Buscando CEP {} na API externa", cep);
         CepResponse response = cepApiClient.findCep(cep);
 
         // Cachear o resultado se for válido
         if (response != null && (response.getErro() == null || !response.getErro())) {
-            cacheService.save(cacheKey, response, Duration.ofSeconds(cacheTtlSeconds));
+            CachedCepResponse entry = CachedCepResponse.of(response, cacheTtlSeconds, cacheHardTtlSeconds);
+            // A chave fica no Redis além do TTL rígido para servir o valor antigo se a API externa falhar
+            cacheService.save(cacheKey, entry, Duration.ofSeconds(cacheHardTtlSeconds + cacheMaxStaleSeconds));
             log.debug("CEP {} cacheado com sucesso", cep);
+        } else if (response != null) {
+            cacheNotFound(cep, counters);
         }
 
         return response;
     }
+
+    // O filtro de Bloom evita consultar o cache negativo para CEPs nunca vistos como inexistentes
+    private boolean isKnownNotFound(String cep) {
+        if (!negativeCacheEnabled || !notFoundFilter.mightContain(cep)) {
+            return false;
+        }
+        Long expiresAt = cacheService.get(NOT_FOUND_KEY_PREFIX + cep, Long.class);
+        return expiresAt != null && System.currentTimeMillis() < expiresAt;
+    }
+
+    // Grava só o instante de expiração: o L1 pode reter a chave além do TTL negativo
+    private void cacheNotFound(String cep, LookupCounters counters) {
+        if (!negativeCacheEnabled) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(negativeCacheTtlSeconds);
+        cacheService.save(NOT_FOUND_KEY_PREFIX + cep, expiresAt, Duration.ofSeconds(negativeCacheTtlSeconds));
+        notFoundFilter.put(cep);
+        counters.negativeStores.increment();
+        log.debug("CEP {} inexistente gravado no cache negativo", cep);
+    }
+
+    // Um conjunto de contadores por origem: o aquecimento do cache não entra na taxa de hits das requisições
+    private static final class LookupCounters {
+
+        private final Counter requests;
+        private final Counter cacheHits;
+        private final Counter cacheMisses;
+        private final Counter coalesced;
+        private final Counter staleHits;
+        private final Counter staleOnError;
+        private final Counter negativeHits;
+        private final Counter negativeStores;
+
+        LookupCounters(MeterRegistry meterRegistry, LookupOrigin origin) {
+            this.requests = counter(meterRegistry, "cep.requests.total", origin);
+            this.cacheHits = counter(meterRegistry, "cep.cache.hits", origin);
+            this.cacheMisses = counter(meterRegistry, "cep.cache.misses", origin);
+            this.coalesced = counter(meterRegistry, "cep.upstream.coalesced", origin);
+            this.staleHits = counter(meterRegistry, "cep.cache.stale.hits", origin);
+            this.staleOnError = counter(meterRegistry, "cep.cache.stale.on.error", origin);
+            this.negativeHits = counter(meterRegistry, "cep.cache.negative.hits", origin);
+            this.negativeStores = counter(meterRegistry, "cep.cache.negative.stores", origin);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String name, LookupOrigin origin) {
+            return Counter.builder(name)
+                    .tag("origin", origin.getTag())
+                    .register(meterRegistry);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.stefanini.ceptracker.domain.service.ReactiveCacheService;
+import com.stefanini.ceptracker.infrastructure.cache.CacheCodec;
+import com.stefanini.ceptracker.infrastructure.cache.NearCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Service
+@ConditionalOnProperty(name = "app.cep-service.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCacheServiceImpl implements ReactiveCacheService {
+
+    private final ReactiveRedisTemplate<String, byte[]> reactiveCacheRedisTemplate;
+    private final CacheCodec cacheCodec;
+    private final NearCache nearCache;
+
+    @Override
+    public <T> Mono<Void> save(String key, T value, Duration ttl) {
+        return Mono.fromCallable(() -> cacheCodec.encode(value))
+                .flatMap(encoded -> reactiveCacheRedisTemplate.opsForValue().set(key, encoded, ttl))
+                .doOnSuccess(saved -> {
+                    nearCache.put(key, value);
+                    log.debug("Valor salvo no cache com chave: {}", key);
+                })
+                .onErrorResume(IOException.class, e -> {
+                    log.error("Erro ao serializar objeto para cache: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public <T> Mono<T> get(String key, Class<T> type) {
+        return Mono.defer(() -> {
+            T localValue = nearCache.get(key, type);
+            if (localValue != null) {
+                return Mono.just(localValue);
+            }
+
+            return reactiveCacheRedisTemplate.opsForValue().get(key)
+                    .flatMap(encoded -> Mono.fromCallable(() -> cacheCodec.decode(encoded, type)))
+                    .doOnNext(value -> nearCache.put(key, value))
+                    .onErrorResume(IOException.class, e -> {
+                        log.error("Erro ao deserializar objeto do cache: {}", e.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+}
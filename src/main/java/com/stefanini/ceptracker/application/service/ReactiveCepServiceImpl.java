@@ -0,0 +1,211 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.LookupOrigin;
+import com.stefanini.ceptracker.domain.service.ReactiveCacheService;
+import com.stefanini.ceptracker.domain.service.ReactiveCepService;
+import com.stefanini.ceptracker.infrastructure.cache.NotFoundCepFilter;
+import com.stefanini.ceptracker.infrastructure.client.ReactiveCepApiClient;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@ConditionalOnProperty(name = "app.cep-service.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveCepServiceImpl implements ReactiveCepService {
+
+    private static final String NOT_FOUND_KEY_PREFIX = "cep:notfound:";
+
+    private final ReactiveCepApiClient cepApiClient;
+    private final ReactiveCacheService cacheService;
+    private final Counter cepRequestCounter;
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+    private final Counter coalescedCounter;
+    private final Counter staleHitCounter;
+    private final Counter staleOnErrorCounter;
+    private final Counter negativeHitCounter;
+    private final Counter negativeStoreCounter;
+    private final NotFoundCepFilter notFoundFilter;
+    private final ConcurrentMap<String, CompletableFuture<CepResponse>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public ReactiveCepServiceImpl(ReactiveCepApiClient cepApiClient,
+            ReactiveCacheService cacheService,
+            NotFoundCepFilter notFoundFilter,
+            MeterRegistry meterRegistry) {
+        this.cepApiClient = cepApiClient;
+        this.cacheService = cacheService;
+        this.notFoundFilter = notFoundFilter;
+        this.cepRequestCounter = Counter.builder("cep.requests.total")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+        this.cacheHitCounter = Counter.builder("cep.cache.hits")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+        this.cacheMissCounter = Counter.builder("cep.cache.misses")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("cep.upstream.coalesced")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+        this.staleHitCounter = Counter.builder("cep.cache.stale.hits")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+        this.staleOnErrorCounter = Counter.builder("cep.cache.stale.on.error")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+        this.negativeHitCounter = Counter.builder("cep.cache.negative.hits")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+        this.negativeStoreCounter = Counter.builder("cep.cache.negative.stores")
+                .tag("origin", LookupOrigin.REQUEST.getTag())
+                .register(meterRegistry);
+    }
+
+    @Value("${app.cep-service.cache.ttl:3600}")
+    private int cacheTtlSeconds;
+
+    @Value("${app.cep-service.cache.hard-ttl:86400}")
+    private int cacheHardTtlSeconds;
+
+    @Value("${app.cep-service.cache.max-stale:604800}")
+    private int cacheMaxStaleSeconds;
+
+    @Value("${app.cep-service.cache.negative.enabled:true}")
+    private boolean negativeCacheEnabled;
+
+    @Value("${app.cep-service.cache.negative.ttl:600}")
+    private int negativeCacheTtlSeconds;
+
+    @Override
+    public Mono<CepResponse> findCep(String cep) {
+        String cacheKey = "cep:" + cep;
+
+        return Mono.defer(() -> {
+            cepRequestCounter.increment();
+            return isKnownNotFound(cep);
+        })
+                .flatMap(knownNotFound -> {
+                    if (knownNotFound) {
+                        log.debug("CEP {} encontrado no cache negativo", cep);
+                        negativeHitCounter.increment();
+                        return Mono.just(CepResponse.builder().erro(true).build());
+                    }
+                    return lookup(cep, cacheKey);
+                });
+    }
+
+    private Mono<CepResponse> lookup(String cep, String cacheKey) {
+        return cacheService.get(cacheKey, CachedCepResponse.class)
+                .filter(cached -> cached.getResponse() != null)
+                .flatMap(cached -> resolve(cep, cacheKey, cached, System.currentTimeMillis()))
+                .switchIfEmpty(Mono.defer(() -> {
+                    cacheMissCounter.increment();
+                    return fetchCoalesced(cep, cacheKey);
+                }));
+    }
+
+    private Mono<CepResponse> resolve(String cep, String cacheKey, CachedCepResponse cached, long now) {
+        if (cached.isExpired(now)) {
+            cacheMissCounter.increment();
+            // Serve-stale-on-error: API externa indisponível, mas ainda há uma cópia expirada
+            return fetchCoalesced(cep, cacheKey)
+                    .onErrorResume(CepApiException.class, e -> {
+                        staleOnErrorCounter.increment();
+                        log.warn("API externa falhou para o CEP {}, servindo valor expirado do cache: {}",
+                                cep, e.getMessage());
+                        return Mono.just(cached.getResponse());
+                    });
+        }
+
+        log.debug("CEP {} encontrado no cache", cep);
+        cacheHitCounter.increment();
+        if (!cached.isFresh(now)) {
+            // Stale-while-revalidate: devolve o valor antigo e atualiza em segundo plano
+            staleHitCounter.increment();
+            refreshInBackground(cep, cacheKey);
+        }
+        return Mono.just(cached.getResponse());
+    }
+
+    // A revalidação entra no mesmo mapa do single-flight: no máximo uma atualização por CEP
+    private void refreshInBackground(String cep, String cacheKey) {
+        if (inFlightRequests.containsKey(cep)) {
+            return;
+        }
+        fetchCoalesced(cep, cacheKey).subscribe(
+                response -> log.debug("CEP {} revalidado em segundo plano", cep),
+                e -> log.warn("Falha ao revalidar o CEP {} em segundo plano: {}", cep, e.getMessage()));
+    }
+
+    // Single-flight: assinantes concorrentes do mesmo CEP compartilham a chamada do líder
+    private Mono<CepResponse> fetchCoalesced(String cep, String cacheKey) {
+        CompletableFuture<CepResponse> leader = new CompletableFuture<>();
+        CompletableFuture<CepResponse> inFlight = inFlightRequests.putIfAbsent(cep, leader);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            log.debug("Aguardando consulta em andamento do CEP {}", cep);
+            // copy() evita que o cancelamento de um assinante cancele o resultado compartilhado
+            return Mono.fromFuture(inFlight.copy());
+        }
+
+        // Assinada uma única vez e desligada do líder: se ele desconectar, os demais continuam recebendo o resultado
+        fetchAndCache(cep, cacheKey)
+                .doFinally(signal -> inFlightRequests.remove(cep, leader))
+                .subscribe(leader::complete, leader::completeExceptionally, () -> leader.complete(null));
+        return Mono.fromFuture(leader.copy());
+    }
+
+    private Mono<CepResponse> fetchAndCache(String cep, String cacheKey) {
+        log.debug("Buscando CEP {} na API externa", cep);
+        return cepApiClient.findCep(cep)
+                .flatMap(response -> {
+                    if (response.getErro() == null || !response.getErro()) {
+                        CachedCepResponse entry = CachedCepResponse.of(response, cacheTtlSeconds, cacheHardTtlSeconds);
+                        // A chave fica no Redis além do TTL rígido para servir o valor antigo se a API externa falhar
+                        return cacheService.save(cacheKey, entry,
+                                Duration.ofSeconds(cacheHardTtlSeconds + cacheMaxStaleSeconds))
+                                .doOnSuccess(saved -> log.debug("CEP {} cacheado com sucesso", cep))
+                                .thenReturn(response);
+                    }
+                    return cacheNotFound(cep).thenReturn(response);
+                });
+    }
+
+    // O filtro de Bloom evita consultar o cache negativo para CEPs nunca vistos como inexistentes
+    private Mono<Boolean> isKnownNotFound(String cep) {
+        if (!negativeCacheEnabled || !notFoundFilter.mightContain(cep)) {
+            return Mono.just(false);
+        }
+        return cacheService.get(NOT_FOUND_KEY_PREFIX + cep, Long.class)
+                .map(expiresAt -> System.currentTimeMillis() < expiresAt)
+                .defaultIfEmpty(false);
+    }
+
+    // Grava só o instante de expiração: o L1 pode reter a chave além do TTL negativo
+    private Mono<Void> cacheNotFound(String cep) {
+        if (!negativeCacheEnabled) {
+            return Mono.empty();
+        }
+        long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(negativeCacheTtlSeconds);
+        return cacheService.save(NOT_FOUND_KEY_PREFIX + cep, expiresAt, Duration.ofSeconds(negativeCacheTtlSeconds))
+                .doOnSuccess(saved -> {
+                    notFoundFilter.put(cep);
+                    negativeStoreCounter.increment();
+                    log.debug("CEP {} inexistente gravado no cache negativo", cep);
+                });
+    }
+}
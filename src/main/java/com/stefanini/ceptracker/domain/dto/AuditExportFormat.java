@@ -0,0 +1,24 @@
+package com.stefanini.ceptracker.domain.dto;
+
+// Formatos da exportação de auditoria, com o content type e a extensão do arquivo
+public enum AuditExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    AuditExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
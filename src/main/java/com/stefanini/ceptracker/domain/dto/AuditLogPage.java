@@ -0,0 +1,23 @@
+package com.stefanini.ceptracker.domain.dto;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Página de auditoria paginada por chave; nextCursor é nulo na última página
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPage {
+
+    private List<CepAuditLog> content;
+
+    private int size;
+
+    private String nextCursor;
+}
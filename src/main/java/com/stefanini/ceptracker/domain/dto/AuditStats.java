@@ -0,0 +1,37 @@
+package com.stefanini.ceptracker.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Estatísticas agregadas de auditoria em uma janela [from, to) com resolução de minuto
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditStats {
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private long totalRequests;
+
+    private long successfulRequests;
+
+    private long failedRequests;
+
+    private double averageExecutionTimeMs;
+
+    private long maxExecutionTimeMs;
+
+    // p50, p90, p95 e p99 de executionTimeMs (limite superior da faixa do histograma)
+    private Map<String, Long> executionTimePercentiles;
+
+    private List<CepStats> topCeps;
+}
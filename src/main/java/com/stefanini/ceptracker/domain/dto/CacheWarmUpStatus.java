@@ -0,0 +1,47 @@
+package com.stefanini.ceptracker.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Progresso do aquecimento do cache, exposto no endpoint do actuator
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CacheWarmUpStatus {
+
+    public enum State {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+
+    private State state;
+
+    private int totalCeps;
+
+    private int processedCeps;
+
+    private int alreadyCached;
+
+    private int fetched;
+
+    private int failed;
+
+    // Fração das consultas do histórico que seriam atendidas pelo cache aquecido
+    private double warmHitRatio;
+
+    private double targetHitRatio;
+
+    private boolean ready;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+}
@@ -0,0 +1,47 @@
+package com.stefanini.ceptracker.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entrada do cache de CEP com os metadados de frescor gravados junto do valor:
+ * até {@code softExpiresAt} é servida direto; até {@code hardExpiresAt} é servida
+ * enquanto é revalidada em segundo plano; depois disso só é usada se a API externa falhar.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedCepResponse implements Serializable {
+
+    private CepResponse response;
+
+    private long cachedAt;
+
+    private long softExpiresAt;
+
+    private long hardExpiresAt;
+
+    public static CachedCepResponse of(CepResponse response, long softTtlSeconds, long hardTtlSeconds) {
+        long now = System.currentTimeMillis();
+        return CachedCepResponse.builder()
+                .response(response)
+                .cachedAt(now)
+                .softExpiresAt(now + TimeUnit.SECONDS.toMillis(softTtlSeconds))
+                .hardExpiresAt(now + TimeUnit.SECONDS.toMillis(hardTtlSeconds))
+                .build();
+    }
+
+    public boolean isFresh(long now) {
+        return now < softExpiresAt;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= hardExpiresAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.stefanini.ceptracker.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de um CEP dentro de uma consulta em lote
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CepLookupResult {
+
+    public enum Status {
+        FOUND, NOT_FOUND, ERROR
+    }
+
+    private String cep;
+
+    private Status status;
+
+    private CepResponse data;
+
+    private String error;
+
+    public static CepLookupResult of(String cep, CepResponse response) {
+        boolean found = response != null && (response.getErro() == null || !response.getErro());
+        return CepLookupResult.builder()
+                .cep(cep)
+                .status(found ? Status.FOUND : Status.NOT_FOUND)
+                .data(found ? response : null)
+                .build();
+    }
+
+    public static CepLookupResult error(String cep, String message) {
+        return CepLookupResult.builder()
+                .cep(cep)
+                .status(Status.ERROR)
+                .error(message)
+                .build();
+    }
+}
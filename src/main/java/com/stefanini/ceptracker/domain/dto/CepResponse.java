@@ -1,14 +1,20 @@
 package com.stefanini.ceptracker.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.io.Serializable;
 
-@Data
+// Sem setters: a instância mantida pelo cache L1 é compartilhada entre threads e memoriza o JSON
+@Getter
+@EqualsAndHashCode
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,4 +50,14 @@ public class CepResponse implements Serializable {
     private String siafiCode;
 
     private Boolean erro;
+
+    // JSON, SHA-256 e ETag memorizados (corpo HTTP e auditoria); volatile publica o holder imutável inteiro
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile EncodedCepResponse encoded;
+
+    public void setEncoded(EncodedCepResponse encoded) {
+        this.encoded = encoded;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.stefanini.ceptracker.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Consultas de um CEP em uma janela de tempo
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CepStats {
+
+    private String cep;
+
+    private long totalRequests;
+
+    private long successfulRequests;
+
+    private long failedRequests;
+}
@@ -0,0 +1,19 @@
+package com.stefanini.ceptracker.domain.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JSON de uma {@link CepResponse}, o SHA-256 desses bytes e o ETag derivado dele. Imutável:
+ * é publicado de uma vez na resposta mantida pelo cache L1 e pode ser lido por qualquer
+ * thread sem sincronização. Os bytes são compartilhados entre requisições e não devem ser
+ * alterados.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class EncodedCepResponse {
+
+    private final byte[] json;
+    private final String hash;
+    private final String etag;
+}
@@ -0,0 +1,18 @@
+package com.stefanini.ceptracker.domain.dto;
+
+// Origem da consulta, exportada na tag origin dos contadores do CepService
+public enum LookupOrigin {
+
+    REQUEST("request"),
+    WARMUP("warmup");
+
+    private final String tag;
+
+    LookupOrigin(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
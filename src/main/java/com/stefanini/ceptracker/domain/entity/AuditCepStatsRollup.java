@@ -0,0 +1,42 @@
+package com.stefanini.ceptracker.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Consultas de um CEP em um minuto, para o detalhamento por CEP das estatísticas
+@Entity
+@Table(name = "cep_audit_cep_stats_rollup", indexes = {
+        @Index(name = "idx_audit_cep_stats_rollup_bucket", columnList = "bucket_start"),
+        @Index(name = "idx_audit_cep_stats_rollup_cep", columnList = "cep, bucket_start")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditCepStatsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cep_audit_cep_stats_rollup_seq")
+    @SequenceGenerator(name = "cep_audit_cep_stats_rollup_seq", sequenceName = "cep_audit_cep_stats_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, length = 8)
+    private String cep;
+
+    @Column(name = "total_requests", nullable = false)
+    private long totalRequests;
+
+    @Column(name = "successful_requests", nullable = false)
+    private long successfulRequests;
+
+    @Column(name = "failed_requests", nullable = false)
+    private long failedRequests;
+}
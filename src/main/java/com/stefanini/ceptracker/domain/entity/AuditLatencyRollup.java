@@ -0,0 +1,33 @@
+package com.stefanini.ceptracker.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Histograma de executionTimeMs por minuto: quantidade de consultas em cada faixa de latência
+@Entity
+@Table(name = "cep_audit_latency_rollup", indexes = @Index(name = "idx_audit_latency_rollup_bucket", columnList = "bucket_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLatencyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cep_audit_latency_rollup_seq")
+    @SequenceGenerator(name = "cep_audit_latency_rollup_seq", sequenceName = "cep_audit_latency_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "latency_bucket", nullable = false)
+    private int latencyBucket;
+
+    @Column(nullable = false)
+    private long requests;
+}
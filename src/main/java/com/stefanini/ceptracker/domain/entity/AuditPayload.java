@@ -0,0 +1,41 @@
+package com.stefanini.ceptracker.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// JSON de resposta gravado uma única vez por conteúdo; cep_audit_logs guarda só o hash SHA-256
+@Entity
+@Table(name = "cep_audit_payloads")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditPayload implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    // Chave atribuída pela aplicação: sem isto o save faria um SELECT antes de cada INSERT
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
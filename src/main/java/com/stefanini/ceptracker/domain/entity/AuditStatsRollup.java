@@ -0,0 +1,42 @@
+package com.stefanini.ceptracker.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Totais de auditoria de um minuto; cada flush grava uma linha com os incrementos desde o anterior
+@Entity
+@Table(name = "cep_audit_stats_rollup", indexes = @Index(name = "idx_audit_stats_rollup_bucket", columnList = "bucket_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditStatsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cep_audit_stats_rollup_seq")
+    @SequenceGenerator(name = "cep_audit_stats_rollup_seq", sequenceName = "cep_audit_stats_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "total_requests", nullable = false)
+    private long totalRequests;
+
+    @Column(name = "successful_requests", nullable = false)
+    private long successfulRequests;
+
+    @Column(name = "failed_requests", nullable = false)
+    private long failedRequests;
+
+    @Column(name = "execution_time_sum_ms", nullable = false)
+    private long executionTimeSumMs;
+
+    @Column(name = "execution_time_max_ms", nullable = false)
+    private long executionTimeMaxMs;
+}
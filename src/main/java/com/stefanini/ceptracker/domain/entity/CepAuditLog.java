@@ -5,11 +5,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cep_audit_logs")
+// Índices cobrem a paginação por chave (request_timestamp, id) geral e por CEP
+@Table(name = "cep_audit_logs", indexes = {
+        @Index(name = "idx_cep_audit_logs_cep_timestamp", columnList = "cep, request_timestamp DESC, id DESC"),
+        @Index(name = "idx_cep_audit_logs_timestamp", columnList = "request_timestamp DESC, id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,7 +21,9 @@ import java.time.LocalDateTime;
 public class CepAuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence com alocação em pool: IDENTITY impede o Hibernate de agrupar INSERTs em batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cep_audit_logs_seq")
+    @SequenceGenerator(name = "cep_audit_logs_seq", sequenceName = "cep_audit_logs_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 8)
@@ -26,9 +32,13 @@ public class CepAuditLog {
     @Column(name = "request_timestamp", nullable = false)
     private LocalDateTime requestTimestamp;
 
-    @Column(name = "response_data", columnDefinition = "TEXT")
+    // Em linha só nos registros anteriores ao cep_audit_payloads; nos novos é preenchido na leitura pelo hash
+    @Column(name = "response_data", columnDefinition = "TEXT", updatable = false)
     private String responseData;
 
+    @Column(name = "response_hash", length = 64, updatable = false)
+    private String responseHash;
+
     @Column(name = "success", nullable = false)
     private Boolean success;
 
@@ -0,0 +1,14 @@
+package com.stefanini.ceptracker.domain.service;
+
+import com.stefanini.ceptracker.domain.dto.AuditExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface AuditExportService {
+
+    // Escreve os registros de [from, to), opcionalmente de um só CEP, e retorna quantos foram exportados
+    long export(String cep, LocalDateTime from, LocalDateTime to, AuditExportFormat format,
+            OutputStream outputStream) throws IOException;
+}
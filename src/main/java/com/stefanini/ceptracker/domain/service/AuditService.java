@@ -1,12 +1,25 @@
 package com.stefanini.ceptracker.domain.service;
 
+import com.stefanini.ceptracker.domain.dto.AuditLogPage;
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
 import com.stefanini.ceptracker.domain.entity.CepAuditLog;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 // Single Responsibility Principle
 public interface AuditService {
-    void logCepRequest(String cep, String responseData, boolean success,
+    // response só nas consultas bem-sucedidas; o JSON é gravado uma vez por conteúdo e referenciado pelo hash
+    void logCepRequest(String cep, CepResponse response, boolean success,
             String errorMessage, long executionTime,
             String sourceIp, String userAgent);
 
+    void logCepBatch(List<CepLookupResult> results, long executionTime,
+            String sourceIp, String userAgent);
+
     CepAuditLog findById(Long id);
+
+    // cep, from, to e cursor são opcionais; o cursor vem do nextCursor da página anterior
+    AuditLogPage findLogs(String cep, LocalDateTime from, LocalDateTime to, String cursor, int size);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.stefanini.ceptracker.domain.service;
+
+import com.stefanini.ceptracker.domain.dto.AuditStats;
+import com.stefanini.ceptracker.domain.dto.CepStats;
+
+import java.time.LocalDateTime;
+
+public interface AuditStatsService {
+    // from/to nulos: desde o início do histórico / até agora
+    AuditStats getStats(LocalDateTime from, LocalDateTime to, int topCeps);
+
+    CepStats getCepStats(String cep, LocalDateTime from, LocalDateTime to);
+}
@@ -1,10 +1,17 @@
 package com.stefanini.ceptracker.domain.service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 
 // Interface Segregation Principle
 public interface CacheService {
     <T> void save(String key, T value, Duration ttl);
 
     <T> T get(String key, Class<T> type);
+
+    // Leitura em lote: as chaves ausentes não aparecem no mapa
+    <T> Map<String, T> getAll(Collection<String> keys, Class<T> type);
+
+    <T> void saveAll(Map<String, T> values, Duration ttl);
 }
\ No newline at end of file
@@ -1,8 +1,19 @@
 package com.stefanini.ceptracker.domain.service;
 
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
 import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.LookupOrigin;
+
+import java.util.Collection;
+import java.util.function.Consumer;
 
 // Interface Segregation Principle & Dependency Inversion Principle
 public interface CepService {
     CepResponse findCep(String cep);
+
+    // Entrega cada resultado assim que fica pronto, sempre na thread chamadora
+    void findCeps(Collection<String> ceps, Consumer<CepLookupResult> onResult);
+
+    // Como findCeps, com os contadores marcados pela origem (ex.: aquecimento do cache)
+    void findCeps(Collection<String> ceps, LookupOrigin origin, Consumer<CepLookupResult> onResult);
 }
\ No newline at end of file
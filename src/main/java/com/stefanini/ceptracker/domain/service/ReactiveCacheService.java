@@ -0,0 +1,12 @@
+package com.stefanini.ceptracker.domain.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Variante não bloqueante de CacheService
+public interface ReactiveCacheService {
+    <T> Mono<Void> save(String key, T value, Duration ttl);
+
+    <T> Mono<T> get(String key, Class<T> type);
+}
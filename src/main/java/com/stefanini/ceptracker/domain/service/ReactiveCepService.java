@@ -0,0 +1,9 @@
+package com.stefanini.ceptracker.domain.service;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import reactor.core.publisher.Mono;
+
+// Variante não bloqueante de CepService
+public interface ReactiveCepService {
+    Mono<CepResponse> findCep(String cep);
+}
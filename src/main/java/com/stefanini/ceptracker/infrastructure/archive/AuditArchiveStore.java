@@ -0,0 +1,155 @@
+package com.stefanini.ceptracker.infrastructure.archive;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Segmentos diários de auditoria arquivada no disco local. Tudo antes de
+ * {@link #archivedUntil()} é lido dos segmentos e o restante do PostgreSQL, de modo que
+ * linhas já arquivadas e ainda não removidas do banco não aparecem duas vezes.
+ * Com várias instâncias, o diretório deve ser compartilhado; novos segmentos são
+ * detectados periodicamente.
+ */
+@Component
+@Slf4j
+public class AuditArchiveStore {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final ConcurrentSkipListMap<LocalDate, AuditSegment> segments = new ConcurrentSkipListMap<>();
+
+    public AuditArchiveStore(MeterRegistry meterRegistry,
+            @Value("${app.audit.archive.enabled:false}") boolean enabled,
+            @Value("${app.audit.archive.path:data/audit-archive}") String directory) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        Gauge.builder("cep.audit.archive.segments", segments, ConcurrentSkipListMap::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path segmentPath(LocalDate day) {
+        return directory.resolve(AuditSegmentFormat.FILE_PREFIX + DAY_FORMAT.format(day) + AuditSegmentFormat.FILE_SUFFIX);
+    }
+
+    public boolean contains(LocalDate day) {
+        return segments.containsKey(day);
+    }
+
+    public void register(LocalDate day) throws IOException {
+        segments.put(day, AuditSegment.open(segmentPath(day)));
+    }
+
+    // Fim exclusivo do período arquivado; nulo se não houver segmentos
+    public LocalDateTime archivedUntil() {
+        return !enabled || segments.isEmpty() ? null : segments.lastKey().plusDays(1).atStartOfDay();
+    }
+
+    // Mesma ordem e semântica de cursor da consulta ao banco, do segmento mais recente ao mais antigo
+    public List<CepAuditLog> findPageBefore(String cep, LocalDateTime from, LocalDateTime beforeTimestamp,
+            long beforeId, int limit) {
+        List<CepAuditLog> page = new ArrayList<>();
+        ConcurrentNavigableMap<LocalDate, AuditSegment> candidates =
+                segments.headMap(beforeTimestamp.toLocalDate(), true).descendingMap();
+        for (AuditSegment segment : candidates.values()) {
+            if (page.size() >= limit || !segment.getDay().plusDays(1).atStartOfDay().isAfter(from)) {
+                break;
+            }
+            try {
+                segment.scanBefore(cep, from, beforeTimestamp, beforeId, limit, page);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return page;
+    }
+
+    // Registros de [from, to) em ordem crescente, do segmento mais antigo ao mais recente
+    public void scan(String cep, LocalDateTime from, LocalDateTime to, Consumer<CepAuditLog> consumer) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        for (AuditSegment segment : segments.subMap(from.toLocalDate(), true, to.toLocalDate(), true).values()) {
+            try {
+                segment.scan(cep, from, to, consumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.archive.reload-interval-ms:300000}",
+            initialDelayString = "${app.audit.archive.reload-interval-ms:300000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                    AuditSegmentFormat.FILE_PREFIX + "*" + AuditSegmentFormat.FILE_SUFFIX)) {
+                for (Path file : files) {
+                    LocalDate day = dayOf(file);
+                    if (day != null && !segments.containsKey(day)) {
+                        openSegment(day, file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Erro ao listar segmentos de auditoria em {}: {}", directory.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private void openSegment(LocalDate day, Path file) {
+        try {
+            segments.put(day, AuditSegment.open(file));
+            log.info("Segmento de auditoria {} carregado", file.getFileName());
+        } catch (IOException e) {
+            log.error("Segmento de auditoria inválido {}: {}", file.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private static LocalDate dayOf(Path file) {
+        String name = file.getFileName().toString();
+        String value = name.substring(AuditSegmentFormat.FILE_PREFIX.length(),
+                name.length() - AuditSegmentFormat.FILE_SUFFIX.length());
+        try {
+            return LocalDate.parse(value, DAY_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.stefanini.ceptracker.infrastructure.archive;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.audit.AuditPartitionManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Move dias completos de cep_audit_logs mais antigos que {@code after-days} para segmentos
+ * colunares: cada dia é lido por cursor, gravado e publicado, e só então sai do banco,
+ * com DELETE do dia ou, com a tabela particionada, DROP das partições inteiramente
+ * arquivadas. Os dias são processados do mais antigo para o mais recente. Deve rodar em
+ * uma única instância.
+ */
+@Component
+@Slf4j
+public class AuditArchiver {
+
+    // O segmento guarda o JSON resolvido: o dicionário por bloco já elimina as repetições
+    private static final String SELECT_DAY = "SELECT l.id, l.cep, l.request_timestamp, l.success, l.execution_time_ms, "
+            + "l.error_message, l.source_ip, l.user_agent, COALESCE(l.response_data, p.payload) "
+            + "FROM cep_audit_logs l LEFT JOIN cep_audit_payloads p ON p.hash = l.response_hash "
+            + "WHERE l.request_timestamp >= ? AND l.request_timestamp < ? ORDER BY l.request_timestamp, l.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditArchiveStore archiveStore;
+    private final ObjectProvider<AuditPartitionManager> partitionManager;
+    private final int afterDays;
+    private final int blockRows;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter archivedRowsCounter;
+    private final Counter failureCounter;
+
+    public AuditArchiver(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            AuditArchiveStore archiveStore,
+            ObjectProvider<AuditPartitionManager> partitionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.archive.after-days:30}") int afterDays,
+            @Value("${app.audit.archive.block-rows:16384}") int blockRows,
+            @Value("${app.audit.archive.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.archiveStore = archiveStore;
+        this.partitionManager = partitionManager;
+        this.afterDays = afterDays;
+        this.blockRows = blockRows;
+        this.archivedRowsCounter = Counter.builder("cep.audit.archive.rows")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("cep.audit.archive.failures")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.audit.archive.cron:0 45 0 * * *}")
+    public void archive() {
+        if (!archiveStore.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+            AuditPartitionManager partitions = partitionManager.getIfAvailable();
+            boolean partitioned = partitions != null && partitions.isActive();
+
+            LocalDateTime lowerBound = LocalDateTime.of(1970, 1, 1, 0, 0);
+            LocalDateTime oldest;
+            while ((oldest = oldestFrom(lowerBound)) != null && oldest.toLocalDate().isBefore(cutoff)) {
+                LocalDate day = oldest.toLocalDate();
+                if (!archiveStore.contains(day)) {
+                    archiveDay(day);
+                }
+                if (!partitioned) {
+                    int deleted = jdbcTemplate.update("DELETE FROM cep_audit_logs WHERE request_timestamp >= ? "
+                            + "AND request_timestamp < ?", day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+                    log.debug("{} registros de {} removidos do banco após o arquivamento", deleted, day);
+                }
+                lowerBound = day.plusDays(1).atStartOfDay();
+            }
+
+            LocalDateTime archivedUntil = archiveStore.archivedUntil();
+            if (partitioned && archivedUntil != null) {
+                partitions.dropArchivedPartitions(archivedUntil.toLocalDate());
+            }
+        } catch (IOException | DataAccessException | UncheckedIOException e) {
+            failureCounter.increment();
+            log.error("Erro no arquivamento da auditoria: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    void archiveDay(LocalDate day) throws IOException {
+        long startTime = System.currentTimeMillis();
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(archiveStore.segmentPath(day), day, blockRows)) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_DAY, rs -> {
+                try {
+                    writer.add(CepAuditLog.builder()
+                            .id(rs.getLong(1))
+                            .cep(rs.getString(2))
+                            .requestTimestamp(rs.getObject(3, LocalDateTime.class))
+                            .success(rs.getBoolean(4))
+                            .executionTimeMs(rs.getObject(5) != null ? rs.getLong(5) : null)
+                            .errorMessage(rs.getString(6))
+                            .sourceIp(rs.getString(7))
+                            .userAgent(rs.getString(8))
+                            .responseData(rs.getString(9))
+                            .build());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+            int rows = writer.commit();
+            archiveStore.register(day);
+            archivedRowsCounter.increment(rows);
+            log.info("Auditoria de {} arquivada: {} registros em {}ms", day, rows, System.currentTimeMillis() - startTime);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private LocalDateTime oldestFrom(LocalDateTime lowerBound) {
+        return jdbcTemplate.queryForObject("SELECT MIN(request_timestamp) FROM cep_audit_logs WHERE request_timestamp >= ?",
+                LocalDateTime.class, lowerBound);
+    }
+}
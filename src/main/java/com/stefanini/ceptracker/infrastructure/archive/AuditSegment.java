@@ -0,0 +1,279 @@
+package com.stefanini.ceptracker.infrastructure.archive;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Leitura de um segmento mapeado em memória. A busca percorre os blocos do mais recente
+ * ao mais antigo, descarta blocos pelo intervalo de instantes do índice e, com filtro de
+ * CEP, descomprime primeiro só a coluna de CEP: blocos sem o CEP no dicionário são
+ * ignorados sem tocar nas demais colunas.
+ */
+public final class AuditSegment {
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final LocalDate day;
+    private final LocalDateTime dayStart;
+    private final int records;
+    private final long[] blockOffsets;
+    private final int[] blockRows;
+    private final long[] blockMinMicros;
+    private final long[] blockMaxMicros;
+
+    private AuditSegment(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < AuditSegmentFormat.HEADER_SIZE
+                || buffer.getInt(0) != AuditSegmentFormat.MAGIC
+                || buffer.getInt(4) != AuditSegmentFormat.VERSION) {
+            throw new IOException("Arquivo não é um segmento de auditoria: " + path);
+        }
+        this.day = LocalDate.ofEpochDay(buffer.getInt(8));
+        this.dayStart = day.atStartOfDay();
+        this.records = buffer.getInt(12);
+        int blocks = buffer.getInt(16);
+        long indexOffset = buffer.getLong(24);
+        if (blocks < 0 || indexOffset + (long) blocks * AuditSegmentFormat.INDEX_ENTRY_SIZE > buffer.capacity()) {
+            throw new IOException("Segmento de auditoria truncado: " + path);
+        }
+
+        this.blockOffsets = new long[blocks];
+        this.blockRows = new int[blocks];
+        this.blockMinMicros = new long[blocks];
+        this.blockMaxMicros = new long[blocks];
+        int position = (int) indexOffset;
+        for (int block = 0; block < blocks; block++) {
+            blockOffsets[block] = buffer.getLong(position);
+            blockRows[block] = buffer.getInt(position + 8);
+            blockMinMicros[block] = buffer.getLong(position + 12);
+            blockMaxMicros[block] = buffer.getLong(position + 20);
+            position += AuditSegmentFormat.INDEX_ENTRY_SIZE;
+        }
+    }
+
+    public static AuditSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AuditSegment(path, mapped);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public int size() {
+        return records;
+    }
+
+    /**
+     * Acrescenta a {@code out}, em ordem decrescente de (request_timestamp, id), registros
+     * com request_timestamp >= from e anteriores à posição (beforeTimestamp, beforeId),
+     * opcionalmente de um só CEP, até {@code out} ter {@code limit} elementos.
+     */
+    public void scanBefore(String cep, LocalDateTime from, LocalDateTime beforeTimestamp, long beforeId,
+            int limit, List<CepAuditLog> out) throws IOException {
+        if (beforeTimestamp.isBefore(dayStart)) {
+            return;
+        }
+        long fromMicros = from.isAfter(dayStart) ? micros(from) : Long.MIN_VALUE;
+        long beforeMicros = Long.MAX_VALUE;
+        long beforeIdAtMicros = Long.MAX_VALUE;
+        if (beforeTimestamp.isBefore(day.plusDays(1).atStartOfDay())) {
+            beforeMicros = micros(beforeTimestamp);
+            beforeIdAtMicros = beforeId;
+        }
+
+        for (int block = blockOffsets.length - 1; block >= 0 && out.size() < limit; block--) {
+            if (blockMaxMicros[block] < fromMicros) {
+                break;
+            }
+            if (blockMinMicros[block] > beforeMicros) {
+                continue;
+            }
+            scanBlock(block, cep, fromMicros, beforeMicros, beforeIdAtMicros, limit, out);
+        }
+    }
+
+    /**
+     * Entrega a {@code consumer}, em ordem crescente de (request_timestamp, id), os registros
+     * com request_timestamp em [from, to), opcionalmente de um só CEP. Só um bloco fica
+     * descomprimido por vez.
+     */
+    public void scan(String cep, LocalDateTime from, LocalDateTime to, Consumer<CepAuditLog> consumer)
+            throws IOException {
+        LocalDateTime dayEnd = day.plusDays(1).atStartOfDay();
+        if (!to.isAfter(dayStart) || !from.isBefore(dayEnd)) {
+            return;
+        }
+        long fromMicros = from.isAfter(dayStart) ? micros(from) : Long.MIN_VALUE;
+        long toMicros = to.isBefore(dayEnd) ? micros(to) : Long.MAX_VALUE;
+
+        List<CepAuditLog> rows = new ArrayList<>();
+        for (int block = 0; block < blockOffsets.length; block++) {
+            if (blockMinMicros[block] >= toMicros) {
+                break;
+            }
+            if (blockMaxMicros[block] < fromMicros) {
+                continue;
+            }
+            // O bloco é lido de trás para frente; Long.MIN_VALUE como id exclui o próprio instante "to"
+            rows.clear();
+            scanBlock(block, cep, fromMicros, toMicros, Long.MIN_VALUE, Integer.MAX_VALUE, rows);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                consumer.accept(rows.get(i));
+            }
+        }
+    }
+
+    private void scanBlock(int block, String cep, long fromMicros, long beforeMicros, long beforeId,
+            int limit, List<CepAuditLog> out) throws IOException {
+        int rows = blockRows[block];
+        String[] cepDictionary = null;
+        int[] cepCodes = null;
+        int wantedCep = 0;
+        if (cep != null) {
+            ByteBuffer cepColumn = column(block, AuditSegmentFormat.CEP);
+            cepDictionary = AuditSegmentFormat.readDictionary(cepColumn);
+            for (int code = 1; code < cepDictionary.length && wantedCep == 0; code++) {
+                if (cep.equals(cepDictionary[code])) {
+                    wantedCep = code;
+                }
+            }
+            if (wantedCep == 0) {
+                return;
+            }
+            cepCodes = codes(cepColumn, rows);
+        }
+
+        long[] ids = new long[rows];
+        ByteBuffer idColumn = column(block, AuditSegmentFormat.ID);
+        long id = 0;
+        for (int row = 0; row < rows; row++) {
+            id += AuditSegmentFormat.readZigZag(idColumn);
+            ids[row] = id;
+        }
+        long[] micros = new long[rows];
+        ByteBuffer timestampColumn = column(block, AuditSegmentFormat.TIMESTAMP);
+        long timestamp = 0;
+        for (int row = 0; row < rows; row++) {
+            timestamp += AuditSegmentFormat.readVarLong(timestampColumn);
+            micros[row] = timestamp;
+        }
+
+        int[] matches = new int[Math.min(rows, limit - out.size())];
+        int matched = 0;
+        for (int row = rows - 1; row >= 0 && matched < matches.length; row--) {
+            if (micros[row] < fromMicros) {
+                break;
+            }
+            boolean beforeCursor = micros[row] < beforeMicros || (micros[row] == beforeMicros && ids[row] < beforeId);
+            if (beforeCursor && (cepCodes == null || cepCodes[row] == wantedCep)) {
+                matches[matched++] = row;
+            }
+        }
+        if (matched == 0) {
+            return;
+        }
+
+        if (cepCodes == null) {
+            ByteBuffer cepColumn = column(block, AuditSegmentFormat.CEP);
+            cepDictionary = AuditSegmentFormat.readDictionary(cepColumn);
+            cepCodes = codes(cepColumn, rows);
+        }
+        ByteBuffer successColumn = column(block, AuditSegmentFormat.SUCCESS);
+        ByteBuffer executionTimeColumn = column(block, AuditSegmentFormat.EXECUTION_TIME);
+        long[] executionTimes = new long[rows];
+        for (int row = 0; row < rows; row++) {
+            executionTimes[row] = AuditSegmentFormat.readVarLong(executionTimeColumn) - 1;
+        }
+        String[][] dictionaries = new String[AuditSegmentFormat.COLUMNS][];
+        int[][] textCodes = new int[AuditSegmentFormat.COLUMNS][];
+        for (int text = AuditSegmentFormat.ERROR_MESSAGE; text < AuditSegmentFormat.COLUMNS; text++) {
+            ByteBuffer textColumn = column(block, text);
+            dictionaries[text] = AuditSegmentFormat.readDictionary(textColumn);
+            textCodes[text] = codes(textColumn, rows);
+        }
+
+        for (int i = 0; i < matched; i++) {
+            int row = matches[i];
+            out.add(CepAuditLog.builder()
+                    .id(ids[row])
+                    .cep(cepDictionary[cepCodes[row]])
+                    .requestTimestamp(dayStart.plusNanos(micros[row] * 1000))
+                    .success((successColumn.get(row >>> 3) & (1 << (row & 7))) != 0)
+                    .executionTimeMs(executionTimes[row] < 0 ? null : executionTimes[row])
+                    .errorMessage(text(dictionaries, textCodes, AuditSegmentFormat.ERROR_MESSAGE, row))
+                    .sourceIp(text(dictionaries, textCodes, AuditSegmentFormat.SOURCE_IP, row))
+                    .userAgent(text(dictionaries, textCodes, AuditSegmentFormat.USER_AGENT, row))
+                    .responseData(text(dictionaries, textCodes, AuditSegmentFormat.RESPONSE_DATA, row))
+                    .build());
+        }
+    }
+
+    private static String text(String[][] dictionaries, int[][] textCodes, int column, int row) {
+        return dictionaries[column][textCodes[column][row]];
+    }
+
+    private static int[] codes(ByteBuffer column, int rows) {
+        int[] codes = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            codes[row] = (int) AuditSegmentFormat.readVarLong(column);
+        }
+        return codes;
+    }
+
+    private ByteBuffer column(int block, int column) throws IOException {
+        int header = (int) blockOffsets[block];
+        int offset = header + AuditSegmentFormat.COLUMNS * 8;
+        for (int previous = 0; previous < column; previous++) {
+            offset += buffer.getInt(header + previous * 4);
+        }
+        int compressedLength = buffer.getInt(header + column * 4);
+        byte[] raw = new byte[buffer.getInt(header + (AuditSegmentFormat.COLUMNS + column) * 4)];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressedLength));
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length) {
+                throw new IOException("Coluna " + column + " corrompida no segmento " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Coluna " + column + " corrompida no segmento " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private long micros(LocalDateTime timestamp) {
+        return Duration.between(dayStart, timestamp).toNanos() / 1000;
+    }
+}
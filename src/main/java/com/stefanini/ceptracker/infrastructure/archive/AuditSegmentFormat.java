@@ -0,0 +1,73 @@
+package com.stefanini.ceptracker.infrastructure.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout de um segmento de auditoria arquivada: um dia de cep_audit_logs em blocos de
+ * linhas, ordenados por (request_timestamp, id), com cada coluna comprimida (Deflate) em
+ * separado para que uma consulta descomprima só as colunas de que precisa (big-endian):
+ * <pre>
+ * cabeçalho  magic "CEPA" | versão | dia (epoch day) | registros | blocos | reservado | offset do índice (long)
+ * bloco      tamanhos comprimidos int[COLUMNS] | tamanhos originais int[COLUMNS] | colunas comprimidas
+ * índice     por bloco: offset (long) | registros (int) | menor e maior instante (long, µs desde o início do dia)
+ * </pre>
+ * Colunas antes da compressão: id em deltas zigzag varint; instantes em µs desde o início
+ * do dia, em deltas varint; success em bits; execution_time_ms como varint de valor + 1
+ * (0 para nulo); colunas de texto com dicionário do bloco (quantidade, strings com tamanho
+ * varint + UTF-8) seguido do índice varint de cada linha (0 para nulo).
+ */
+final class AuditSegmentFormat {
+
+    static final int MAGIC = 0x43455041;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 28;
+
+    static final int ID = 0;
+    static final int TIMESTAMP = 1;
+    static final int SUCCESS = 2;
+    static final int EXECUTION_TIME = 3;
+    static final int CEP = 4;
+    static final int ERROR_MESSAGE = 5;
+    static final int SOURCE_IP = 6;
+    static final int USER_AGENT = 7;
+    static final int RESPONSE_DATA = 8;
+    static final int COLUMNS = 9;
+
+    static final String FILE_PREFIX = "audit-";
+    static final String FILE_SUFFIX = ".seg";
+
+    private AuditSegmentFormat() {
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    static long readZigZag(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // Dicionário seguido dos índices por linha; a posição 0 do retorno é nula
+    static String[] readDictionary(ByteBuffer buffer) {
+        int size = (int) readVarLong(buffer);
+        String[] dictionary = new String[size + 1];
+        for (int i = 1; i <= size; i++) {
+            int length = (int) readVarLong(buffer);
+            dictionary[i] = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,262 @@
+package com.stefanini.ceptracker.infrastructure.archive;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Grava um segmento de um dia a partir de linhas em ordem de (request_timestamp, id).
+ * Em memória fica só o bloco corrente; o arquivo é escrito em um temporário no mesmo
+ * diretório e publicado com move atômico em {@link #commit()}.
+ */
+public final class AuditSegmentWriter implements Closeable {
+
+    private final Path target;
+    private final Path temp;
+    private final LocalDate day;
+    private final LocalDateTime dayStart;
+    private final int blockRows;
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    private final DataOutputStream indexOut = new DataOutputStream(index);
+
+    private final long[] ids;
+    private final long[] micros;
+    private final boolean[] success;
+    private final long[] executionTimes;
+    private final String[][] texts;
+    private int rows;
+    private int totalRows;
+    private int blocks;
+    private long position = AuditSegmentFormat.HEADER_SIZE;
+    private long lastMicros = Long.MIN_VALUE;
+
+    public AuditSegmentWriter(Path target, LocalDate day, int blockRows) throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        this.target = absoluteTarget;
+        this.temp = Files.createTempFile(absoluteTarget.getParent(), absoluteTarget.getFileName().toString(), ".tmp");
+        this.day = day;
+        this.dayStart = day.atStartOfDay();
+        this.blockRows = blockRows;
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temp, StandardOpenOption.TRUNCATE_EXISTING), 64 * 1024));
+        this.out.write(new byte[AuditSegmentFormat.HEADER_SIZE]);
+
+        this.ids = new long[blockRows];
+        this.micros = new long[blockRows];
+        this.success = new boolean[blockRows];
+        this.executionTimes = new long[blockRows];
+        this.texts = new String[AuditSegmentFormat.COLUMNS][];
+        for (int column = AuditSegmentFormat.CEP; column < AuditSegmentFormat.COLUMNS; column++) {
+            texts[column] = new String[blockRows];
+        }
+    }
+
+    public void add(CepAuditLog auditLog) throws IOException {
+        long timestamp = Duration.between(dayStart, auditLog.getRequestTimestamp()).toNanos() / 1000;
+        if (timestamp < 0 || !auditLog.getRequestTimestamp().toLocalDate().equals(day) || timestamp < lastMicros) {
+            throw new IOException("Registro fora do dia ou da ordem do segmento: " + auditLog.getRequestTimestamp());
+        }
+        lastMicros = timestamp;
+        ids[rows] = auditLog.getId();
+        micros[rows] = timestamp;
+        success[rows] = Boolean.TRUE.equals(auditLog.getSuccess());
+        executionTimes[rows] = auditLog.getExecutionTimeMs() != null ? auditLog.getExecutionTimeMs() : -1;
+        texts[AuditSegmentFormat.CEP][rows] = auditLog.getCep();
+        texts[AuditSegmentFormat.ERROR_MESSAGE][rows] = auditLog.getErrorMessage();
+        texts[AuditSegmentFormat.SOURCE_IP][rows] = auditLog.getSourceIp();
+        texts[AuditSegmentFormat.USER_AGENT][rows] = auditLog.getUserAgent();
+        texts[AuditSegmentFormat.RESPONSE_DATA][rows] = auditLog.getResponseData();
+        if (++rows == blockRows) {
+            flushBlock();
+        }
+    }
+
+    // Conclui o arquivo e o publica no destino; retorna a quantidade de registros
+    public int commit() throws IOException {
+        if (rows > 0) {
+            flushBlock();
+        }
+        long indexOffset = position;
+        index.writeTo(out);
+        out.close();
+
+        ByteBuffer header = ByteBuffer.allocate(AuditSegmentFormat.HEADER_SIZE);
+        header.putInt(AuditSegmentFormat.MAGIC)
+                .putInt(AuditSegmentFormat.VERSION)
+                .putInt((int) day.toEpochDay())
+                .putInt(totalRows)
+                .putInt(blocks)
+                .putInt(0)
+                .putLong(indexOffset)
+                .flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return totalRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        out.close();
+        Files.deleteIfExists(temp);
+    }
+
+    private void flushBlock() throws IOException {
+        ColumnBuffer[] columns = new ColumnBuffer[AuditSegmentFormat.COLUMNS];
+
+        ColumnBuffer idColumn = new ColumnBuffer(rows * 2);
+        long previousId = 0;
+        for (int i = 0; i < rows; i++) {
+            idColumn.putZigZag(ids[i] - previousId);
+            previousId = ids[i];
+        }
+        columns[AuditSegmentFormat.ID] = idColumn;
+
+        ColumnBuffer timestampColumn = new ColumnBuffer(rows * 3);
+        long previousMicros = 0;
+        for (int i = 0; i < rows; i++) {
+            timestampColumn.putVarLong(micros[i] - previousMicros);
+            previousMicros = micros[i];
+        }
+        columns[AuditSegmentFormat.TIMESTAMP] = timestampColumn;
+
+        ColumnBuffer successColumn = new ColumnBuffer((rows + 7) / 8);
+        for (int i = 0; i < rows; i += 8) {
+            int bits = 0;
+            for (int bit = 0; bit < 8 && i + bit < rows; bit++) {
+                if (success[i + bit]) {
+                    bits |= 1 << bit;
+                }
+            }
+            successColumn.write(bits);
+        }
+        columns[AuditSegmentFormat.SUCCESS] = successColumn;
+
+        ColumnBuffer executionTimeColumn = new ColumnBuffer(rows * 2);
+        for (int i = 0; i < rows; i++) {
+            executionTimeColumn.putVarLong(executionTimes[i] + 1);
+        }
+        columns[AuditSegmentFormat.EXECUTION_TIME] = executionTimeColumn;
+
+        for (int column = AuditSegmentFormat.CEP; column < AuditSegmentFormat.COLUMNS; column++) {
+            columns[column] = dictionaryColumn(texts[column]);
+        }
+
+        byte[][] compressed = new byte[AuditSegmentFormat.COLUMNS][];
+        for (int column = 0; column < AuditSegmentFormat.COLUMNS; column++) {
+            compressed[column] = deflate(columns[column]);
+        }
+
+        long blockOffset = position;
+        for (byte[] bytes : compressed) {
+            out.writeInt(bytes.length);
+        }
+        for (ColumnBuffer column : columns) {
+            out.writeInt(column.size());
+        }
+        position += AuditSegmentFormat.COLUMNS * 8L;
+        for (byte[] bytes : compressed) {
+            out.write(bytes);
+            position += bytes.length;
+        }
+
+        indexOut.writeLong(blockOffset);
+        indexOut.writeInt(rows);
+        indexOut.writeLong(micros[0]);
+        indexOut.writeLong(micros[rows - 1]);
+
+        totalRows += rows;
+        blocks++;
+        rows = 0;
+        for (int column = AuditSegmentFormat.CEP; column < AuditSegmentFormat.COLUMNS; column++) {
+            Arrays.fill(texts[column], null);
+        }
+    }
+
+    // Payloads repetidos (a mesma resposta de CEP em cache) ficam uma única vez por bloco
+    private ColumnBuffer dictionaryColumn(String[] values) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        ColumnBuffer indexes = new ColumnBuffer(rows);
+        ColumnBuffer entries = new ColumnBuffer(256);
+        for (int i = 0; i < rows; i++) {
+            String value = values[i];
+            if (value == null) {
+                indexes.putVarLong(0);
+                continue;
+            }
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = dictionary.size() + 1;
+                dictionary.put(value, code);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                entries.putVarLong(bytes.length);
+                entries.write(bytes, 0, bytes.length);
+            }
+            indexes.putVarLong(code);
+        }
+        ColumnBuffer column = new ColumnBuffer(entries.size() + indexes.size() + 5);
+        column.putVarLong(dictionary.size());
+        column.write(entries.buffer(), 0, entries.size());
+        column.write(indexes.buffer(), 0, indexes.size());
+        return column;
+    }
+
+    private byte[] deflate(ColumnBuffer column) {
+        deflater.reset();
+        deflater.setInput(column.buffer(), 0, column.size());
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, column.size() / 4));
+        byte[] chunk = new byte[16 * 1024];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(chunk);
+            compressed.write(chunk, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static final class ColumnBuffer extends ByteArrayOutputStream {
+
+        ColumnBuffer(int capacity) {
+            super(Math.max(16, capacity));
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        void putVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void putZigZag(long value) {
+            putVarLong((value << 1) ^ (value >> 63));
+        }
+    }
+}
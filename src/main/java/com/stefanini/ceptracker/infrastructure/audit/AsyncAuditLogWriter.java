@@ -0,0 +1,279 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers.Stage;
+import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava os registros de auditoria fora da thread da requisição: uma fila limitada
+ * é drenada por uma thread de fundo que persiste lotes por tamanho ou por tempo.
+ * Um lote que falha é tentado de novo algumas vezes e, persistindo o erro, gravado
+ * registro a registro, para que uma linha inválida não descarte as demais.
+ */
+@Component
+@Slf4j
+public class AsyncAuditLogWriter {
+
+    private static final int FLUSH_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 100;
+
+    private final CepAuditLogRepository auditLogRepository;
+    private final AuditStatsAggregator statsAggregator;
+    private final AuditPayloadStore payloadStore;
+    private final StageTimers stageTimers;
+    private final boolean enabled;
+    private final BlockingQueue<CepAuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long blockTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final AuditBackpressurePolicy backpressurePolicy;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+    private final Counter flushFailureCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AsyncAuditLogWriter(CepAuditLogRepository auditLogRepository,
+            AuditStatsAggregator statsAggregator,
+            AuditPayloadStore payloadStore,
+            MeterRegistry meterRegistry,
+            StageTimers stageTimers,
+            @Value("${app.audit.async.enabled:true}") boolean enabled,
+            @Value("${app.audit.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.audit.async.batch-size:100}") int batchSize,
+            @Value("${app.audit.async.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${app.audit.async.block-timeout-ms:1000}") long blockTimeoutMs,
+            @Value("${app.audit.async.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+            @Value("${app.audit.async.backpressure:SPILL}") AuditBackpressurePolicy backpressurePolicy) {
+        this.auditLogRepository = auditLogRepository;
+        this.statsAggregator = statsAggregator;
+        this.payloadStore = payloadStore;
+        this.stageTimers = stageTimers;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.backpressurePolicy = backpressurePolicy;
+        this.writtenCounter = Counter.builder("cep.audit.written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("cep.audit.dropped")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("cep.audit.spilled")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("cep.audit.flush.failures")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("cep.audit.failed")
+                .register(meterRegistry);
+        Gauge.builder("cep.audit.queue.size", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Writer assíncrono de auditoria iniciado (lote: {}, intervalo: {}ms, política: {})",
+                batchSize, flushIntervalMs, backpressurePolicy);
+    }
+
+    public void submit(CepAuditLog auditLog) {
+        if (!running) {
+            persist(auditLog);
+            return;
+        }
+
+        if (queue.offer(auditLog)) {
+            // shutdown() pode ter parado o writer entre a leitura de running e o offer
+            if (!running && queue.remove(auditLog)) {
+                persist(auditLog);
+            }
+            return;
+        }
+
+        switch (backpressurePolicy) {
+            case BLOCK:
+                try {
+                    if (queue.offer(auditLog, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                droppedCounter.increment();
+                break;
+            case DROP:
+                droppedCounter.increment();
+                break;
+            case SPILL:
+                spilledCounter.increment();
+                persist(auditLog);
+                break;
+        }
+    }
+
+    public void submitAll(List<CepAuditLog> auditLogs) {
+        if (!running) {
+            long start = stageTimers.start();
+            payloadStore.store(auditLogs);
+            auditLogRepository.saveAll(auditLogs);
+            stageTimers.record(Stage.AUDIT_PERSIST, start);
+            statsAggregator.recordAll(auditLogs);
+            writtenCounter.increment(auditLogs.size());
+            return;
+        }
+        auditLogs.forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Writer de auditoria encerrado com {} registros pendentes", queue.size());
+            return;
+        }
+        // Registros enfileirados depois que a thread de fundo saiu do laço
+        List<CepAuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+
+    private void drainLoop() {
+        List<CepAuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                CepAuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            flush(batch);
+        }
+    }
+
+    // Completa o lote até o tamanho máximo ou até o fim da janela de flush
+    private void fillBatch(List<CepAuditLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            CepAuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<CepAuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            for (int attempt = 1; attempt <= FLUSH_ATTEMPTS; attempt++) {
+                try {
+                    saveBatch(batch);
+                    return;
+                } catch (Exception e) {
+                    flushFailureCounter.increment();
+                    log.warn("Erro ao gravar lote de {} audit logs (tentativa {} de {}): {}",
+                            batch.size(), attempt, FLUSH_ATTEMPTS, e.getMessage());
+                    // O rollback não devolve os ids já tirados da sequence
+                    batch.forEach(auditLog -> auditLog.setId(null));
+                    if (attempt < FLUSH_ATTEMPTS && !sleepBeforeRetry(attempt)) {
+                        break;
+                    }
+                }
+            }
+            // O lote roda em uma transação só: registro a registro, só as linhas com erro se perdem
+            batch.forEach(this::persistOrCount);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void saveBatch(List<CepAuditLog> batch) {
+        // Payloads novos do lote vão para cep_audit_payloads antes dos registros que os referenciam
+        long start = stageTimers.start();
+        payloadStore.store(batch);
+        auditLogRepository.saveAll(batch);
+        stageTimers.record(Stage.AUDIT_PERSIST, start);
+        statsAggregator.recordAll(batch);
+        writtenCounter.increment(batch.size());
+        log.debug("Lote de {} audit logs gravado", batch.size());
+    }
+
+    private void persistOrCount(CepAuditLog auditLog) {
+        try {
+            persist(auditLog);
+        } catch (Exception e) {
+            auditLog.setId(null);
+            failedCounter.increment();
+            log.error("Audit log do CEP {} descartado após falha na gravação: {}", auditLog.getCep(), e.getMessage());
+        }
+    }
+
+    private static boolean sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MS << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void persist(CepAuditLog auditLog) {
+        long start = stageTimers.start();
+        payloadStore.store(List.of(auditLog));
+        auditLogRepository.save(auditLog);
+        stageTimers.record(Stage.AUDIT_PERSIST, start);
+        statsAggregator.record(auditLog);
+        writtenCounter.increment();
+    }
+}
@@ -0,0 +1,11 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+// Comportamento do writer assíncrono quando a fila de auditoria está cheia
+public enum AuditBackpressurePolicy {
+    // Aguarda espaço na fila até o timeout configurado; depois descarta e contabiliza
+    BLOCK,
+    // Descarta o registro imediatamente e contabiliza
+    DROP,
+    // Transborda para gravação síncrona na thread da requisição
+    SPILL
+}
@@ -0,0 +1,201 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Particionamento por faixa de request_timestamp da tabela cep_audit_logs (PostgreSQL).
+ * Na subida, antes do Hibernate, cria a tabela já particionada se ela ainda não existir;
+ * depois mantém as partições dos próximos períodos criadas e remove com DROP as que saíram
+ * da retenção ou já foram arquivadas, sem DELETE em massa. Tabelas existentes sem particionamento não são
+ * alteradas: a conversão é feita uma vez com scripts/partition-audit-logs.sql.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class AuditPartitionManager {
+
+    static final String TABLE = "cep_audit_logs";
+
+    public enum Granularity {
+        DAILY(DateTimeFormatter.ofPattern("yyyyMMdd")),
+        MONTHLY(DateTimeFormatter.ofPattern("yyyyMM"));
+
+        private final DateTimeFormatter suffix;
+
+        Granularity(DateTimeFormatter suffix) {
+            this.suffix = suffix;
+        }
+
+        LocalDate periodStart(LocalDate date) {
+            return this == DAILY ? date : date.with(TemporalAdjusters.firstDayOfMonth());
+        }
+
+        LocalDate nextPeriod(LocalDate periodStart) {
+            return this == DAILY ? periodStart.plusDays(1) : periodStart.plusMonths(1);
+        }
+
+        String partitionName(LocalDate periodStart) {
+            return TABLE + "_p" + suffix.format(periodStart);
+        }
+
+        // Início do período de uma partição criada por este gerenciador; nulo para outros nomes
+        LocalDate parsePeriodStart(String partitionName) {
+            String prefix = TABLE + "_p";
+            if (!partitionName.startsWith(prefix)) {
+                return null;
+            }
+            String value = partitionName.substring(prefix.length());
+            try {
+                return this == DAILY
+                        ? LocalDate.parse(value, suffix)
+                        : LocalDate.parse(value + "01", DateTimeFormatter.ofPattern("yyyyMMdd"));
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Granularity granularity;
+    private final int premake;
+    private final int retentionDays;
+    private final Clock clock;
+    private volatile boolean active;
+
+    @Autowired
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+            @Value("${app.audit.partitioning.granularity:MONTHLY}") Granularity granularity,
+            @Value("${app.audit.partitioning.premake:3}") int premake,
+            @Value("${app.audit.partitioning.retention-days:365}") int retentionDays) {
+        this(jdbcTemplate, granularity, premake, retentionDays, Clock.systemDefaultZone());
+    }
+
+    AuditPartitionManager(JdbcTemplate jdbcTemplate, Granularity granularity, int premake, int retentionDays,
+            Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.granularity = granularity;
+        this.premake = premake;
+        this.retentionDays = retentionDays;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        String relkind;
+        try {
+            List<String> kinds = jdbcTemplate.queryForList(
+                    "SELECT c.relkind::text FROM pg_class c WHERE c.relname = ? AND pg_table_is_visible(c.oid)",
+                    String.class, TABLE);
+            relkind = kinds.isEmpty() ? null : kinds.get(0);
+        } catch (DataAccessException e) {
+            log.warn("Particionamento de {} ignorado: requer PostgreSQL ({})", TABLE, e.getMessage());
+            return;
+        }
+
+        if (relkind == null) {
+            createPartitionedTable();
+        } else if (!"p".equals(relkind)) {
+            log.warn("{} existe sem particionamento; converta com scripts/partition-audit-logs.sql "
+                    + "para habilitar a criação e a retenção de partições", TABLE);
+            return;
+        }
+        active = true;
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.audit.partitioning.maintenance-cron:0 15 0 * * *}")
+    public void maintain() {
+        if (!active) {
+            return;
+        }
+        try {
+            createUpcomingPartitions();
+            dropExpiredPartitions();
+        } catch (DataAccessException e) {
+            log.error("Erro na manutenção das partições de {}: {}", TABLE, e.getMessage());
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    // Remove partições cujo período inteiro já foi copiado para o arquivo de auditoria
+    public void dropArchivedPartitions(LocalDate archivedUntil) {
+        if (active) {
+            dropPartitionsEndingBy(archivedUntil, "arquivamento");
+        }
+    }
+
+    void createUpcomingPartitions() {
+        LocalDate period = granularity.periodStart(LocalDate.now(clock));
+        for (int i = 0; i <= premake; i++) {
+            LocalDate next = granularity.nextPeriod(period);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + granularity.partitionName(period)
+                    + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + period.atStartOfDay() + "') TO ('" + next.atStartOfDay() + "')");
+            period = next;
+        }
+    }
+
+    // Remove partições cujo período terminou antes do início da retenção
+    void dropExpiredPartitions() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        dropPartitionsEndingBy(LocalDate.now(clock).minusDays(retentionDays), "retenção de " + retentionDays + " dias");
+    }
+
+    private void dropPartitionsEndingBy(LocalDate cutoff, String reason) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT child.relname::text FROM pg_inherits i "
+                        + "JOIN pg_class child ON child.oid = i.inhrelid "
+                        + "JOIN pg_class parent ON parent.oid = i.inhparent "
+                        + "WHERE parent.relname = ?", String.class, TABLE);
+        for (String partition : partitions) {
+            LocalDate periodStart = granularity.parsePeriodStart(partition);
+            if (periodStart != null && !granularity.nextPeriod(periodStart).isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Partição de auditoria {} removida ({})", partition, reason);
+            }
+        }
+    }
+
+    // Mesmas colunas do mapeamento de CepAuditLog; a chave primária inclui a coluna de partição
+    private void createPartitionedTable() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS cep_audit_logs_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                + "id BIGINT NOT NULL, "
+                + "cep VARCHAR(8) NOT NULL, "
+                + "request_timestamp TIMESTAMP(6) NOT NULL, "
+                + "response_data TEXT, "
+                + "success BOOLEAN NOT NULL, "
+                + "error_message VARCHAR(255), "
+                + "execution_time_ms BIGINT, "
+                + "source_ip VARCHAR(255), "
+                + "user_agent VARCHAR(255), "
+                + "response_hash VARCHAR(64), "
+                + "PRIMARY KEY (id, request_timestamp)"
+                + ") PARTITION BY RANGE (request_timestamp)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_cep_audit_logs_cep_timestamp ON " + TABLE
+                + " (cep, request_timestamp DESC, id DESC)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_cep_audit_logs_timestamp ON " + TABLE
+                + " (request_timestamp DESC, id DESC)");
+        log.info("Tabela {} criada com particionamento {} por request_timestamp", TABLE, granularity);
+    }
+}
@@ -0,0 +1,157 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.EncodedCepResponse;
+import com.stefanini.ceptracker.domain.entity.AuditPayload;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.infrastructure.repository.AuditPayloadRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Payloads de resposta da auditoria endereçados por conteúdo: cada JSON distinto é gravado
+ * uma vez em cep_audit_payloads e os registros de cep_audit_logs levam só o SHA-256.
+ * JSON e hash ficam memorizados na própria {@link CepResponse}, que é a instância servida
+ * pelo cache L1, então respostas cujo payload já está no banco não custam nova serialização.
+ */
+@Component
+@Slf4j
+public class AuditPayloadStore {
+
+    private final AuditPayloadRepository payloadRepository;
+    private final CepResponseJson responseJson;
+    private final int knownHashesLimit;
+    private final Set<String> storedHashes = ConcurrentHashMap.newKeySet();
+    private final Counter reusedCounter;
+    private final Counter storedCounter;
+    private final Counter failureCounter;
+
+    public AuditPayloadStore(AuditPayloadRepository payloadRepository,
+            CepResponseJson responseJson,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.payload.known-hashes:100000}") int knownHashesLimit) {
+        this.payloadRepository = payloadRepository;
+        this.responseJson = responseJson;
+        this.knownHashesLimit = knownHashesLimit;
+        this.reusedCounter = Counter.builder("cep.audit.payload.reused")
+                .register(meterRegistry);
+        this.storedCounter = Counter.builder("cep.audit.payload.stored")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("cep.audit.payload.failures")
+                .register(meterRegistry);
+    }
+
+    // Chamado na thread da requisição: só serializa enquanto o payload não foi confirmado no banco
+    public void attach(CepAuditLog auditLog, CepResponse response) {
+        EncodedCepResponse encoded = responseJson.encode(response);
+        auditLog.setResponseHash(encoded.getHash());
+        if (storedHashes.contains(encoded.getHash())) {
+            reusedCounter.increment();
+        } else {
+            // O JSON segue com o registro até o writer gravá-lo em cep_audit_payloads
+            auditLog.setResponseData(new String(encoded.getJson(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // Grava os payloads ainda desconhecidos de um lote; os registros passam a levar só o hash
+    public void store(Collection<CepAuditLog> auditLogs) {
+        Map<String, String> pending = new HashMap<>();
+        for (CepAuditLog auditLog : auditLogs) {
+            String hash = auditLog.getResponseHash();
+            if (hash != null && auditLog.getResponseData() != null && !storedHashes.contains(hash)) {
+                pending.putIfAbsent(hash, auditLog.getResponseData());
+            }
+        }
+        if (!pending.isEmpty()) {
+            try {
+                persistMissing(pending);
+                remember(pending.keySet());
+            } catch (DataAccessException e) {
+                // Sem o payload gravado, o registro mantém o JSON em linha em response_data
+                failureCounter.increment();
+                log.warn("Erro ao gravar {} payloads de auditoria, mantidos em linha: {}", pending.size(), e.getMessage());
+            }
+        }
+
+        for (CepAuditLog auditLog : auditLogs) {
+            if (auditLog.getResponseHash() != null && storedHashes.contains(auditLog.getResponseHash())) {
+                auditLog.setResponseData(null);
+            }
+        }
+    }
+
+    // Preenche responseData dos registros que só guardam o hash, com uma consulta por chamada
+    public void resolve(Collection<CepAuditLog> auditLogs) {
+        Set<String> hashes = new HashSet<>();
+        for (CepAuditLog auditLog : auditLogs) {
+            if (auditLog.getResponseData() == null && auditLog.getResponseHash() != null) {
+                hashes.add(auditLog.getResponseHash());
+            }
+        }
+        if (hashes.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> payloads = new HashMap<>();
+        payloadRepository.findAllById(hashes).forEach(payload -> payloads.put(payload.getHash(), payload.getPayload()));
+        for (CepAuditLog auditLog : auditLogs) {
+            if (auditLog.getResponseData() == null && auditLog.getResponseHash() != null) {
+                auditLog.setResponseData(payloads.get(auditLog.getResponseHash()));
+            }
+        }
+    }
+
+    private void persistMissing(Map<String, String> pending) {
+        Set<String> missing = new HashSet<>(pending.keySet());
+        payloadRepository.findExistingHashes(missing).forEach(missing::remove);
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            payloadRepository.saveAll(payloads(missing, pending));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância gravou parte dos payloads entre a consulta e o INSERT
+            payloadRepository.findExistingHashes(missing).forEach(missing::remove);
+            payloadRepository.saveAll(payloads(missing, pending));
+        }
+        storedCounter.increment(missing.size());
+    }
+
+    private static List<AuditPayload> payloads(Set<String> hashes, Map<String, String> pending) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditPayload> payloads = new ArrayList<>(hashes.size());
+        for (String hash : hashes) {
+            payloads.add(AuditPayload.builder()
+                    .hash(hash)
+                    .payload(pending.get(hash))
+                    .createdAt(now)
+                    .build());
+        }
+        return payloads;
+    }
+
+    // Conjunto limitado: ao estourar é esvaziado e os hashes voltam a ser confirmados no banco
+    private void remember(Collection<String> hashes) {
+        if (storedHashes.size() + hashes.size() > knownHashesLimit) {
+            storedHashes.clear();
+        }
+        storedHashes.addAll(hashes);
+    }
+}
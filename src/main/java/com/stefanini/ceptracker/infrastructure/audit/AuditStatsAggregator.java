@@ -0,0 +1,310 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import com.stefanini.ceptracker.domain.entity.AuditCepStatsRollup;
+import com.stefanini.ceptracker.domain.entity.AuditLatencyRollup;
+import com.stefanini.ceptracker.domain.entity.AuditStatsRollup;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.repository.AuditCepStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.AuditLatencyRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.AuditStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Estatísticas de auditoria mantidas de forma incremental: cada registro gravado soma
+ * em contadores {@link LongAdder} do seu minuto, e um flush periódico grava os incrementos
+ * nas tabelas de rollup (totais, por CEP e histograma de latência). As consultas somam
+ * os rollups da janela com o que ainda está em memória, sem varrer cep_audit_logs.
+ */
+@Component
+@Slf4j
+public class AuditStatsAggregator {
+
+    private final AuditStatsRollupRepository statsRepository;
+    private final AuditCepStatsRollupRepository cepStatsRepository;
+    private final AuditLatencyRollupRepository latencyRepository;
+    private final CepAuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+    private final int backfillPageSize;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final ConcurrentMap<LocalDateTime, MinuteStats> minutes = new ConcurrentHashMap<>();
+    private final Counter flushFailureCounter;
+
+    public AuditStatsAggregator(AuditStatsRollupRepository statsRepository,
+            AuditCepStatsRollupRepository cepStatsRepository,
+            AuditLatencyRollupRepository latencyRepository,
+            CepAuditLogRepository auditLogRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.stats.backfill-on-startup:false}") boolean backfillOnStartup,
+            @Value("${app.audit.stats.backfill-page-size:10000}") int backfillPageSize) {
+        this.statsRepository = statsRepository;
+        this.cepStatsRepository = cepStatsRepository;
+        this.latencyRepository = latencyRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+        this.backfillPageSize = backfillPageSize;
+        this.flushFailureCounter = Counter.builder("cep.audit.stats.flush.failures")
+                .register(meterRegistry);
+    }
+
+    public void record(CepAuditLog auditLog) {
+        LocalDateTime timestamp = auditLog.getRequestTimestamp() != null ? auditLog.getRequestTimestamp() : LocalDateTime.now();
+        LocalDateTime minute = timestamp.truncatedTo(ChronoUnit.MINUTES);
+        // Entrada selada já saiu do mapa para o flush: o registro vai para uma nova do mesmo minuto
+        while (!minutes.computeIfAbsent(minute, key -> new MinuteStats()).record(auditLog)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    public void recordAll(Collection<CepAuditLog> auditLogs) {
+        auditLogs.forEach(this::record);
+    }
+
+    // Incrementos ainda não gravados nos rollups, dos minutos em [from, to)
+    public AuditStatsSnapshot pending(LocalDateTime from, LocalDateTime to) {
+        AuditStatsSnapshot snapshot = new AuditStatsSnapshot();
+        minutes.forEach((minute, stats) -> {
+            if (!minute.isBefore(from) && minute.isBefore(to)) {
+                stats.addTo(snapshot);
+            }
+        });
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.stats.flush-interval-ms:60000}",
+            initialDelayString = "${app.audit.stats.flush-interval-ms:60000}")
+    public synchronized void flush() {
+        for (LocalDateTime minute : minutes.keySet()) {
+            // Remove antes de ler: registros concorrentes encontram a entrada selada e vão para uma nova
+            MinuteStats stats = minutes.remove(minute);
+            if (stats == null) {
+                continue;
+            }
+            stats.seal();
+            AuditStatsSnapshot delta = new AuditStatsSnapshot();
+            stats.addTo(delta);
+            if (delta.isEmpty()) {
+                continue;
+            }
+
+            try {
+                persist(minute, delta);
+            } catch (RuntimeException e) {
+                // Devolve os incrementos para a próxima tentativa
+                minutes.computeIfAbsent(minute, key -> new MinuteStats()).restore(delta);
+                flushFailureCounter.increment();
+                log.error("Erro ao gravar estatísticas de auditoria do minuto {}: {}", minute, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup || statsRepository.count() > 0) {
+            return;
+        }
+        Thread backfill = new Thread(this::backfill, "audit-stats-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    // Carga única dos rollups a partir do histórico anterior à subida; registros novos já entram pelo writer
+    void backfill() {
+        log.info("Carga inicial das estatísticas de auditoria a partir de cep_audit_logs");
+        long lastId = 0;
+        long rows = 0;
+        try {
+            List<CepAuditLog> page;
+            while (!(page = auditLogRepository.findByIdGreaterThanAndRequestTimestampBeforeOrderByIdAsc(
+                    lastId, startedAt, PageRequest.of(0, backfillPageSize))).isEmpty()) {
+                recordAll(page);
+                lastId = page.get(page.size() - 1).getId();
+                rows += page.size();
+                flush();
+            }
+            log.info("Carga inicial das estatísticas concluída com {} registros de auditoria", rows);
+        } catch (RuntimeException e) {
+            log.error("Erro na carga inicial das estatísticas após {} registros: {}", rows, e.getMessage());
+        }
+    }
+
+    private void persist(LocalDateTime minute, AuditStatsSnapshot delta) {
+        List<AuditCepStatsRollup> cepRollups = new ArrayList<>(delta.getCepCounts().size());
+        delta.getCepCounts().forEach((cep, counts) -> cepRollups.add(AuditCepStatsRollup.builder()
+                .bucketStart(minute)
+                .cep(cep)
+                .totalRequests(counts[0])
+                .successfulRequests(counts[1])
+                .failedRequests(counts[2])
+                .build()));
+
+        List<AuditLatencyRollup> latencyRollups = new ArrayList<>();
+        long[] latencyCounts = delta.getLatencyCounts();
+        for (int bucket = 0; bucket < latencyCounts.length; bucket++) {
+            if (latencyCounts[bucket] > 0) {
+                latencyRollups.add(AuditLatencyRollup.builder()
+                        .bucketStart(minute)
+                        .latencyBucket(bucket)
+                        .requests(latencyCounts[bucket])
+                        .build());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statsRepository.save(AuditStatsRollup.builder()
+                    .bucketStart(minute)
+                    .totalRequests(delta.getTotalRequests())
+                    .successfulRequests(delta.getSuccessfulRequests())
+                    .failedRequests(delta.getFailedRequests())
+                    .executionTimeSumMs(delta.getExecutionTimeSumMs())
+                    .executionTimeMaxMs(delta.getExecutionTimeMaxMs())
+                    .build());
+            cepStatsRepository.saveAll(cepRollups);
+            latencyRepository.saveAll(latencyRollups);
+        });
+    }
+
+    private static final class MinuteStats {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder successful = new LongAdder();
+        private final LongAdder executionTimeSum = new LongAdder();
+        private final LongAccumulator executionTimeMax = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] latency = new LongAdder[LatencyHistogram.BUCKETS];
+        private final ConcurrentMap<String, CepCounters> ceps = new ConcurrentHashMap<>();
+        // Registros seguram a leitura (em paralelo entre si); o flush sela com a escrita, esperando os que estão em curso
+        private final ReadWriteLock sealLock = new ReentrantReadWriteLock();
+        private boolean sealed;
+
+        MinuteStats() {
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LongAdder();
+            }
+        }
+
+        // false se a entrada já foi selada pelo flush
+        boolean record(CepAuditLog auditLog) {
+            Lock lock = sealLock.readLock();
+            lock.lock();
+            try {
+                if (sealed) {
+                    return false;
+                }
+                increment(auditLog);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void seal() {
+            Lock lock = sealLock.writeLock();
+            lock.lock();
+            try {
+                sealed = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void increment(CepAuditLog auditLog) {
+            boolean success = Boolean.TRUE.equals(auditLog.getSuccess());
+            long executionTime = auditLog.getExecutionTimeMs() != null ? auditLog.getExecutionTimeMs() : 0;
+
+            total.increment();
+            if (success) {
+                successful.increment();
+            }
+            executionTimeSum.add(executionTime);
+            executionTimeMax.accumulate(executionTime);
+            latency[LatencyHistogram.bucketOf(executionTime)].increment();
+            if (auditLog.getCep() != null) {
+                ceps.computeIfAbsent(auditLog.getCep(), cep -> new CepCounters()).record(success);
+            }
+        }
+
+        // Soma os contadores no snapshot. Sucesso é lido antes do total, que é incrementado
+        // primeiro: numa entrada ainda aberta, a falha derivada nunca fica negativa
+        void addTo(AuditStatsSnapshot snapshot) {
+            long successCount = successful.sum();
+            long totalCount = total.sum();
+            snapshot.add(totalCount, successCount, totalCount - successCount, executionTimeSum.sum(), executionTimeMax.get());
+
+            for (int i = 0; i < latency.length; i++) {
+                long count = latency[i].sum();
+                if (count > 0) {
+                    snapshot.addLatency(i, count);
+                }
+            }
+            ceps.forEach((cep, counters) -> {
+                long cepSuccessful = counters.successful.sum();
+                long cepTotal = counters.total.sum();
+                if (cepTotal > 0) {
+                    snapshot.addCep(cep, cepTotal, cepSuccessful);
+                }
+            });
+        }
+
+        void restore(AuditStatsSnapshot delta) {
+            total.add(delta.getTotalRequests());
+            successful.add(delta.getSuccessfulRequests());
+            executionTimeSum.add(delta.getExecutionTimeSumMs());
+            executionTimeMax.accumulate(delta.getExecutionTimeMaxMs());
+            long[] latencyCounts = delta.getLatencyCounts();
+            for (int i = 0; i < latencyCounts.length; i++) {
+                latency[i].add(latencyCounts[i]);
+            }
+            delta.getCepCounts().forEach((cep, counts) -> {
+                CepCounters counters = ceps.computeIfAbsent(cep, key -> new CepCounters());
+                counters.total.add(counts[0]);
+                counters.successful.add(counts[1]);
+            });
+        }
+    }
+
+    private static final class CepCounters {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder successful = new LongAdder();
+
+        void record(boolean success) {
+            total.increment();
+            if (success) {
+                successful.increment();
+            }
+        }
+    }
+}
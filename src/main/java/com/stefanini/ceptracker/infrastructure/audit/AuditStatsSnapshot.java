@@ -0,0 +1,43 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Incrementos de estatísticas de auditoria ainda não persistidos, somados em uma janela
+@Getter
+public class AuditStatsSnapshot {
+
+    private long totalRequests;
+    private long successfulRequests;
+    private long failedRequests;
+    private long executionTimeSumMs;
+    private long executionTimeMaxMs;
+    private final long[] latencyCounts = new long[LatencyHistogram.BUCKETS];
+    // CEP -> {total, sucesso, falha}
+    private final Map<String, long[]> cepCounts = new HashMap<>();
+
+    void add(long total, long successful, long failed, long executionTimeSum, long executionTimeMax) {
+        totalRequests += total;
+        successfulRequests += successful;
+        failedRequests += failed;
+        executionTimeSumMs += executionTimeSum;
+        executionTimeMaxMs = Math.max(executionTimeMaxMs, executionTimeMax);
+    }
+
+    void addLatency(int bucket, long count) {
+        latencyCounts[bucket] += count;
+    }
+
+    void addCep(String cep, long total, long successful) {
+        long[] counts = cepCounts.computeIfAbsent(cep, key -> new long[3]);
+        counts[0] += total;
+        counts[1] += successful;
+        counts[2] += total - successful;
+    }
+
+    boolean isEmpty() {
+        return totalRequests == 0;
+    }
+}
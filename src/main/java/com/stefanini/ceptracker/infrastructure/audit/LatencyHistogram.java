@@ -0,0 +1,54 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+/**
+ * Faixas log-lineares de latência em ms: valores exatos até 3ms e, a partir daí, quatro
+ * faixas por potência de 2 (erro relativo de até 25%), até ~35 minutos em 80 faixas.
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKETS = 80;
+
+    private static final int SUB_BUCKETS = 4;
+
+    private LatencyHistogram() {
+    }
+
+    public static int bucketOf(long executionTimeMs) {
+        if (executionTimeMs < SUB_BUCKETS) {
+            return (int) Math.max(executionTimeMs, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(executionTimeMs);
+        int subBucket = (int) ((executionTimeMs >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+        return Math.min(SUB_BUCKETS + (exponent - 2) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+    }
+
+    // Maior latência representada pela faixa
+    public static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 2;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket) << (exponent - 2)) + (1L << (exponent - 2)) - 1;
+    }
+
+    // Limite superior da faixa que contém o percentil (0 < percentile <= 1); 0 sem amostras
+    public static long percentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            cumulative += counts[bucket];
+            if (cumulative >= rank) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+}
@@ -0,0 +1,388 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Layout binário versionado para os valores de cache de CEP:
+ * <pre>
+ * [magic 0xCE][versão][tipo][corpo]
+ * </pre>
+ * Campos só de dígitos viram varint com largura, {@code uf} e as principais {@code localidade}
+ * usam dicionário fixo e o restante é UTF-8 com tamanho em varint. Valores sem o byte
+ * mágico são lidos como JSON, o que mantém legíveis as entradas gravadas antes do codec.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cep-service.cache.codec", havingValue = "binary", matchIfMissing = true)
+public class BinaryCacheCodec implements CacheCodec {
+
+    static final byte MAGIC = (byte) 0xCE;
+    static final byte VERSION = 1;
+
+    private static final byte TYPE_CEP_RESPONSE = 1;
+    private static final byte TYPE_CACHED_CEP_RESPONSE = 2;
+    private static final byte TYPE_LONG = 3;
+
+    private static final byte FIELD_NULL = 0;
+    private static final byte FIELD_EMPTY = 1;
+    private static final byte FIELD_DIGITS = 2;
+    private static final byte FIELD_UTF8 = 3;
+    private static final byte FIELD_DICTIONARY = 4;
+
+    private static final int MAX_DIGITS = 18;
+
+    // Dicionários fixos do formato: novas entradas só podem ser acrescentadas no fim
+    private static final String[] STATES = {
+            "AC", "AL", "AM", "AP", "BA", "CE", "DF", "ES", "GO", "MA", "MG", "MS", "MT", "PA",
+            "PB", "PE", "PI", "PR", "RJ", "RN", "RO", "RR", "RS", "SC", "SE", "SP", "TO"
+    };
+    private static final String[] CITIES = {
+            "Rio Branco", "Maceió", "Manaus", "Macapá", "Salvador", "Fortaleza", "Brasília",
+            "Vitória", "Goiânia", "São Luís", "Belo Horizonte", "Campo Grande", "Cuiabá", "Belém",
+            "João Pessoa", "Recife", "Teresina", "Curitiba", "Rio de Janeiro", "Natal", "Porto Velho",
+            "Boa Vista", "Porto Alegre", "Florianópolis", "Aracaju", "São Paulo", "Palmas",
+            "Guarulhos", "Campinas", "São Gonçalo", "Duque de Caxias", "Nova Iguaçu",
+            "São Bernardo do Campo", "Santo André", "Osasco", "Ribeirão Preto", "Sorocaba",
+            "Uberlândia", "Contagem", "Joinville", "Londrina", "Juiz de Fora", "Niterói"
+    };
+    private static final Map<String, Integer> STATE_INDEX = index(STATES);
+    private static final Map<String, Integer> CITY_INDEX = index(CITIES);
+
+    private final JsonCacheCodec jsonCodec;
+
+    public BinaryCacheCodec(ObjectMapper objectMapper) {
+        this.jsonCodec = new JsonCacheCodec(objectMapper);
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        if (value instanceof CachedCepResponse cached) {
+            Writer writer = header(TYPE_CACHED_CEP_RESPONSE);
+            writer.writeFixedLong(cached.getCachedAt());
+            writer.writeVarLong(cached.getSoftExpiresAt() - cached.getCachedAt());
+            writer.writeVarLong(cached.getHardExpiresAt() - cached.getCachedAt());
+            writeCepResponse(writer, cached.getResponse());
+            return writer.toByteArray();
+        }
+        if (value instanceof CepResponse response) {
+            Writer writer = header(TYPE_CEP_RESPONSE);
+            writeCepResponse(writer, response);
+            return writer.toByteArray();
+        }
+        if (value instanceof Long number) {
+            Writer writer = header(TYPE_LONG);
+            writer.writeFixedLong(number);
+            return writer.toByteArray();
+        }
+        return jsonCodec.encode(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        if (data.length == 0 || data[0] != MAGIC) {
+            return jsonCodec.decode(data, type);
+        }
+
+        Reader reader = new Reader(data);
+        reader.skip(1);
+        byte version = reader.readByte();
+        if (version != VERSION) {
+            throw new IOException("Versão de codec não suportada: " + version);
+        }
+
+        Object value;
+        byte valueType = reader.readByte();
+        switch (valueType) {
+            case TYPE_CACHED_CEP_RESPONSE -> {
+                long cachedAt = reader.readFixedLong();
+                long softExpiresAt = cachedAt + reader.readVarLong();
+                long hardExpiresAt = cachedAt + reader.readVarLong();
+                value = new CachedCepResponse(readCepResponse(reader), cachedAt, softExpiresAt, hardExpiresAt);
+            }
+            case TYPE_CEP_RESPONSE -> value = readCepResponse(reader);
+            case TYPE_LONG -> value = reader.readFixedLong();
+            default -> throw new IOException("Tipo de valor desconhecido no cache: " + valueType);
+        }
+
+        if (!type.isInstance(value)) {
+            throw new IOException("Valor do cache não é do tipo " + type.getSimpleName());
+        }
+        return type.cast(value);
+    }
+
+    private static Writer header(byte valueType) {
+        Writer writer = new Writer();
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeByte(valueType);
+        return writer;
+    }
+
+    private static void writeCepResponse(Writer writer, CepResponse response) {
+        if (response == null) {
+            writer.writeByte((byte) 0);
+            return;
+        }
+        writer.writeByte(response.getErro() == null ? (byte) 1 : response.getErro() ? (byte) 3 : (byte) 2);
+        writeField(writer, response.getCep(), null);
+        writeField(writer, response.getStreet(), null);
+        writeField(writer, response.getComplement(), null);
+        writeField(writer, response.getNeighborhood(), null);
+        writeField(writer, response.getCity(), CITY_INDEX);
+        writeField(writer, response.getState(), STATE_INDEX);
+        writeField(writer, response.getIbgeCode(), null);
+        writeField(writer, response.getGiaCode(), null);
+        writeField(writer, response.getAreaCode(), null);
+        writeField(writer, response.getSiafiCode(), null);
+    }
+
+    private static CepResponse readCepResponse(Reader reader) throws IOException {
+        byte presence = reader.readByte();
+        if (presence == 0) {
+            return null;
+        }
+        return CepResponse.builder()
+                .erro(presence == 1 ? null : presence == 3)
+                .cep(readField(reader, null))
+                .street(readField(reader, null))
+                .complement(readField(reader, null))
+                .neighborhood(readField(reader, null))
+                .city(readField(reader, CITIES))
+                .state(readField(reader, STATES))
+                .ibgeCode(readField(reader, null))
+                .giaCode(readField(reader, null))
+                .areaCode(readField(reader, null))
+                .siafiCode(readField(reader, null))
+                .build();
+    }
+
+    private static void writeField(Writer writer, String value, Map<String, Integer> dictionary) {
+        if (value == null) {
+            writer.writeByte(FIELD_NULL);
+        } else if (value.isEmpty()) {
+            writer.writeByte(FIELD_EMPTY);
+        } else if (dictionary != null && dictionary.containsKey(value)) {
+            writer.writeByte(FIELD_DICTIONARY);
+            writer.writeByte(dictionary.get(value).byteValue());
+        } else if (isDigits(value)) {
+            writer.writeByte(FIELD_DIGITS);
+            writer.writeByte((byte) value.length());
+            writer.writeVarLong(parseDigits(value));
+        } else {
+            writer.writeByte(FIELD_UTF8);
+            writer.writeUtf8(value);
+        }
+    }
+
+    private static String readField(Reader reader, String[] dictionary) throws IOException {
+        byte tag = reader.readByte();
+        switch (tag) {
+            case FIELD_NULL:
+                return null;
+            case FIELD_EMPTY:
+                return "";
+            case FIELD_DICTIONARY:
+                int index = reader.readByte() & 0xFF;
+                if (dictionary == null || index >= dictionary.length) {
+                    throw new IOException("Índice de dicionário inválido: " + index);
+                }
+                return dictionary[index];
+            case FIELD_DIGITS:
+                return formatDigits(reader.readByte(), reader.readVarLong());
+            case FIELD_UTF8:
+                return reader.readUtf8();
+            default:
+                throw new IOException("Tag de campo desconhecida: " + tag);
+        }
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.length() > MAX_DIGITS) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseDigits(String value) {
+        long result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    // Recompõe os zeros à esquerda a partir da largura gravada
+    private static String formatDigits(int width, long value) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(digits);
+    }
+
+    private static Map<String, Integer> index(String[] values) {
+        Map<String, Integer> index = new HashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            index.put(values[i], i);
+        }
+        return index;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[position++] = value;
+        }
+
+        void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        // Codifica UTF-8 direto no buffer, sem o byte[] intermediário de String.getBytes
+        void writeUtf8(String value) {
+            int length = value.length();
+            writeVarLong(utf8Length(value));
+            ensureCapacity(length * 3);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | (c >> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (isSurrogatePair(value, i)) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    buffer[position++] = (byte) (0xE0 | (c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private static int utf8Length(String value) {
+            int bytes = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (isSurrogatePair(value, i)) {
+                    bytes += 4;
+                    i++;
+                } else {
+                    bytes += 3;
+                }
+            }
+            return bytes;
+        }
+
+        private static boolean isSurrogatePair(String value, int index) {
+            return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(index + 1));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        void skip(int bytes) throws IOException {
+            require(bytes);
+            position += bytes;
+        }
+
+        byte readByte() throws IOException {
+            require(1);
+            return data[position++];
+        }
+
+        long readFixedLong() throws IOException {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Varint malformado no cache");
+        }
+
+        String readUtf8() throws IOException {
+            int length = (int) readVarLong();
+            require(length);
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int bytes) throws IOException {
+            if (bytes < 0 || position + bytes > data.length) {
+                throw new EOFException("Valor do cache truncado");
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import java.io.IOException;
+
+// Formato dos valores gravados no Redis, selecionado por app.cep-service.cache.codec
+public interface CacheCodec {
+    byte[] encode(Object value) throws IOException;
+
+    <T> T decode(byte[] data, Class<T> type) throws IOException;
+}
@@ -0,0 +1,34 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+/**
+ * Chave numérica do CEP: os 8 dígitos cabem em um int (até 99.999.999, 27 bits),
+ * o que permite indexar sem String nem boxing.
+ */
+public final class CepKey {
+
+    public static final int DIGITS = 8;
+    public static final int INVALID = -1;
+
+    private CepKey() {
+    }
+
+    public static int parse(CharSequence cep) {
+        return cep == null ? INVALID : parse(cep, 0);
+    }
+
+    // Lê exatamente 8 dígitos a partir do offset, sem alocar; INVALID se houver qualquer outro caractere
+    public static int parse(CharSequence value, int offset) {
+        if (value.length() - offset != DIGITS) {
+            return INVALID;
+        }
+        int key = 0;
+        for (int i = offset; i < offset + DIGITS; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            key = key * 10 + digit;
+        }
+        return key;
+    }
+}
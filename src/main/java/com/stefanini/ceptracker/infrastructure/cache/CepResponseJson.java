@@ -0,0 +1,78 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.EncodedCepResponse;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers.Stage;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * JSON de uma {@link CepResponse} serializado uma única vez e memorizado na própria
+ * instância, que é a mantida pelo cache L1, como um {@link EncodedCepResponse} imutável:
+ * os hits seguintes reutilizam os mesmos bytes como corpo da resposta HTTP e como payload
+ * da auditoria, sem passar pelo Jackson. O SHA-256 desses bytes identifica o payload na
+ * auditoria e, entre aspas, é o ETag.
+ */
+@Component
+public class CepResponseJson {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ObjectMapper objectMapper;
+    private final StageTimers stageTimers;
+
+    public CepResponseJson(ObjectMapper objectMapper, StageTimers stageTimers) {
+        this.objectMapper = objectMapper;
+        this.stageTimers = stageTimers;
+    }
+
+    // Serializa e calcula o hash na primeira chamada; as seguintes devolvem o mesmo holder
+    public EncodedCepResponse encode(CepResponse response) {
+        EncodedCepResponse encoded = response.getEncoded();
+        if (encoded == null) {
+            long start = stageTimers.start();
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(response);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException("Erro ao serializar resposta para JSON", e);
+            }
+            stageTimers.record(Stage.RESPONSE_SERIALIZE, start);
+            String hash = hashOf(json);
+            // ETag forte: os mesmos bytes JSON têm o mesmo ETag em qualquer instância e tier de cache
+            encoded = new EncodedCepResponse(json, hash, '"' + hash + '"');
+            // Threads concorrentes podem calcular o mesmo holder; qualquer um deles serve
+            response.setEncoded(encoded);
+        }
+        return encoded;
+    }
+
+    // Os bytes são compartilhados entre requisições e não devem ser alterados
+    public byte[] toJson(CepResponse response) {
+        return encode(response).getJson();
+    }
+
+    public String payloadHash(CepResponse response) {
+        return encode(response).getHash();
+    }
+
+    public String etag(CepResponse response) {
+        return encode(response).getEtag();
+    }
+
+    public static String hashOf(byte[] json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
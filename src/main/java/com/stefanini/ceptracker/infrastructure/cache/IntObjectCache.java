@@ -0,0 +1,240 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache limitado com chave int primitiva: endereçamento aberto com sondagem linear em
+ * arrays paralelos (chave, valor, prazo, bit de referência), sem nós por entrada nem
+ * boxing. É dividido em segmentos com {@link StampedLock}; leituras usam leitura otimista
+ * e só bloqueiam se houver escrita concorrente. Ao atingir o limite global (ou o dobro da
+ * cota do segmento, se as chaves se concentrarem nele), o segmento que recebe a escrita
+ * remove uma entrada expirada ou não lida desde a última volta do ponteiro (CLOCK).
+ * Chaves devem ser não negativas.
+ */
+public final class IntObjectCache<V> {
+
+    private static final int EMPTY = 0;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments;
+    private final long maximumSize;
+    private final AtomicLong size = new AtomicLong();
+    private final int segmentShift;
+    private final int ttlSeconds;
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final Runnable evictionListener;
+
+    public IntObjectCache(long maximumSize, long ttlSeconds, Runnable evictionListener) {
+        this(maximumSize, ttlSeconds, evictionListener, System::nanoTime);
+    }
+
+    IntObjectCache(long maximumSize, long ttlSeconds, Runnable evictionListener, LongSupplier nanoTime) {
+        if (maximumSize <= 0 || maximumSize > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("maximumSize fora do intervalo suportado: " + maximumSize);
+        }
+        int segmentCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4));
+        while (segmentCount > 1 && maximumSize / segmentCount < MIN_SEGMENT_CAPACITY) {
+            segmentCount >>>= 1;
+        }
+        int segmentShare = (int) ((maximumSize + segmentCount - 1) / segmentCount);
+        int segmentMaxSize = segmentCount == 1 ? segmentShare : segmentShare * 2;
+
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+        this.maximumSize = maximumSize;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.ttlSeconds = (int) Math.min(ttlSeconds, Integer.MAX_VALUE / 2);
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+        this.evictionListener = evictionListener;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        int now = now();
+
+        long stamp = segment.lock.tryOptimisticRead();
+        Object value = segment.find(key + 1, hash, now);
+        if (!segment.lock.validate(stamp)) {
+            stamp = segment.lock.readLock();
+            try {
+                value = segment.find(key + 1, hash, now);
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return (V) value;
+    }
+
+    public void put(int key, V value) {
+        if (key < 0 || value == null) {
+            throw new IllegalArgumentException("Chave negativa ou valor nulo");
+        }
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        int now = now();
+
+        long stamp = segment.lock.writeLock();
+        try {
+            int added = segment.put(key + 1, hash, value, now + ttlSeconds, now, size.get() >= maximumSize);
+            if (added == 0) {
+                evictionListener.run();
+            } else if (added == 1) {
+                size.incrementAndGet();
+            }
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    private Segment segmentFor(int hash) {
+        return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private int now() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(nanoTime.getAsLong() - origin);
+    }
+
+    // Finalizador do MurmurHash3: espalha chaves sequenciais (CEPs vizinhos) pela tabela
+    private static int hash(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static final class Segment {
+
+        final StampedLock lock = new StampedLock();
+        // Chave + 1, para que 0 marque posição vazia e o CEP 00000000 continue válido
+        final int[] keys;
+        final Object[] values;
+        final int[] deadlines;
+        final byte[] referenced;
+        final int mask;
+        final int maxSize;
+        int size;
+        int hand;
+
+        Segment(int maxSize) {
+            // Fator de carga de no máximo 0,5 mantém as sequências de sondagem curtas
+            int capacity = Integer.highestOneBit(Math.max(MIN_SEGMENT_CAPACITY, maxSize) * 2 - 1) << 1;
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+            this.deadlines = new int[capacity];
+            this.referenced = new byte[capacity];
+            this.mask = capacity - 1;
+            this.maxSize = maxSize;
+        }
+
+        // Pode rodar sob leitura otimista: a sondagem é limitada e o resultado é validado pelo chamador
+        Object find(int storedKey, int hash, int now) {
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                int current = keys[index];
+                if (current == EMPTY) {
+                    return null;
+                }
+                if (current == storedKey) {
+                    if (deadlines[index] - now <= 0) {
+                        return null;
+                    }
+                    Object value = values[index];
+                    // Corrida benigna: o bit é só uma dica para a remoção
+                    referenced[index] = 1;
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        // Variação no número de entradas: 1 se inseriu, 0 se substituiu outra para abrir espaço, -1 se atualizou
+        int put(int storedKey, int hash, Object value, int deadline, int now, boolean full) {
+            int index = slotFor(storedKey, hash);
+            if (keys[index] == storedKey) {
+                values[index] = value;
+                deadlines[index] = deadline;
+                referenced[index] = 1;
+                return -1;
+            }
+
+            int added = 1;
+            if ((full && size > 0) || size >= maxSize) {
+                evictOne(now);
+                added = 0;
+                index = slotFor(storedKey, hash);
+            }
+            keys[index] = storedKey;
+            values[index] = value;
+            deadlines[index] = deadline;
+            referenced[index] = 0;
+            size++;
+            return added;
+        }
+
+        private int slotFor(int storedKey, int hash) {
+            int index = hash & mask;
+            while (keys[index] != EMPTY && keys[index] != storedKey) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private void evictOne(int now) {
+            while (true) {
+                int index = hand;
+                hand = (hand + 1) & mask;
+                if (keys[index] == EMPTY) {
+                    continue;
+                }
+                if (deadlines[index] - now <= 0 || referenced[index] == 0) {
+                    delete(index);
+                    return;
+                }
+                referenced[index] = 0;
+            }
+        }
+
+        // Remoção por deslocamento para trás: mantém as sequências de sondagem sem lápides
+        private void delete(int index) {
+            int hole = index;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (keys[next] == EMPTY) {
+                    break;
+                }
+                int home = hash(keys[next] - 1) & mask;
+                boolean canMove = hole <= next
+                        ? home <= hole || home > next
+                        : home <= hole && home > next;
+                if (canMove) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    deadlines[hole] = deadlines[next];
+                    referenced[hole] = referenced[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+            values[hole] = null;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Codec original: JSON do Jackson, lido e escrito direto em byte[]
+@Component
+@ConditionalOnProperty(name = "app.cep-service.cache.codec", havingValue = "json")
+@RequiredArgsConstructor
+public class JsonCacheCodec implements CacheCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return objectMapper.readValue(data, type);
+    }
+}
@@ -0,0 +1,98 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tier L1 em memória compartilhado pelos serviços de cache bloqueante e reativo, na
+ * frente do Redis. Chaves de CEP ({@code cep:<8 dígitos>} e {@code cep:notfound:<8 dígitos>})
+ * ficam em um {@link IntObjectCache} indexado pelo CEP numérico; as demais, no Caffeine (W-TinyLFU).
+ */
+@Component
+public class NearCache {
+
+    private static final String CEP_PREFIX = "cep:";
+    private static final String NOT_FOUND_PREFIX = "cep:notfound:";
+    // O CEP ocupa 27 bits; o bit 27 separa as entradas do cache negativo
+    private static final int NOT_FOUND_FLAG = 1 << 27;
+
+    private final boolean enabled;
+    private final IntObjectCache<Object> cepCache;
+    private final Cache<String, Object> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public NearCache(MeterRegistry meterRegistry,
+            @Value("${app.cep-service.cache.l1.enabled:true}") boolean enabled,
+            @Value("${app.cep-service.cache.l1.maximum-size:10000}") long maximumSize,
+            @Value("${app.cep-service.cache.l1.ttl:${app.cep-service.cache.ttl:3600}}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.hitCounter = Counter.builder("cep.cache.l1.hits")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("cep.cache.l1.misses")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("cep.cache.l1.evictions")
+                .register(meterRegistry);
+
+        this.cepCache = new IntObjectCache<>(maximumSize, ttlSeconds, evictionCounter::increment);
+        Gauge.builder("cep.cache.l1.size", cepCache, IntObjectCache::size)
+                .register(meterRegistry);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .executor(Runnable::run)
+                .removalListener((String key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictionCounter.increment();
+                    }
+                })
+                .build();
+    }
+
+    public <T> T get(String key, Class<T> type) {
+        if (!enabled) {
+            return null;
+        }
+        int cepKey = cepKey(key);
+        Object value = cepKey == CepKey.INVALID ? cache.getIfPresent(key) : cepCache.get(cepKey);
+        if (type.isInstance(value)) {
+            hitCounter.increment();
+            return type.cast(value);
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    public void put(String key, Object value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        int cepKey = cepKey(key);
+        if (cepKey == CepKey.INVALID) {
+            cache.put(key, value);
+        } else {
+            cepCache.put(cepKey, value);
+        }
+    }
+
+    static int cepKey(String key) {
+        if (key.startsWith(NOT_FOUND_PREFIX)) {
+            int cep = CepKey.parse(key, NOT_FOUND_PREFIX.length());
+            return cep == CepKey.INVALID ? CepKey.INVALID : cep | NOT_FOUND_FLAG;
+        }
+        if (key.startsWith(CEP_PREFIX)) {
+            return CepKey.parse(key, CEP_PREFIX.length());
+        }
+        return CepKey.INVALID;
+    }
+}
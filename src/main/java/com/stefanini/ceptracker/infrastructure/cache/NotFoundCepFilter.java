@@ -0,0 +1,111 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom em memória com os CEPs já vistos como inexistentes. Um "não" é
+ * definitivo e dispensa a consulta ao cache negativo; um "talvez" ainda precisa ser
+ * confirmado nele. Quando passa da capacidade prevista o filtro é zerado; o
+ * {@link NotFoundCepFilterLoader} o recarrega a partir das chaves vivas no Redis.
+ */
+@Component
+@Slf4j
+public class NotFoundCepFilter {
+
+    private final long expectedInsertions;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLongArray bits;
+    private final AtomicLong insertions = new AtomicLong();
+    private final Counter rejectionCounter;
+
+    public NotFoundCepFilter(MeterRegistry meterRegistry,
+            @Value("${app.cep-service.cache.negative.filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${app.cep-service.cache.negative.filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.expectedInsertions = expectedInsertions;
+        // Dimensionamento clássico: m = -n ln(p) / ln(2)^2 e k = m/n ln(2)
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((optimalBits + 63) >>> 6));
+        this.bitCount = (long) bits.length() << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.rejectionCounter = Counter.builder("cep.cache.negative.filter.rejections")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String cep) {
+        long hash = hash(cep);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                rejectionCounter.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Só conta como inserção o CEP que ligou algum bit: recargas repetidas não zeram o filtro
+    public void put(String cep) {
+        if (setBits(cep) && insertions.incrementAndGet() > expectedInsertions) {
+            clear();
+            setBits(cep);
+        }
+    }
+
+    private boolean setBits(String cep) {
+        long hash = hash(cep);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+            changed |= (current & mask) == 0;
+        }
+        return changed;
+    }
+
+    private void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0L);
+        }
+        insertions.set(1);
+        log.info("Filtro de CEPs inexistentes atingiu {} inserções e foi reiniciado", expectedInsertions);
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // Mistura final do MurmurHash3 sobre os caracteres do CEP
+    private static long hash(String cep) {
+        long h = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            h = h * 31 + cep.charAt(i);
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,68 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recarrega o {@link NotFoundCepFilter} com as chaves do cache negativo no Redis. O filtro
+ * só conhece o que a própria instância gravou; sem a recarga, ele nasce vazio após um
+ * restart, ignora o que as outras instâncias gravaram e esquece tudo quando é zerado, e
+ * nesses casos o "não" do filtro manda para a API externa um CEP já sabido inexistente.
+ * A varredura usa SCAN, sem bloquear o Redis, na subida e a cada {@code reload-interval-ms}.
+ */
+@Component
+@Slf4j
+public class NotFoundCepFilterLoader {
+
+    static final String NOT_FOUND_KEY_PREFIX = "cep:notfound:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotFoundCepFilter notFoundFilter;
+    private final boolean negativeCacheEnabled;
+    private final int scanCount;
+
+    public NotFoundCepFilterLoader(StringRedisTemplate redisTemplate,
+            NotFoundCepFilter notFoundFilter,
+            @Value("${app.cep-service.cache.negative.enabled:true}") boolean negativeCacheEnabled,
+            @Value("${app.cep-service.cache.negative.filter.scan-count:1000}") int scanCount) {
+        this.redisTemplate = redisTemplate;
+        this.notFoundFilter = notFoundFilter;
+        this.negativeCacheEnabled = negativeCacheEnabled;
+        this.scanCount = scanCount;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cep-service.cache.negative.filter.reload-interval-ms:60000}",
+            initialDelayString = "${app.cep-service.cache.negative.filter.reload-interval-ms:60000}")
+    public void reload() {
+        if (!negativeCacheEnabled) {
+            return;
+        }
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(NOT_FOUND_KEY_PREFIX + "*")
+                .count(scanCount)
+                .build();
+        long keys = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                notFoundFilter.put(cursor.next().substring(NOT_FOUND_KEY_PREFIX.length()));
+                keys++;
+            }
+            log.debug("Filtro de CEPs inexistentes recarregado com {} chaves do Redis", keys);
+        } catch (RuntimeException e) {
+            // Sem o Redis o cache negativo também está fora; o filtro segue com o que já tinha
+            log.warn("Erro ao recarregar o filtro de CEPs inexistentes após {} chaves: {}", keys, e.getMessage());
+        }
+    }
+}
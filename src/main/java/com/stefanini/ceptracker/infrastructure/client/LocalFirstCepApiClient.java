@@ -0,0 +1,34 @@
+package com.stefanini.ceptracker.infrastructure.client;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.dataset.CepSnapshotStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolve o CEP no snapshot local quando disponível, sem I/O de rede; CEPs ausentes
+ * do snapshot seguem para a API externa pela camada de resiliência.
+ */
+@Component
+@Primary
+public class LocalFirstCepApiClient implements ReactiveCepApiClient {
+
+    private final CepSnapshotStore snapshotStore;
+    private final ReactiveCepApiClient delegate;
+
+    public LocalFirstCepApiClient(CepSnapshotStore snapshotStore,
+            @Qualifier("resilientCepApiClient") ReactiveCepApiClient delegate) {
+        this.snapshotStore = snapshotStore;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<CepResponse> findCep(String cep) {
+        return Mono.defer(() -> {
+            CepResponse local = snapshotStore.find(cep);
+            return local != null ? Mono.just(local) : delegate.findCep(cep);
+        });
+    }
+}
@@ -0,0 +1,8 @@
+package com.stefanini.ceptracker.infrastructure.client;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCepApiClient {
+    Mono<CepResponse> findCep(String cep);
+}
@@ -0,0 +1,65 @@
+package com.stefanini.ceptracker.infrastructure.client;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@Slf4j
+public class ReactiveCepApiClientImpl implements ReactiveCepApiClient {
+
+    private final WebClient cepApiWebClient;
+    private final StageTimers stageTimers;
+    private final Duration timeout;
+
+    public ReactiveCepApiClientImpl(WebClient cepApiWebClient,
+            StageTimers stageTimers,
+            @Value("${app.cep-service.external-api.timeout:5000}") int timeoutMs) {
+        this.cepApiWebClient = cepApiWebClient;
+        this.stageTimers = stageTimers;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public Mono<CepResponse> findCep(String cep) {
+        return Mono.defer(() -> {
+            long start = stageTimers.start();
+            return cepApiWebClient
+                    .get()
+                    .uri("/ws/{cep}/json/", cep)
+                    .retrieve()
+                    .toEntity(CepResponse.class)
+                    .timeout(timeout)
+                    .doOnNext(entity -> stageTimers.recordUpstream(start, "success", entity.getStatusCode().value()))
+                    .doOnError(e -> recordFailure(start, e))
+                    .mapNotNull(HttpEntity::getBody);
+        }).onErrorMap(e -> e instanceof WebClientException || e instanceof TimeoutException, e -> {
+            log.error("Erro ao consultar CEP {} na API externa: {}", cep, e.getMessage());
+            return new CepApiException("Erro ao consultar CEP na API externa", e);
+        });
+    }
+
+    private void recordFailure(long start, Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            stageTimers.recordUpstream(start, "http_error", responseException.getStatusCode().value());
+        } else {
+            stageTimers.recordUpstream(start, isTimeout(e) ? "timeout" : "error", 0);
+        }
+    }
+
+    // Prazo total do Reactor ou timeout de leitura/escrita do Netty
+    private static boolean isTimeout(Throwable e) {
+        return e instanceof TimeoutException || e.getCause() instanceof io.netty.handler.timeout.TimeoutException;
+    }
+}
@@ -0,0 +1,137 @@
+package com.stefanini.ceptracker.infrastructure.client;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camada de resiliência na frente da API externa: retry com jitter, circuit breaker,
+ * requisições hedged opcionais e bulkhead limitando chamadas simultâneas.
+ */
+@Component
+@Slf4j
+public class ResilientCepApiClient implements ReactiveCepApiClient {
+
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long HEDGE_MIN_SAMPLES = 20;
+
+    private final ReactiveCepApiClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final boolean hedgingEnabled;
+    private final long hedgeMinDelayNanos;
+    private final long hedgeDefaultDelayNanos;
+    private final Timer attemptTimer;
+    private final Counter hedgedCounter;
+    private final Counter shortCircuitCounter;
+
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayComputedAt;
+
+    public ResilientCepApiClient(@Qualifier("reactiveCepApiClientImpl") ReactiveCepApiClient delegate,
+            CircuitBreaker cepApiCircuitBreaker,
+            Bulkhead cepApiBulkhead,
+            Retry cepApiRetry,
+            MeterRegistry meterRegistry,
+            @Value("${app.cep-service.external-api.resilience.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${app.cep-service.external-api.resilience.hedging.min-delay:50}") long hedgeMinDelayMs,
+            @Value("${app.cep-service.external-api.resilience.hedging.default-delay:300}") long hedgeDefaultDelayMs) {
+        this.delegate = delegate;
+        this.circuitBreaker = cepApiCircuitBreaker;
+        this.bulkhead = cepApiBulkhead;
+        this.retry = cepApiRetry;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMs);
+        this.hedgeDefaultDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDefaultDelayMs);
+        this.hedgeDelayNanos = hedgeDefaultDelayNanos;
+        this.attemptTimer = Timer.builder("cep.upstream.attempts")
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        this.hedgedCounter = Counter.builder("cep.upstream.hedged")
+                .register(meterRegistry);
+        this.shortCircuitCounter = Counter.builder("cep.upstream.short.circuited")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<CepResponse> findCep(String cep) {
+        Mono<CepResponse> call = hedgingEnabled ? hedged(cep) : attempt(cep);
+
+        return call
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .onErrorMap(this::isRejection, e -> {
+                    shortCircuitCounter.increment();
+                    log.warn("Consulta do CEP {} rejeitada pela camada de resiliência: {}", cep, e.getMessage());
+                    return new CepApiException("API externa indisponível no momento", e);
+                });
+    }
+
+    // Segunda tentativa disparada após o p95 recente, se a primeira ainda não respondeu
+    private Mono<CepResponse> hedged(String cep) {
+        Mono<CepResponse> hedge = Mono.delay(Duration.ofNanos(currentHedgeDelayNanos()))
+                .then(Mono.defer(() -> {
+                    hedgedCounter.increment();
+                    log.debug("Disparando requisição hedged para o CEP {}", cep);
+                    return attempt(cep);
+                }));
+
+        return Mono.firstWithValue(attempt(cep), hedge)
+                .onErrorMap(NoSuchElementException.class,
+                        e -> new CepApiException("Erro ao consultar CEP na API externa", e));
+    }
+
+    private Mono<CepResponse> attempt(String cep) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.findCep(cep)
+                    .doOnSuccess(response -> attemptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        }).transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+    private long currentHedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayComputedAt > HEDGE_DELAY_REFRESH_NANOS) {
+            hedgeDelayComputedAt = now;
+            hedgeDelayNanos = Math.max(hedgeMinDelayNanos, p95Nanos());
+        }
+        return hedgeDelayNanos;
+    }
+
+    private long p95Nanos() {
+        if (attemptTimer.count() < HEDGE_MIN_SAMPLES) {
+            return hedgeDefaultDelayNanos;
+        }
+        for (ValueAtPercentile percentile : attemptTimer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                return (long) percentile.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        return hedgeDefaultDelayNanos;
+    }
+
+    private boolean isRejection(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+    }
+}
@@ -0,0 +1,17 @@
+package com.stefanini.ceptracker.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// A tabela particionada precisa existir antes de o Hibernate validar ou atualizar o schema
+@Configuration
+@ConditionalOnProperty(name = "app.audit.partitioning.enabled", havingValue = "true")
+public class AuditPartitioningConfig {
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor auditPartitionManagerDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("auditPartitionManager");
+    }
+}
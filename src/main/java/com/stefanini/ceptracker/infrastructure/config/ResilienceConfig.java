@@ -0,0 +1,100 @@
+package com.stefanini.ceptracker.infrastructure.config;
+
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Circuit breaker, bulkhead e retry da API externa, com métricas resilience4j.* no Micrometer
+@Configuration
+@Slf4j
+public class ResilienceConfig {
+
+    public static final String CEP_API = "cep-api";
+
+    @Bean
+    public CircuitBreaker cepApiCircuitBreaker(MeterRegistry meterRegistry,
+            @Value("${app.cep-service.external-api.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${app.cep-service.external-api.resilience.circuit-breaker.slow-call-duration-threshold:3000}") long slowCallDurationMs,
+            @Value("${app.cep-service.external-api.resilience.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${app.cep-service.external-api.resilience.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${app.cep-service.external-api.resilience.circuit-breaker.wait-duration-in-open-state:10000}") long waitDurationInOpenStateMs,
+            @Value("${app.cep-service.external-api.resilience.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofMillis(waitDurationInOpenStateMs))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                // Rejeição do bulkhead não indica falha da API externa
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(CEP_API);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Circuit breaker da API externa: {}", event.getStateTransition());
+            Counter.builder("cep.upstream.circuit.transitions")
+                    .tag("from", event.getStateTransition().getFromState().name())
+                    .tag("to", event.getStateTransition().getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead cepApiBulkhead(MeterRegistry meterRegistry,
+            @Value("${app.cep-service.external-api.resilience.bulkhead.max-concurrent-calls:100}") int maxConcurrentCalls) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(CEP_API);
+    }
+
+    @Bean
+    public Retry cepApiRetry(MeterRegistry meterRegistry,
+            @Value("${app.cep-service.external-api.resilience.retry.max-attempts:2}") int maxAttempts,
+            @Value("${app.cep-service.external-api.resilience.retry.wait-duration:100}") long waitDurationMs,
+            @Value("${app.cep-service.external-api.resilience.retry.randomization-factor:0.5}") double randomizationFactor) {
+        RetryConfig config = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                // Backoff exponencial com jitter para não sincronizar as novas tentativas
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        Duration.ofMillis(waitDurationMs), 2.0, randomizationFactor))
+                .retryExceptions(CepApiException.class)
+                .ignoreExceptions(CallNotPermittedException.class, BulkheadFullException.class)
+                .build();
+
+        RetryRegistry registry = RetryRegistry.of(config);
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry.retry(CEP_API);
+    }
+}
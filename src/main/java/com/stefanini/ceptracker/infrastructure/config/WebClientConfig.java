@@ -1,8 +1,16 @@
 package com.stefanini.ceptracker.infrastructure.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
@@ -11,4 +19,49 @@ public class WebClientConfig {
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
-}
\ No newline at end of file
+
+    // Pool de conexões dedicado à API externa; metrics(true) publica reactor.netty.connection.provider.* no Micrometer
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider cepApiConnectionProvider(
+            @Value("${app.cep-service.external-api.pool.max-connections:200}") int maxConnections,
+            @Value("${app.cep-service.external-api.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${app.cep-service.external-api.pool.pending-acquire-timeout:2000}") long pendingAcquireTimeoutMs,
+            @Value("${app.cep-service.external-api.pool.max-idle-time:30000}") long maxIdleTimeMs,
+            @Value("${app.cep-service.external-api.pool.max-life-time:300000}") long maxLifeTimeMs,
+            @Value("${app.cep-service.external-api.pool.evict-interval:30000}") long evictIntervalMs) {
+        return ConnectionProvider.builder("cep-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                .metrics(true)
+                .build();
+    }
+
+    // WebClient pré-construído para a API externa: evita alocação e handshake TCP/TLS por requisição
+    @Bean
+    public WebClient cepApiWebClient(WebClient.Builder webClientBuilder,
+            ConnectionProvider cepApiConnectionProvider,
+            @Value("${app.cep-service.external-api.base-url}") String baseUrl,
+            @Value("${app.cep-service.external-api.connect-timeout:2000}") int connectTimeoutMs,
+            @Value("${app.cep-service.external-api.read-timeout:5000}") long readTimeoutMs,
+            @Value("${app.cep-service.external-api.http2:false}") boolean http2) {
+        HttpClient httpClient = HttpClient.create(cepApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                // Intervalo máximo entre leituras da resposta; o prazo total fica no ReactiveCepApiClientImpl
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
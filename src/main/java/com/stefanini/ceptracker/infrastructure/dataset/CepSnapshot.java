@@ -0,0 +1,141 @@
+package com.stefanini.ceptracker.infrastructure.dataset;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.cache.CepKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Snapshot imutável mapeado em memória: a consulta é uma busca binária sobre as chaves
+ * do índice, lidas direto do {@link MappedByteBuffer} com acessos absolutos (thread-safe).
+ * As tabelas de cidades e UFs são carregadas e internadas na abertura.
+ */
+public final class CepSnapshot {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int keysOffset;
+    private final int offsetsOffset;
+    private final String[] cities;
+    private final String[] states;
+
+    private CepSnapshot(Path path, MappedByteBuffer buffer, int recordCount, int indexOffset,
+            String[] cities, String[] states) {
+        this.path = path;
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+        this.keysOffset = indexOffset;
+        this.offsetsOffset = indexOffset + recordCount * Integer.BYTES;
+        this.cities = cities;
+        this.states = states;
+    }
+
+    public static CepSnapshot open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot maior que 2GB: " + path);
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < CepSnapshotFormat.HEADER_SIZE || buffer.getInt(0) != CepSnapshotFormat.MAGIC) {
+            throw new IOException("Arquivo não é um snapshot de CEP: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != CepSnapshotFormat.VERSION) {
+            throw new IOException("Versão de snapshot não suportada: " + version);
+        }
+        int recordCount = buffer.getInt(8);
+        int indexOffset = (int) buffer.getLong(16);
+        int tablesOffset = (int) buffer.getLong(24);
+
+        ByteBuffer tables = buffer.duplicate().position(tablesOffset);
+        String[] cities = readTable(tables);
+        String[] states = readTable(tables);
+        return new CepSnapshot(path, buffer, recordCount, indexOffset, cities, states);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public CepResponse find(String cep) {
+        int key = CepKey.parse(cep);
+        if (key == CepKey.INVALID) {
+            return null;
+        }
+
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midKey = buffer.getInt(keysOffset + mid * Integer.BYTES);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return readRecord(cep, buffer.getInt(offsetsOffset + mid * Integer.BYTES));
+            }
+        }
+        return null;
+    }
+
+    private CepResponse readRecord(String cep, int offset) {
+        int[] position = {offset + 3};
+        int city = buffer.getShort(offset) & 0xFFFF;
+        int state = buffer.get(offset + 2) & 0xFF;
+        return CepResponse.builder()
+                // Mesmo formato devolvido pela ViaCEP
+                .cep(cep.substring(0, 5) + "-" + cep.substring(5))
+                .city(cities[city])
+                .state(states[state])
+                .street(readString(position))
+                .complement(readString(position))
+                .neighborhood(readString(position))
+                .ibgeCode(readString(position))
+                .giaCode(readString(position))
+                .areaCode(readString(position))
+                .siafiCode(readString(position))
+                .build();
+    }
+
+    private String readString(int[] position) {
+        int length = buffer.getShort(position[0]) & 0xFFFF;
+        position[0] += 2;
+        if (length == CepSnapshotFormat.NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position[0], bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] readTable(ByteBuffer tables) {
+        String[] values = new String[tables.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            int length = tables.getShort() & 0xFFFF;
+            if (length == CepSnapshotFormat.NULL_LENGTH) {
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            tables.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8).intern();
+        }
+        return values;
+    }
+}
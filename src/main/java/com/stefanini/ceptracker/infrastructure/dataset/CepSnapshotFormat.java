@@ -0,0 +1,22 @@
+package com.stefanini.ceptracker.infrastructure.dataset;
+
+/**
+ * Layout do arquivo de snapshot (big-endian):
+ * <pre>
+ * cabeçalho  magic "CEPS" | versão | registros | reservado | offset do índice (long) | offset das tabelas (long)
+ * registros  cidade (u16) | uf (u8) | logradouro, complemento, bairro, ibge, gia, ddd, siafi (u16 tamanho + UTF-8)
+ * índice     chaves int[registros] ordenadas | offsets int[registros] dos registros
+ * tabelas    cidades e UFs: quantidade (int) + strings (u16 tamanho + UTF-8)
+ * </pre>
+ */
+final class CepSnapshotFormat {
+
+    static final int MAGIC = 0x43455053;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int NULL_LENGTH = 0xFFFF;
+    static final int MAX_STRING_LENGTH = 0xFFFE;
+
+    private CepSnapshotFormat() {
+    }
+}
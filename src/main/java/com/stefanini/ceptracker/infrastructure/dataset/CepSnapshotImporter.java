@@ -0,0 +1,293 @@
+package com.stefanini.ceptracker.infrastructure.dataset;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.cache.CepKey;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gera o arquivo de snapshot a partir de um dump CSV (cabeçalho com as colunas da ViaCEP:
+ * cep, logradouro, complemento, bairro, localidade, uf, ibge, gia, ddd, siafi) ou JSONL
+ * (um objeto da ViaCEP por linha). Os registros são gravados à medida que são lidos; em
+ * memória ficam só as chaves/offsets e os dicionários de cidades e UFs. O arquivo final
+ * substitui o destino com um move atômico, o que permite a troca a quente pelo {@link CepSnapshotStore}.
+ */
+@Slf4j
+public class CepSnapshotImporter {
+
+    private static final String[] CSV_COLUMNS = {
+            "cep", "logradouro", "complemento", "bairro", "localidade", "uf", "ibge", "gia", "ddd", "siafi"
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public CepSnapshotImporter() {
+        this(new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+    }
+
+    public CepSnapshotImporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Uso: java -cp cep-tracker.jar -Dloader.main=...CepSnapshotImporter org.springframework.boot.loader.launch.PropertiesLauncher <dump> <snapshot>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CepSnapshotImporter <arquivo CSV|JSONL> <snapshot de saída>");
+            System.exit(1);
+        }
+        int records = new CepSnapshotImporter().importFrom(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Snapshot gerado com " + records + " CEPs em " + args[1]);
+    }
+
+    public int importFrom(Path input, Path output) throws IOException {
+        Path absoluteOutput = output.toAbsolutePath();
+        Path temp = Files.createTempFile(absoluteOutput.getParent(), absoluteOutput.getFileName().toString(), ".tmp");
+        try {
+            int records;
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                records = write(reader, temp);
+            }
+            Files.move(temp, absoluteOutput, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Snapshot de CEPs gerado em {} com {} registros", absoluteOutput, records);
+            return records;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private int write(BufferedReader reader, Path target) throws IOException {
+        Builder builder = new Builder(target);
+        try {
+            String line = nextNonBlank(reader);
+            if (line != null && line.stripLeading().startsWith("{")) {
+                do {
+                    if (!line.isBlank()) {
+                        builder.add(objectMapper.readValue(line, CepResponse.class));
+                    }
+                } while ((line = reader.readLine()) != null);
+            } else if (line != null) {
+                int[] columns = csvColumns(parseCsvLine(line));
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        builder.add(fromCsv(parseCsvLine(line), columns));
+                    }
+                }
+            }
+            return builder.finish();
+        } finally {
+            builder.close();
+        }
+    }
+
+    private static String nextNonBlank(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null && line.isBlank()) {
+            // ignora linhas em branco no início do arquivo
+        }
+        return line;
+    }
+
+    private static int[] csvColumns(List<String> header) throws IOException {
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            columns[i] = header.indexOf(CSV_COLUMNS[i]);
+        }
+        if (columns[0] < 0) {
+            throw new IOException("Cabeçalho CSV sem a coluna 'cep'");
+        }
+        return columns;
+    }
+
+    private static CepResponse fromCsv(List<String> values, int[] columns) {
+        return CepResponse.builder()
+                .cep(column(values, columns[0]))
+                .street(column(values, columns[1]))
+                .complement(column(values, columns[2]))
+                .neighborhood(column(values, columns[3]))
+                .city(column(values, columns[4]))
+                .state(column(values, columns[5]))
+                .ibgeCode(column(values, columns[6]))
+                .giaCode(column(values, columns[7]))
+                .areaCode(column(values, columns[8]))
+                .siafiCode(column(values, columns[9]))
+                .build();
+    }
+
+    private static String column(List<String> values, int index) {
+        return index >= 0 && index < values.size() ? values.get(index) : null;
+    }
+
+    // Separador vírgula, campos opcionalmente entre aspas com "" como escape
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * Grava os registros sequencialmente após um cabeçalho provisório e, no fim,
+     * anexa índice e tabelas e preenche o cabeçalho.
+     */
+    private static final class Builder {
+
+        private final Path target;
+        private final DataOutputStream out;
+        private final Map<String, Integer> cities = new LinkedHashMap<>();
+        private final Map<String, Integer> states = new LinkedHashMap<>();
+        // Chave do CEP nos 32 bits altos, offset do registro nos 32 baixos
+        private long[] entries = new long[1024];
+        private int count;
+        private long position = CepSnapshotFormat.HEADER_SIZE;
+
+        Builder(Path target) throws IOException {
+            this.target = target;
+            OutputStream file = Files.newOutputStream(target, StandardOpenOption.TRUNCATE_EXISTING);
+            this.out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+            out.write(new byte[CepSnapshotFormat.HEADER_SIZE]);
+        }
+
+        void add(CepResponse response) throws IOException {
+            if (response == null || Boolean.TRUE.equals(response.getErro()) || response.getCep() == null) {
+                return;
+            }
+            int key = CepKey.parse(response.getCep().replace("-", "").trim());
+            if (key == CepKey.INVALID) {
+                return;
+            }
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot excede o limite de 2GB");
+            }
+
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, count * 2);
+            }
+            entries[count++] = ((long) key << 32) | position;
+
+            int start = out.size();
+            out.writeShort(intern(cities, response.getCity(), 0xFFFF));
+            out.writeByte(intern(states, response.getState(), 0xFF));
+            writeString(response.getStreet());
+            writeString(response.getComplement());
+            writeString(response.getNeighborhood());
+            writeString(response.getIbgeCode());
+            writeString(response.getGiaCode());
+            writeString(response.getAreaCode());
+            writeString(response.getSiafiCode());
+            // out.size() satura em Integer.MAX_VALUE; a posição absoluta é mantida à parte
+            position += out.size() - start;
+        }
+
+        int finish() throws IOException {
+            // Ordena por chave e, em chaves repetidas, mantém a última ocorrência do dump
+            Arrays.sort(entries, 0, count);
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                if (i + 1 < count && entries[i] >>> 32 == entries[i + 1] >>> 32) {
+                    continue;
+                }
+                entries[unique++] = entries[i];
+            }
+
+            long indexOffset = position;
+            for (int i = 0; i < unique; i++) {
+                out.writeInt((int) (entries[i] >>> 32));
+            }
+            for (int i = 0; i < unique; i++) {
+                out.writeInt((int) entries[i]);
+            }
+            long tablesOffset = indexOffset + (long) unique * 2 * Integer.BYTES;
+            writeTable(cities);
+            writeTable(states);
+            out.close();
+
+            ByteBuffer header = ByteBuffer.allocate(CepSnapshotFormat.HEADER_SIZE)
+                    .putInt(CepSnapshotFormat.MAGIC)
+                    .putInt(CepSnapshotFormat.VERSION)
+                    .putInt(unique)
+                    .putInt(0)
+                    .putLong(indexOffset)
+                    .putLong(tablesOffset)
+                    .flip();
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            return unique;
+        }
+
+        void close() throws IOException {
+            out.close();
+        }
+
+        private int intern(Map<String, Integer> table, String value, int maxId) throws IOException {
+            Integer id = table.get(value);
+            if (id == null) {
+                id = table.size();
+                if (id > maxId) {
+                    throw new IOException("Dicionário do snapshot excedeu " + (maxId + 1) + " entradas");
+                }
+                table.put(value, id);
+            }
+            return id;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeShort(CepSnapshotFormat.NULL_LENGTH);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, CepSnapshotFormat.MAX_STRING_LENGTH);
+            out.writeShort(length);
+            out.write(bytes, 0, length);
+        }
+
+        private void writeTable(Map<String, Integer> table) throws IOException {
+            out.writeInt(table.size());
+            for (String value : table.keySet()) {
+                writeString(value);
+            }
+        }
+    }
+}
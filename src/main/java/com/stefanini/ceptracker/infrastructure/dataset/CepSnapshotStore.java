@@ -0,0 +1,99 @@
+package com.stefanini.ceptracker.infrastructure.dataset;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fonte local de CEPs a partir do snapshot embarcado. O arquivo é verificado
+ * periodicamente e, se foi substituído, o novo snapshot é aberto e trocado
+ * atomicamente sem reiniciar a aplicação; consultas em andamento terminam no anterior.
+ * O arquivo deve ser substituído por rename (como faz o importador), nunca reescrito
+ * no lugar, já que o snapshot em uso está mapeado em memória.
+ */
+@Component
+@Slf4j
+public class CepSnapshotStore {
+
+    private final boolean enabled;
+    private final Path path;
+    private final AtomicReference<CepSnapshot> current = new AtomicReference<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private volatile FileTime loadedModifiedTime;
+
+    public CepSnapshotStore(MeterRegistry meterRegistry,
+            @Value("${app.cep-service.snapshot.enabled:false}") boolean enabled,
+            @Value("${app.cep-service.snapshot.path:data/ceps.snapshot}") String path) {
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.hitCounter = Counter.builder("cep.snapshot.hits")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("cep.snapshot.misses")
+                .register(meterRegistry);
+        Gauge.builder("cep.snapshot.records", current, ref -> ref.get() == null ? 0 : ref.get().size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (enabled) {
+            reloadIfChanged();
+        }
+    }
+
+    public CepResponse find(String cep) {
+        CepSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return null;
+        }
+        CepResponse response = snapshot.find(cep);
+        if (response != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cep-service.snapshot.reload-interval-ms:60000}",
+            initialDelayString = "${app.cep-service.snapshot.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!Files.isRegularFile(path)) {
+                if (current.get() == null) {
+                    log.warn("Snapshot de CEPs não encontrado em {}", path.toAbsolutePath());
+                }
+                return;
+            }
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            if (modifiedTime.equals(loadedModifiedTime)) {
+                return;
+            }
+            // O mapeamento anterior é liberado pelo GC quando não houver mais leitores
+            CepSnapshot snapshot = CepSnapshot.open(path);
+            current.set(snapshot);
+            loadedModifiedTime = modifiedTime;
+            log.info("Snapshot de CEPs carregado de {} com {} registros", path.toAbsolutePath(), snapshot.size());
+        } catch (IOException e) {
+            // Mantém o snapshot atual se o novo arquivo estiver inválido
+            log.error("Erro ao carregar snapshot de CEPs de {}: {}", path.toAbsolutePath(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.stefanini.ceptracker.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de cada etapa da consulta em Timers com histograma de percentis, exportados em
+ * /actuator/prometheus: cep.stage.latency{stage=...} e cep.upstream.latency{outcome,status}.
+ * {@link #start()} devolve {@link #NOT_SAMPLED} quando a medição está desligada ou a
+ * chamada ficou fora da amostra; nesse caso {@code record} não faz nada. Com amostragem,
+ * a contagem dos timers reflete só as chamadas medidas.
+ */
+@Component
+public class StageTimers {
+
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    // Faixa de 50µs (hit no Redis) a 10s (timeout da API externa) para as etapas de I/O
+    private static final Duration IO_MIN = Duration.ofNanos(50_000);
+    private static final Duration IO_MAX = Duration.ofSeconds(10);
+    // Codec binário e JSON memoizado ficam entre centenas de ns e poucos µs
+    private static final Duration CPU_MIN = Duration.ofNanos(100);
+    private static final Duration CPU_MAX = Duration.ofMillis(10);
+
+    public enum Stage {
+        CACHE_GET("cache_get", IO_MIN, IO_MAX),
+        CACHE_DESERIALIZE("cache_deserialize", CPU_MIN, CPU_MAX),
+        CACHE_SAVE("cache_save", IO_MIN, IO_MAX),
+        AUDIT_PERSIST("audit_persist", IO_MIN, IO_MAX),
+        RESPONSE_SERIALIZE("response_serialize", CPU_MIN, CPU_MAX);
+
+        private final String tag;
+        private final Duration minimumExpected;
+        private final Duration maximumExpected;
+
+        Stage(String tag, Duration minimumExpected, Duration maximumExpected) {
+            this.tag = tag;
+            this.minimumExpected = minimumExpected;
+            this.maximumExpected = maximumExpected;
+        }
+    }
+
+    private record UpstreamKey(String outcome, int status) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    private final ConcurrentMap<UpstreamKey, Timer> upstreamTimers = new ConcurrentHashMap<>();
+
+    public StageTimers(MeterRegistry meterRegistry,
+            @Value("${app.metrics.stages.enabled:true}") boolean enabled,
+            @Value("${app.metrics.stages.sample-rate:1.0}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled && sampleRate > 0;
+        this.sampleRate = sampleRate;
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, histogram(Timer.builder("cep.stage.latency").tag("stage", stage.tag),
+                    stage.minimumExpected, stage.maximumExpected));
+        }
+    }
+
+    public long start() {
+        if (!enabled || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    public void record(Stage stage, long start) {
+        if (start != NOT_SAMPLED) {
+            timers.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // outcome: success, http_error, timeout ou error; status 0 quando não houve resposta HTTP
+    public void recordUpstream(long start, String outcome, int status) {
+        if (start != NOT_SAMPLED) {
+            upstreamTimers.computeIfAbsent(new UpstreamKey(outcome, status), this::upstreamTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer upstreamTimer(UpstreamKey key) {
+        return histogram(Timer.builder("cep.upstream.latency")
+                .tag("outcome", key.outcome())
+                .tag("status", key.status() > 0 ? Integer.toString(key.status()) : "none"), IO_MIN, IO_MAX);
+    }
+
+    // A faixa esperada de cada etapa limita o número de buckets exportados sem jogar tudo no primeiro
+    private Timer histogram(Timer.Builder builder, Duration minimumExpected, Duration maximumExpected) {
+        return builder
+                .publishPercentileHistogram()
+                .minimumExpectedValue(minimumExpected)
+                .maximumExpectedValue(maximumExpected)
+                .register(meterRegistry);
+    }
+}
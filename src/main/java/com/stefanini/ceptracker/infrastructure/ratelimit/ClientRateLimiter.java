@@ -0,0 +1,228 @@
+package com.stefanini.ceptracker.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rate limiting por cliente (IP e API key) com token bucket. A decisão usa só o bucket
+ * local, sem ida ao Redis por requisição; a cada {@code sync-interval-ms} o consumo
+ * acumulado é enviado em lote a um script Lua atômico, que aplica o consumo de todas as
+ * instâncias ao bucket global e devolve o saldo que passa a valer em cada uma. Entre duas
+ * sincronizações, cada instância pode exceder o limite global em até uma rajada.
+ * Cada escopo guarda no máximo {@code max-buckets} clientes; acima disso, clientes novos
+ * dividem um único bucket de transbordo, para que IPs forjados ou API keys aleatórias não
+ * façam a memória e as chaves no Redis crescerem sem limite.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ClientRateLimiter {
+
+    public static final long ALLOWED = 0;
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    static final String OVERFLOW_CLIENT = "overflow";
+    private static final HexFormat HEX = HexFormat.of();
+
+    public enum Scope {
+        IP("ip"),
+        API_KEY("api_key");
+
+        private final String tag;
+
+        Scope(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<List> script;
+    private final int maxBuckets;
+    private final int syncBatchSize;
+    private final Map<Scope, Limit> limits = new EnumMap<>(Scope.class);
+    private final Map<Scope, ConcurrentMap<String, TokenBucket>> buckets = new EnumMap<>(Scope.class);
+    private final Map<Scope, Counter> allowedCounters = new EnumMap<>(Scope.class);
+    private final Map<Scope, Counter> rejectedCounters = new EnumMap<>(Scope.class);
+    private final Map<Scope, Counter> overflowCounters = new EnumMap<>(Scope.class);
+    private final Counter syncFailureCounter;
+
+    public ClientRateLimiter(StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.ip.capacity:100}") double ipCapacity,
+            @Value("${app.rate-limit.ip.refill-per-second:50}") double ipRefillPerSecond,
+            @Value("${app.rate-limit.api-key.capacity:500}") double apiKeyCapacity,
+            @Value("${app.rate-limit.api-key.refill-per-second:200}") double apiKeyRefillPerSecond,
+            @Value("${app.rate-limit.max-buckets:100000}") int maxBuckets,
+            @Value("${app.rate-limit.sync-batch-size:500}") int syncBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.script = RedisScript.of(new ClassPathResource("redis/token-bucket.lua"), List.class);
+        this.maxBuckets = maxBuckets;
+        this.syncBatchSize = syncBatchSize;
+        limits.put(Scope.IP, new Limit(ipCapacity, ipRefillPerSecond));
+        limits.put(Scope.API_KEY, new Limit(apiKeyCapacity, apiKeyRefillPerSecond));
+
+        for (Scope scope : Scope.values()) {
+            ConcurrentMap<String, TokenBucket> scopeBuckets = new ConcurrentHashMap<>();
+            buckets.put(scope, scopeBuckets);
+            allowedCounters.put(scope, decisionCounter(meterRegistry, scope, "allowed"));
+            rejectedCounters.put(scope, decisionCounter(meterRegistry, scope, "rejected"));
+            overflowCounters.put(scope, Counter.builder("cep.ratelimit.overflow")
+                    .tag("scope", scope.tag)
+                    .register(meterRegistry));
+            Gauge.builder("cep.ratelimit.buckets", scopeBuckets, Map::size)
+                    .tag("scope", scope.tag)
+                    .register(meterRegistry);
+        }
+        this.syncFailureCounter = Counter.builder("cep.ratelimit.sync.failures")
+                .register(meterRegistry);
+    }
+
+    // ALLOWED ou os nanossegundos até o cliente ter um token
+    public long tryAcquire(Scope scope, String client) {
+        long now = System.nanoTime();
+        long retryAfter = bucket(scope, client, now).tryAcquire(now);
+        (retryAfter == ALLOWED ? allowedCounters : rejectedCounters).get(scope).increment();
+        return retryAfter;
+    }
+
+    // Devolve o token de uma requisição liberada neste escopo e barrada em outro
+    public void refund(Scope scope, String client) {
+        ConcurrentMap<String, TokenBucket> scopeBuckets = buckets.get(scope);
+        TokenBucket bucket = scopeBuckets.get(client);
+        if (bucket == null) {
+            bucket = scopeBuckets.get(OVERFLOW_CLIENT);
+        }
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    private TokenBucket bucket(Scope scope, String client, long now) {
+        ConcurrentMap<String, TokenBucket> scopeBuckets = buckets.get(scope);
+        TokenBucket bucket = scopeBuckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        Limit limit = limits.get(scope);
+        // O limite é aproximado: criações concorrentes podem passar dele por poucas entradas
+        if (scopeBuckets.size() >= maxBuckets) {
+            overflowCounters.get(scope).increment();
+            client = OVERFLOW_CLIENT;
+        }
+        return scopeBuckets.computeIfAbsent(client, key -> new TokenBucket(limit.capacity, limit.refillPerSecond, now));
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sync-interval-ms:1000}",
+            initialDelayString = "${app.rate-limit.sync-interval-ms:1000}")
+    public void sync() {
+        for (Scope scope : Scope.values()) {
+            sync(scope);
+        }
+    }
+
+    private void sync(Scope scope) {
+        ConcurrentMap<String, TokenBucket> scopeBuckets = buckets.get(scope);
+        long now = System.nanoTime();
+        List<String> clients = new ArrayList<>();
+        List<Long> consumed = new ArrayList<>();
+        scopeBuckets.forEach((client, bucket) -> {
+            if (bucket.isIdle(now)) {
+                // Um bucket cheio vale o mesmo que um novo; a chave no Redis expira sozinha
+                scopeBuckets.remove(client, bucket);
+            } else {
+                clients.add(client);
+                consumed.add(bucket.drainUnsynced());
+            }
+        });
+
+        for (int from = 0; from < clients.size(); from += syncBatchSize) {
+            int to = Math.min(from + syncBatchSize, clients.size());
+            syncBatch(scope, clients.subList(from, to), consumed.subList(from, to));
+        }
+    }
+
+    private void syncBatch(Scope scope, List<String> clients, List<Long> consumed) {
+        Limit limit = limits.get(scope);
+        List<String> keys = new ArrayList<>(clients.size());
+        Object[] args = new Object[clients.size() + 2];
+        args[0] = Double.toString(limit.capacity);
+        args[1] = Double.toString(limit.refillPerSecond);
+        for (int i = 0; i < clients.size(); i++) {
+            keys.add(redisKey(scope, clients.get(i)));
+            args[i + 2] = Long.toString(consumed.get(i));
+        }
+
+        ConcurrentMap<String, TokenBucket> scopeBuckets = buckets.get(scope);
+        try {
+            List<?> remoteTokens = redisTemplate.execute(script, keys, args);
+            long now = System.nanoTime();
+            for (int i = 0; i < clients.size(); i++) {
+                TokenBucket bucket = scopeBuckets.get(clients.get(i));
+                if (bucket != null) {
+                    bucket.reconcile(Double.parseDouble(String.valueOf(remoteTokens.get(i))), now);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Sem o Redis o limite continua valendo por instância; o consumo segue para o próximo lote
+            for (int i = 0; i < clients.size(); i++) {
+                TokenBucket bucket = scopeBuckets.get(clients.get(i));
+                if (bucket != null) {
+                    bucket.restoreUnsynced(consumed.get(i));
+                }
+            }
+            syncFailureCounter.increment();
+            log.warn("Erro ao sincronizar {} buckets de rate limit com o Redis: {}", clients.size(), e.getMessage());
+        }
+    }
+
+    // API keys vão para o Redis só como SHA-256; o hash é calculado na sincronização, fora da requisição
+    private static String redisKey(Scope scope, String client) {
+        return KEY_PREFIX + scope.tag + ":" + (scope == Scope.API_KEY ? sha256(client) : client);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, Scope scope, String decision) {
+        return Counter.builder("cep.ratelimit.decisions")
+                .tag("scope", scope.tag)
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+
+    private static final class Limit {
+        private final double capacity;
+        private final double refillPerSecond;
+
+        private Limit(double capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.stefanini.ceptracker.infrastructure.ratelimit;
+
+/**
+ * Token bucket local de um cliente. O lock é por bucket, então clientes diferentes não
+ * disputam entre si; {@code unsynced} acumula os tokens consumidos aqui desde o último
+ * envio ao Redis, e {@link #reconcile} troca o saldo local pelo saldo global.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+    private long unsynced;
+
+    TokenBucket(double capacity, double tokensPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    // ALLOWED ou os nanossegundos até haver um token inteiro
+    synchronized long tryAcquire(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            unsynced++;
+            return ClientRateLimiter.ALLOWED;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    // Desfaz um tryAcquire liberado; se o consumo já foi enviado, a próxima reconciliação corrige o saldo
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+        if (unsynced > 0) {
+            unsynced--;
+        }
+    }
+
+    synchronized long drainUnsynced() {
+        long consumed = unsynced;
+        unsynced = 0;
+        return consumed;
+    }
+
+    // Envio ao Redis falhou: o consumo volta para o próximo lote
+    synchronized void restoreUnsynced(long consumed) {
+        unsynced += consumed;
+    }
+
+    // Saldo global devolvido pelo Redis, descontado do que foi consumido aqui depois do envio do lote
+    synchronized void reconcile(double remoteTokens, long now) {
+        refill(now);
+        tokens = Math.min(capacity, remoteTokens - unsynced);
+    }
+
+    // Cheio e sem consumo pendente: equivale a um bucket novo e pode sair da memória
+    synchronized boolean isIdle(long now) {
+        refill(now);
+        return unsynced == 0 && tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
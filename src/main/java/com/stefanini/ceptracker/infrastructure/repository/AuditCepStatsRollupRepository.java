@@ -0,0 +1,25 @@
+package com.stefanini.ceptracker.infrastructure.repository;
+
+import com.stefanini.ceptracker.domain.entity.AuditCepStatsRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditCepStatsRollupRepository extends JpaRepository<AuditCepStatsRollup, Long> {
+
+    @Query("SELECT r.cep AS cep, SUM(r.totalRequests) AS totalRequests, SUM(r.successfulRequests) AS successfulRequests, "
+            + "SUM(r.failedRequests) AS failedRequests FROM AuditCepStatsRollup r "
+            + "WHERE r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.cep ORDER BY SUM(r.totalRequests) DESC")
+    List<CepStatsTotals> findTopCeps(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("SELECT r.cep AS cep, SUM(r.totalRequests) AS totalRequests, SUM(r.successfulRequests) AS successfulRequests, "
+            + "SUM(r.failedRequests) AS failedRequests FROM AuditCepStatsRollup r "
+            + "WHERE r.cep = :cep AND r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.cep")
+    CepStatsTotals sumByCep(@Param("cep") String cep, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,18 @@
+package com.stefanini.ceptracker.infrastructure.repository;
+
+import com.stefanini.ceptracker.domain.entity.AuditLatencyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditLatencyRollupRepository extends JpaRepository<AuditLatencyRollup, Long> {
+
+    @Query("SELECT r.latencyBucket AS latencyBucket, SUM(r.requests) AS requests FROM AuditLatencyRollup r "
+            + "WHERE r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.latencyBucket")
+    List<LatencyBucketCount> sumBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,17 @@
+package com.stefanini.ceptracker.infrastructure.repository;
+
+import com.stefanini.ceptracker.domain.entity.AuditPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AuditPayloadRepository extends JpaRepository<AuditPayload, String> {
+
+    @Query("SELECT p.hash FROM AuditPayload p WHERE p.hash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+}
@@ -0,0 +1,19 @@
+package com.stefanini.ceptracker.infrastructure.repository;
+
+import com.stefanini.ceptracker.domain.entity.AuditStatsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AuditStatsRollupRepository extends JpaRepository<AuditStatsRollup, Long> {
+
+    @Query("SELECT SUM(r.totalRequests) AS totalRequests, SUM(r.successfulRequests) AS successfulRequests, "
+            + "SUM(r.failedRequests) AS failedRequests, SUM(r.executionTimeSumMs) AS executionTimeSumMs, "
+            + "MAX(r.executionTimeMaxMs) AS executionTimeMaxMs "
+            + "FROM AuditStatsRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    AuditStatsTotals sumBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,15 @@
+package com.stefanini.ceptracker.infrastructure.repository;
+
+// Soma dos rollups de auditoria em uma janela de tempo
+public interface AuditStatsTotals {
+
+    Long getTotalRequests();
+
+    Long getSuccessfulRequests();
+
+    Long getFailedRequests();
+
+    Long getExecutionTimeSumMs();
+
+    Long getExecutionTimeMaxMs();
+}
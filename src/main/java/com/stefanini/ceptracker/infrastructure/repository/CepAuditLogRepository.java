@@ -1,7 +1,6 @@
 package com.stefanini.ceptracker.infrastructure.repository;
 
 import com.stefanini.ceptracker.domain.entity.CepAuditLog;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -14,15 +13,32 @@ import java.util.List;
 @Repository
 public interface CepAuditLogRepository extends JpaRepository<CepAuditLog, Long> {
 
-    Page<CepAuditLog> findByCepOrderByRequestTimestampDesc(String cep, Pageable pageable);
+    // Paginação por chave: registros em [from, antes da posição (beforeTimestamp, beforeId)), do mais recente
+    // ao mais antigo. O custo não depende da profundidade da página, ao contrário de OFFSET
+    @Query("SELECT c FROM CepAuditLog c WHERE c.requestTimestamp >= :from "
+            + "AND (c.requestTimestamp < :beforeTimestamp OR (c.requestTimestamp = :beforeTimestamp AND c.id < :beforeId)) "
+            + "ORDER BY c.requestTimestamp DESC, c.id DESC")
+    List<CepAuditLog> findPageBefore(@Param("from") LocalDateTime from,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
 
-    @Query("SELECT c FROM CepAuditLog c WHERE c.requestTimestamp BETWEEN :start AND :end ORDER BY c.requestTimestamp DESC")
-    List<CepAuditLog> findByRequestTimestampBetween(@Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
+    @Query("SELECT c FROM CepAuditLog c WHERE c.cep = :cep AND c.requestTimestamp >= :from "
+            + "AND (c.requestTimestamp < :beforeTimestamp OR (c.requestTimestamp = :beforeTimestamp AND c.id < :beforeId)) "
+            + "ORDER BY c.requestTimestamp DESC, c.id DESC")
+    List<CepAuditLog> findPageByCepBefore(@Param("cep") String cep,
+            @Param("from") LocalDateTime from,
+            @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
 
     @Query("SELECT COUNT(c) FROM CepAuditLog c WHERE c.success = true")
     Long countSuccessfulRequests();
 
     @Query("SELECT COUNT(c) FROM CepAuditLog c WHERE c.success = false")
     Long countFailedRequests();
-}
\ No newline at end of file
+
+    // Varredura por faixa de id para a carga inicial dos rollups de estatísticas
+    List<CepAuditLog> findByIdGreaterThanAndRequestTimestampBeforeOrderByIdAsc(Long id, LocalDateTime before,
+            Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.stefanini.ceptracker.infrastructure.repository;
+
+// Soma dos rollups de um CEP em uma janela de tempo
+public interface CepStatsTotals {
+
+    String getCep();
+
+    long getTotalRequests();
+
+    long getSuccessfulRequests();
+
+    long getFailedRequests();
+}
@@ -0,0 +1,9 @@
+package com.stefanini.ceptracker.infrastructure.repository;
+
+// Quantidade de consultas em uma faixa do histograma de latência
+public interface LatencyBucketCount {
+
+    int getLatencyBucket();
+
+    long getRequests();
+}
@@ -0,0 +1,22 @@
+package com.stefanini.ceptracker.presentation.actuator;
+
+import com.stefanini.ceptracker.application.service.CacheWarmUpService;
+import com.stefanini.ceptracker.domain.dto.CacheWarmUpStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/cachewarmup mostra o progresso; o disparo fica no endpoint cachewarmuptrigger
+@Component
+@Endpoint(id = "cachewarmup")
+@RequiredArgsConstructor
+public class CacheWarmUpEndpoint {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    @ReadOperation
+    public CacheWarmUpStatus status() {
+        return cacheWarmUpService.status();
+    }
+}
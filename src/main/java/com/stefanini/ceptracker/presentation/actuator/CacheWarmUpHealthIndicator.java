@@ -0,0 +1,27 @@
+package com.stefanini.ceptracker.presentation.actuator;
+
+import com.stefanini.ceptracker.application.service.CacheWarmUpService;
+import com.stefanini.ceptracker.domain.dto.CacheWarmUpStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Incluído no grupo de readiness: OUT_OF_SERVICE até o cache atingir a meta de hit ratio
+@Component
+@RequiredArgsConstructor
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    @Override
+    public Health health() {
+        CacheWarmUpStatus status = cacheWarmUpService.status();
+        Health.Builder builder = status.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", status.getState())
+                .withDetail("warmHitRatio", status.getWarmHitRatio())
+                .withDetail("targetHitRatio", status.getTargetHitRatio())
+                .build();
+    }
+}
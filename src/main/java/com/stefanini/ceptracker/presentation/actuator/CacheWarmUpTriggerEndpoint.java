@@ -0,0 +1,24 @@
+package com.stefanini.ceptracker.presentation.actuator;
+
+import com.stefanini.ceptracker.application.service.CacheWarmUpService;
+import com.stefanini.ceptracker.domain.dto.CacheWarmUpStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// POST /actuator/cachewarmuptrigger dispara um novo aquecimento. Fora da exposição web padrão:
+// sem autenticação no actuator, só deve ser exposto em uma porta de gerenciamento interna
+@Component
+@Endpoint(id = "cachewarmuptrigger")
+@RequiredArgsConstructor
+public class CacheWarmUpTriggerEndpoint {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    @WriteOperation
+    public CacheWarmUpStatus warmUp() {
+        cacheWarmUpService.start();
+        return cacheWarmUpService.status();
+    }
+}
@@ -1,44 +1,101 @@
 package com.stefanini.ceptracker.presentation.controller;
 
-import com.stefanini.ceptracker.domain.entity.CepAuditLog;
-import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import com.stefanini.ceptracker.domain.dto.AuditExportFormat;
+import com.stefanini.ceptracker.domain.dto.AuditLogPage;
+import com.stefanini.ceptracker.domain.dto.AuditStats;
+import com.stefanini.ceptracker.domain.dto.CepStats;
+import com.stefanini.ceptracker.domain.service.AuditExportService;
+import com.stefanini.ceptracker.domain.service.AuditService;
+import com.stefanini.ceptracker.domain.service.AuditStatsService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
-import java.util.Map;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/audit")
 @RequiredArgsConstructor
+@Validated
 public class AuditController {
 
-    private final CepAuditLogRepository auditLogRepository;
+    private final AuditService auditService;
+    private final AuditStatsService auditStatsService;
+    private final AuditExportService auditExportService;
 
+    // Paginação por cursor, do mais recente ao mais antigo; a próxima página usa o nextCursor da resposta
     @GetMapping("/logs")
-    public ResponseEntity<Page<CepAuditLog>> getAllLogs(Pageable pageable) {
-        Page<CepAuditLog> logs = auditLogRepository.findAll(pageable);
-        return ResponseEntity.ok(logs);
+    public ResponseEntity<AuditLogPage> getAllLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int size) {
+        return ResponseEntity.ok(auditService.findLogs(null, from, to, cursor, size));
     }
 
     @GetMapping("/logs/cep/{cep}")
-    public ResponseEntity<Page<CepAuditLog>> getLogsByCep(
-            @PathVariable String cep,
-            Pageable pageable) {
-        Page<CepAuditLog> logs = auditLogRepository.findByCepOrderByRequestTimestampDesc(cep, pageable);
-        return ResponseEntity.ok(logs);
+    public ResponseEntity<AuditLogPage> getLogsByCep(
+            @PathVariable @Pattern(regexp = "\\d{8}", message = "CEP deve conter exatamente 8 dígitos") String cep,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int size) {
+        return ResponseEntity.ok(auditService.findLogs(cep, from, to, cursor, size));
     }
 
+    // Janela opcional [from, to) em ISO-8601; sem from, considera todo o histórico
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalRequests", auditLogRepository.count());
-        stats.put("successfulRequests", auditLogRepository.countSuccessfulRequests());
-        stats.put("failedRequests", auditLogRepository.countFailedRequests());
+    public ResponseEntity<AuditStats> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") @Min(0) @Max(100) int top) {
+        return ResponseEntity.ok(auditStatsService.getStats(from, to, top));
+    }
+
+    @GetMapping("/stats/cep/{cep}")
+    public ResponseEntity<CepStats> getCepStats(
+            @PathVariable @Pattern(regexp = "\\d{8}", message = "CEP deve conter exatamente 8 dígitos") String cep,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(auditStatsService.getCepStats(cep, from, to));
+    }
+
+    // Exportação em streaming de [from, to) em NDJSON ou CSV, opcionalmente em gzip
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @Pattern(regexp = "\\d{8}", message = "CEP deve conter exatamente 8 dígitos") String cep,
+            @RequestParam(defaultValue = "ndjson") @Pattern(regexp = "(?i)ndjson|csv", message = "Formato deve ser ndjson ou csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        AuditExportFormat exportFormat = AuditExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                auditExportService.export(cep, from, to, exportFormat, gzipStream);
+                gzipStream.finish();
+            } else {
+                auditExportService.export(cep, from, to, exportFormat, outputStream);
+            }
+        };
 
-        return ResponseEntity.ok(stats);
+        String filename = "cep-audit." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
-}
\ No newline at end of file
+}
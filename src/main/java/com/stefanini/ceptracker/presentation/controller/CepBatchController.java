@@ -0,0 +1,86 @@
+package com.stefanini.ceptracker.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
+import com.stefanini.ceptracker.domain.service.AuditService;
+import com.stefanini.ceptracker.domain.service.CepService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consulta em lote: os resultados são escritos em NDJSON, uma linha por CEP, à medida
+ * que ficam prontos, sem montar a resposta inteira em memória.
+ */
+@RestController
+@RequestMapping("/api/v1/cep")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+public class CepBatchController {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int AUDIT_CHUNK_SIZE = 500;
+
+    private final CepService cepService;
+    private final AuditService auditService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getCeps(
+            @RequestBody
+            @NotEmpty(message = "Informe ao menos um CEP")
+            @Size(max = MAX_BATCH_SIZE, message = "O lote aceita no máximo " + MAX_BATCH_SIZE + " CEPs")
+            List<@Pattern(regexp = "\\d{8}", message = "CEP deve conter exatamente 8 dígitos") String> ceps,
+            HttpServletRequest request) {
+
+        String sourceIp = CepRequestSupport.getClientIpAddress(request);
+        String userAgent = request.getHeader("User-Agent");
+        log.info("Iniciando consulta em lote de {} CEPs", ceps.size());
+
+        StreamingResponseBody body = outputStream -> {
+            long startTime = System.currentTimeMillis();
+            List<CepLookupResult> pendingAudit = new ArrayList<>(Math.min(ceps.size(), AUDIT_CHUNK_SIZE));
+            try {
+                cepService.findCeps(ceps, result -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(result));
+                        outputStream.write('\n');
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    pendingAudit.add(result);
+                    if (pendingAudit.size() >= AUDIT_CHUNK_SIZE) {
+                        auditService.logCepBatch(pendingAudit, System.currentTimeMillis() - startTime, sourceIp, userAgent);
+                        pendingAudit.clear();
+                    }
+                });
+            } finally {
+                if (!pendingAudit.isEmpty()) {
+                    auditService.logCepBatch(pendingAudit, System.currentTimeMillis() - startTime, sourceIp, userAgent);
+                }
+                log.info("Consulta em lote de {} CEPs concluída em {}ms", ceps.size(),
+                        System.currentTimeMillis() - startTime);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
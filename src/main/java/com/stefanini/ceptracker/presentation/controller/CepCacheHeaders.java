@@ -0,0 +1,73 @@
+package com.stefanini.ceptracker.presentation.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cabeçalhos de cache HTTP das consultas de CEP: ETag forte do JSON memorizado na resposta
+ * e Cache-Control com o max-age configurado (por padrão, o TTL do cache). Um If-None-Match
+ * com o ETag atual vira 304 sem corpo; os contadores separam respostas completas de 304 e
+ * somam os bytes de corpo que deixaram de ser enviados.
+ */
+@Component
+public class CepCacheHeaders {
+
+    private final String cacheControl;
+    private final Counter unconditionalCounter;
+    private final Counter modifiedCounter;
+    private final Counter notModifiedCounter;
+    private final Counter bytesSavedCounter;
+
+    public CepCacheHeaders(MeterRegistry meterRegistry,
+            @Value("${app.cep-service.cache.http-max-age:${app.cep-service.cache.ttl:3600}}") long maxAgeSeconds) {
+        // max-age 0: o cliente guarda a resposta, mas revalida com o ETag a cada uso
+        this.cacheControl = maxAgeSeconds > 0 ? "public, max-age=" + maxAgeSeconds : "no-cache";
+        this.unconditionalCounter = conditionalCounter(meterRegistry, "unconditional");
+        this.modifiedCounter = conditionalCounter(meterRegistry, "modified");
+        this.notModifiedCounter = conditionalCounter(meterRegistry, "not_modified");
+        this.bytesSavedCounter = Counter.builder("cep.http.not_modified.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public String cacheControl() {
+        return cacheControl;
+    }
+
+    // Direto na resposta do servlet: o Tomcat reaproveita o buffer de headers entre requisições
+    public void apply(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+
+    // ifNoneMatch: header If-None-Match da requisição, ou null
+    public boolean isNotModified(String ifNoneMatch, String etag, int bodyLength) {
+        if (ifNoneMatch == null) {
+            unconditionalCounter.increment();
+            return false;
+        }
+        if (matches(ifNoneMatch, etag)) {
+            notModifiedCounter.increment();
+            bytesSavedCounter.increment(bodyLength);
+            return true;
+        }
+        modifiedCounter.increment();
+        return false;
+    }
+
+    // Comparação fraca do If-None-Match: W/"x" casa com "x"; aspas delimitam cada tag, então basta achar a tag com aspas
+    static boolean matches(String ifNoneMatch, String etag) {
+        return ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.strip());
+    }
+
+    private static Counter conditionalCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cep.http.conditional")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,59 +1,80 @@
 package com.stefanini.ceptracker.presentation.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.EncodedCepResponse;
 import com.stefanini.ceptracker.domain.service.AuditService;
 import com.stefanini.ceptracker.domain.service.CepService;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
 import com.stefanini.ceptracker.presentation.dto.ErrorResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.http.HttpServletRequest;
-import javax.validation.constraints.Pattern;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Pattern;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/cep")
+@ConditionalOnProperty(name = "app.cep-service.reactive.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Validated
 @Slf4j
 public class CepController {
 
+    // Somente leitura: o ResponseEntity reaproveita a instância em vez de copiar os headers a cada requisição
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders();
+    private static final ResponseEntity<?> NOT_MODIFIED = ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+
     private final CepService cepService;
     private final AuditService auditService;
-    private final ObjectMapper objectMapper;
+    private final CepResponseJson responseJson;
+    private final CepCacheHeaders cacheHeaders;
 
     @GetMapping("/{cep}")
     public ResponseEntity<?> getCep(
             @PathVariable @Pattern(regexp = "\\d{8}", message = "CEP deve conter exatamente 8 dígitos") String cep,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            HttpServletResponse servletResponse) {
 
-        long startTime = System.currentTimeMillis();
-        String sourceIp = getClientIpAddress(request);
+        long startTime = System.nanoTime();
+        String sourceIp = CepRequestSupport.getClientIpAddress(request);
         String userAgent = request.getHeader("User-Agent");
 
         try {
-            log.info("Iniciando consulta do CEP: {}", cep);
+            log.debug("Iniciando consulta do CEP: {}", cep);
 
             CepResponse response = cepService.findCep(cep);
-            long executionTime = System.currentTimeMillis() - startTime;
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
 
-            if (response != null && (response.getErro() == null || !response.getErro())) {
+            if (CepRequestSupport.isFound(response)) {
                 // Log da consulta bem-sucedida
                 auditService.logCepRequest(
                         cep,
-                        serializeToJson(response),
+                        response,
                         true,
                         null,
                         executionTime,
                         sourceIp,
                         userAgent);
 
-                log.info("CEP {} consultado com sucesso em {}ms", cep, executionTime);
-                return ResponseEntity.ok(response);
+                log.debug("CEP {} consultado com sucesso em {}ms", cep, executionTime);
+                // Corpo, ETag e hash memorizados na resposta do cache, sem nova serialização
+                EncodedCepResponse encoded = responseJson.encode(response);
+                byte[] json = encoded.getJson();
+                String etag = encoded.getEtag();
+                cacheHeaders.apply(servletResponse, etag);
+                if (cacheHeaders.isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag, json.length)) {
+                    return NOT_MODIFIED;
+                }
+                return new ResponseEntity<>(json, JSON_HEADERS, HttpStatus.OK);
             } else {
                 // CEP não encontrado
                 auditService.logCepRequest(
@@ -69,7 +90,7 @@ public class CepController {
             }
 
         } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
 
             // Log do erro
             auditService.logCepRequest(
@@ -93,26 +114,9 @@ public class CepController {
         }
     }
 
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
-
-    private String serializeToJson(Object object) {
-        try {
-            return objectMapper.writeValueAsString(object);
-        } catch (JsonProcessingException e) {
-            log.warn("Erro ao serializar resposta para JSON: {}", e.getMessage());
-            return object.toString();
-        }
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.stefanini.ceptracker.presentation.controller;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Utilitários compartilhados pelos controllers de consulta de CEP e pelo filtro de rate limit
+public final class CepRequestSupport {
+
+    private CepRequestSupport() {
+    }
+
+    // IP gravado na auditoria: o informado pelo cliente ou proxy, sem validação
+    public static String getClientIpAddress(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return firstAddress(xForwardedFor);
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty()) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * IP do cliente para o rate limit. O primeiro endereço do X-Forwarded-For é escolhido pelo
+     * próprio cliente; confiáveis são só os acrescentados pelos proxies à frente da aplicação.
+     * Com {@code trustedProxies} proxies, o cliente é o endereço nessa posição a partir da
+     * direita; sem proxies, vale o endereço da conexão.
+     */
+    public static String getClientIpAddress(HttpServletRequest request, int trustedProxies) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustedProxies <= 0 || xForwardedFor == null || xForwardedFor.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+        String address = addressFromRight(xForwardedFor, trustedProxies);
+        return address.isEmpty() ? request.getRemoteAddr() : address;
+    }
+
+    // Endereço na posição "position" contando da direita (1 = último); com menos endereços, o primeiro
+    static String addressFromRight(String forwardedFor, int position) {
+        int end = forwardedFor.length();
+        int start = forwardedFor.lastIndexOf(',', end - 1) + 1;
+        for (int i = 1; i < position && start > 0; i++) {
+            end = start - 1;
+            start = forwardedFor.lastIndexOf(',', end - 1) + 1;
+        }
+        while (start < end && Character.isWhitespace(forwardedFor.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(forwardedFor.charAt(end - 1))) {
+            end--;
+        }
+        return forwardedFor.substring(start, end);
+    }
+
+    // Primeiro endereço da lista, sem split: com um único endereço sem espaços devolve o próprio header
+    static String firstAddress(String forwardedFor) {
+        int end = forwardedFor.indexOf(',');
+        if (end < 0) {
+            end = forwardedFor.length();
+        }
+        int start = 0;
+        while (start < end && Character.isWhitespace(forwardedFor.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(forwardedFor.charAt(end - 1))) {
+            end--;
+        }
+        return forwardedFor.substring(start, end);
+    }
+
+    static boolean isFound(CepResponse response) {
+        return response != null && (response.getErro() == null || !response.getErro());
+    }
+}
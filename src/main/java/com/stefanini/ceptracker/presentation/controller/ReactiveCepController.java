@@ -0,0 +1,101 @@
+package com.stefanini.ceptracker.presentation.controller;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.EncodedCepResponse;
+import com.stefanini.ceptracker.domain.service.AuditService;
+import com.stefanini.ceptracker.domain.service.ReactiveCepService;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.presentation.dto.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Pattern;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta de CEP no modo reativo: o handler devolve um {@link Mono} e a thread do
+ * servlet é liberada enquanto cache e API externa respondem.
+ */
+@RestController
+@RequestMapping("/api/v1/cep")
+@ConditionalOnProperty(name = "app.cep-service.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+public class ReactiveCepController {
+
+    private final ReactiveCepService cepService;
+    private final AuditService auditService;
+    private final CepResponseJson responseJson;
+    private final CepCacheHeaders cacheHeaders;
+
+    @GetMapping("/{cep}")
+    public Mono<ResponseEntity<Object>> getCep(
+            @PathVariable @Pattern(regexp = "\\d{8}", message = "CEP deve conter exatamente 8 dígitos") String cep,
+            HttpServletRequest request) {
+
+        long startTime = System.nanoTime();
+        String sourceIp = CepRequestSupport.getClientIpAddress(request);
+        String userAgent = request.getHeader("User-Agent");
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        log.debug("Iniciando consulta reativa do CEP: {}", cep);
+
+        return cepService.findCep(cep)
+                .filter(CepRequestSupport::isFound)
+                .flatMap(response -> {
+                    long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                    EncodedCepResponse encoded = responseJson.encode(response);
+                    byte[] json = encoded.getJson();
+                    String etag = encoded.getEtag();
+                    ResponseEntity<Object> entity = cacheHeaders.isNotModified(ifNoneMatch, etag, json.length)
+                            ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(etag)
+                                    .header(HttpHeaders.CACHE_CONTROL, cacheHeaders.cacheControl())
+                                    .build()
+                            : ResponseEntity.ok()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .eTag(etag)
+                                    .header(HttpHeaders.CACHE_CONTROL, cacheHeaders.cacheControl())
+                                    .body(json);
+                    return audit(cep, response, true, null, executionTime, sourceIp, userAgent)
+                            .thenReturn(entity);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                    return audit(cep, null, false, "CEP não encontrado", executionTime, sourceIp, userAgent)
+                            .thenReturn(ResponseEntity.notFound().build());
+                }))
+                .onErrorResume(e -> {
+                    long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                    log.error("Erro ao consultar CEP {}: {}", cep, e.getMessage());
+
+                    ErrorResponse errorResponse = ErrorResponse.builder()
+                            .message("Erro interno do servidor")
+                            .details(e.getMessage())
+                            .timestamp(System.currentTimeMillis())
+                            .build();
+
+                    return audit(cep, null, false, e.getMessage(), executionTime, sourceIp, userAgent)
+                            .thenReturn(ResponseEntity.internalServerError().body(errorResponse));
+                });
+    }
+
+    // A auditoria pode cair em gravação síncrona (política SPILL), por isso roda fora do event loop
+    private Mono<Void> audit(String cep, CepResponse response, boolean success, String errorMessage,
+            long executionTime, String sourceIp, String userAgent) {
+        return Mono.<Void>fromRunnable(() -> auditService.logCepRequest(
+                cep, response, success, errorMessage, executionTime, sourceIp, userAgent))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,91 @@
+package com.stefanini.ceptracker.presentation.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.infrastructure.ratelimit.ClientRateLimiter;
+import com.stefanini.ceptracker.presentation.controller.CepRequestSupport;
+import com.stefanini.ceptracker.presentation.dto.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica o {@link ClientRateLimiter} às rotas /api: a requisição consome do bucket do IP e,
+ * com o header X-API-Key, também do bucket da API key; se a API key barrar, o token do IP
+ * é devolvido. O IP vem do X-Forwarded-For só até a quantidade de proxies confiáveis
+ * configurada. Requisições acima do limite recebem 429 com Retry-After em segundos, antes
+ * de chegar ao controller.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final int trustedProxies;
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter,
+            ObjectMapper objectMapper,
+            @Value("${app.rate-limit.trusted-proxies:1}") int trustedProxies) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.trustedProxies = trustedProxies;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientIp = CepRequestSupport.getClientIpAddress(request, trustedProxies);
+        long retryAfter = rateLimiter.tryAcquire(ClientRateLimiter.Scope.IP, clientIp);
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (retryAfter == ClientRateLimiter.ALLOWED && apiKey != null && !apiKey.isEmpty()) {
+            retryAfter = rateLimiter.tryAcquire(ClientRateLimiter.Scope.API_KEY, apiKey);
+            if (retryAfter != ClientRateLimiter.ALLOWED) {
+                rateLimiter.refund(ClientRateLimiter.Scope.IP, clientIp);
+            }
+        }
+
+        if (retryAfter == ClientRateLimiter.ALLOWED) {
+            filterChain.doFilter(request, response);
+        } else {
+            reject(request, response, retryAfter);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterNanos) throws IOException {
+        // Retry-After só aceita segundos inteiros: arredonda para cima, no mínimo 1
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("Requisição {} limitada, nova tentativa em {}s", request.getRequestURI(), retryAfterSeconds);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .message("Limite de requisições excedido")
+                .details("Tente novamente em " + retryAfterSeconds + "s")
+                .timestamp(System.currentTimeMillis())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,22 @@
+-- Reconcilia em lote os token buckets de um escopo (KEYS) com o consumo local de uma instância.
+-- ARGV[1] = capacidade, ARGV[2] = tokens por segundo, ARGV[2 + i] = tokens consumidos em KEYS[i].
+-- Devolve o saldo global de cada bucket; o saldo pode ficar negativo (até -capacidade) quando
+-- várias instâncias consumiram o mesmo bucket entre duas sincronizações.
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local ttl = math.ceil(capacity / rate) + 1
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local result = {}
+for i, key in ipairs(KEYS) do
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(state[1]) or capacity
+    local ts = tonumber(state[2]) or now
+    tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+    tokens = math.max(-capacity, tokens - tonumber(ARGV[i + 2]))
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(now))
+    redis.call('EXPIRE', key, ttl)
+    result[i] = tostring(tokens)
+end
+return result
@@ -0,0 +1,138 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.AuditExportFormat;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.archive.AuditArchiveStore;
+import com.stefanini.ceptracker.infrastructure.archive.AuditSegmentWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditExportServiceImplTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 10, 18, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditArchiveStore archiveStore;
+    private AuditExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-export-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cep_audit_logs (id BIGINT PRIMARY KEY, cep VARCHAR(8) NOT NULL, "
+                + "request_timestamp TIMESTAMP(6) NOT NULL, response_data TEXT, success BOOLEAN NOT NULL, "
+                + "error_message VARCHAR(255), execution_time_ms BIGINT, source_ip VARCHAR(255), user_agent VARCHAR(255), "
+                + "response_hash VARCHAR(64))");
+        jdbcTemplate.execute("CREATE TABLE cep_audit_payloads (hash VARCHAR(64) PRIMARY KEY, payload TEXT NOT NULL, "
+                + "created_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO cep_audit_payloads VALUES ('a1', '{\"cep\":\"01310100\"}', ?)", DAY);
+        // Payload referenciado pelo hash, como nos registros gravados pelo AuditPayloadStore
+        jdbcTemplate.update("INSERT INTO cep_audit_logs VALUES (1, '01310100', ?, NULL, TRUE, NULL, 15, '10.0.0.1', 'curl', 'a1')",
+                DAY.plusHours(1));
+        jdbcTemplate.update("INSERT INTO cep_audit_logs VALUES (2, '00000000', ?, NULL, FALSE, 'CEP não encontrado, \"inválido\"', NULL, '10.0.0.2', NULL, NULL)",
+                DAY.plusHours(2));
+        jdbcTemplate.update("INSERT INTO cep_audit_logs VALUES (3, '01310100', ?, '{\"cep\":\"01310100\"}', TRUE, NULL, 9, NULL, NULL, NULL)",
+                DAY.plusDays(1));
+
+        archiveStore = new AuditArchiveStore(new SimpleMeterRegistry(), true, directory.toString());
+        exportService = new AuditExportServiceImpl(dataSource, new DataSourceTransactionManager(dataSource),
+                archiveStore, new ObjectMapper(), new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void shouldStreamRangeAsNdjson() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.export(null, DAY, DAY.plusDays(1), AuditExportFormat.NDJSON, output);
+
+        // Then
+        assertThat(rows).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"cep\":\"01310100\",\"requestTimestamp\":\"2026-10-18T01:00\",\"success\":true,"
+                        + "\"executionTimeMs\":15,\"errorMessage\":null,\"sourceIp\":\"10.0.0.1\",\"userAgent\":\"curl\","
+                        + "\"responseData\":\"{\\\"cep\\\":\\\"01310100\\\"}\"}\n"
+                        + "{\"id\":2,\"cep\":\"00000000\",\"requestTimestamp\":\"2026-10-18T02:00\",\"success\":false,"
+                        + "\"executionTimeMs\":null,\"errorMessage\":\"CEP não encontrado, \\\"inválido\\\"\","
+                        + "\"sourceIp\":\"10.0.0.2\",\"userAgent\":null,\"responseData\":null}\n");
+    }
+
+    @Test
+    void shouldStreamCepAsQuotedCsv() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        exportService.export("00000000", DAY, null, AuditExportFormat.CSV, output);
+
+        // Then
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,cep,requestTimestamp,success,executionTimeMs,errorMessage,sourceIp,userAgent,responseData\n"
+                        + "2,00000000,2026-10-18T02:00,false,,\"CEP não encontrado, \"\"inválido\"\"\",10.0.0.2,,\n");
+    }
+
+    @Test
+    void shouldStreamArchivedSegmentsBeforeDatabase() throws IOException {
+        // Given - Dia anterior arquivado e ainda não removido do banco
+        LocalDate archivedDay = DAY.toLocalDate().minusDays(1);
+        jdbcTemplate.update("INSERT INTO cep_audit_logs VALUES (0, '01310100', ?, NULL, TRUE, NULL, 7, NULL, NULL, NULL)",
+                DAY.minusHours(12));
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(archiveStore.segmentPath(archivedDay), archivedDay, 16384)) {
+            writer.add(CepAuditLog.builder().id(-2L).cep("01310100").requestTimestamp(DAY.minusHours(14))
+                    .success(true).executionTimeMs(4L).responseData("{\"cep\":\"01310100\"}").build());
+            writer.add(CepAuditLog.builder().id(0L).cep("01310100").requestTimestamp(DAY.minusHours(12))
+                    .success(true).executionTimeMs(7L).build());
+            writer.commit();
+        }
+        archiveStore.register(archivedDay);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.export("01310100", DAY.minusHours(13), DAY.plusDays(1), AuditExportFormat.CSV, output);
+
+        // Then - O registro já arquivado vem só do segmento, antes dos que estão no banco
+        assertThat(rows).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "id,cep,requestTimestamp,success,executionTimeMs,errorMessage,sourceIp,userAgent,responseData",
+                "0,01310100,2026-10-17T12:00,true,7,,,,",
+                "1,01310100,2026-10-18T01:00,true,15,,10.0.0.1,curl,\"{\"\"cep\"\":\"\"01310100\"\"}\"");
+    }
+
+    @Test
+    void shouldPropagateClientDisconnect() {
+        // Given - Saída que falha na primeira escrita
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When / Then
+        assertThatThrownBy(() -> exportService.export(null, null, null, AuditExportFormat.CSV, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+}
@@ -0,0 +1,104 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.stefanini.ceptracker.domain.dto.AuditLogPage;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.archive.AuditArchiveStore;
+import com.stefanini.ceptracker.infrastructure.audit.AsyncAuditLogWriter;
+import com.stefanini.ceptracker.infrastructure.audit.AuditPayloadStore;
+import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuditServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0, 0, 123_000_000);
+
+    private CepAuditLogRepository auditLogRepository;
+    private AuditArchiveStore archiveStore;
+    private AuditServiceImpl auditService;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(CepAuditLogRepository.class);
+        archiveStore = mock(AuditArchiveStore.class);
+        auditService = new AuditServiceImpl(auditLogRepository, mock(AsyncAuditLogWriter.class), mock(AuditPayloadStore.class),
+                archiveStore);
+    }
+
+    @Test
+    void shouldReturnCursorWhenMoreLogsExistAndSeekFromIt() {
+        // Given - Um registro além do tamanho da página
+        when(auditLogRepository.findPageBefore(any(), any(), any(), any())).thenReturn(List.of(
+                auditLog(30L, NOW), auditLog(29L, NOW), auditLog(12L, NOW.minusSeconds(5))));
+
+        // When
+        AuditLogPage first = auditService.findLogs(null, null, null, null, 2);
+        auditService.findLogs(null, null, null, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getContent()).extracting(CepAuditLog::getId).containsExactly(30L, 29L);
+        assertThat(first.getNextCursor()).isNotNull();
+        verify(auditLogRepository).findPageBefore(any(), any(), eq(Long.MIN_VALUE), eq(PageRequest.of(0, 3)));
+        verify(auditLogRepository).findPageBefore(any(), eq(NOW), eq(29L), eq(PageRequest.of(0, 3)));
+    }
+
+    @Test
+    void shouldOmitCursorOnLastPageAndFilterByCep() {
+        // Given
+        LocalDateTime from = NOW.minusDays(1);
+        when(auditLogRepository.findPageByCepBefore(eq("01310100"), eq(from), eq(NOW), eq(Long.MIN_VALUE), any()))
+                .thenReturn(List.of(auditLog(7L, NOW.minusHours(1))));
+
+        // When
+        AuditLogPage page = auditService.findLogs("01310100", from, NOW, null, 20);
+
+        // Then
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+        verify(auditLogRepository, never()).findPageBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldContinueIntoArchivedSegmentsWhenDatabasePageIsShort() {
+        // Given - Tudo antes de 2026-10-18 está arquivado
+        LocalDateTime archivedUntil = NOW.toLocalDate().atStartOfDay();
+        when(archiveStore.archivedUntil()).thenReturn(archivedUntil);
+        when(auditLogRepository.findPageByCepBefore(eq("01310100"), eq(archivedUntil), any(), any(), any()))
+                .thenReturn(List.of(auditLog(30L, NOW)));
+        when(archiveStore.findPageBefore(eq("01310100"), any(), any(), eq(Long.MIN_VALUE), eq(2)))
+                .thenReturn(List.of(auditLog(5L, NOW.minusDays(1)), auditLog(4L, NOW.minusDays(2))));
+
+        // When
+        AuditLogPage page = auditService.findLogs("01310100", null, null, null, 2);
+
+        // Then
+        assertThat(page.getContent()).extracting(CepAuditLog::getId).containsExactly(30L, 5L);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> auditService.findLogs(null, null, null, "não-é-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor de paginação inválido");
+    }
+
+    private CepAuditLog auditLog(Long id, LocalDateTime timestamp) {
+        return CepAuditLog.builder()
+                .id(id)
+                .cep("01310100")
+                .requestTimestamp(timestamp)
+                .success(true)
+                .build();
+    }
+}
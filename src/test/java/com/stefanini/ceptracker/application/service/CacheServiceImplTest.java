@@ -0,0 +1,116 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.cache.BinaryCacheCodec;
+import com.stefanini.ceptracker.infrastructure.cache.NearCache;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CacheServiceImplTest {
+
+    private RedisTemplate<String, byte[]> redisTemplate;
+    private ValueOperations<String, byte[]> valueOperations;
+    private MeterRegistry meterRegistry;
+    private CacheServiceImpl cacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = new CacheServiceImpl(redisTemplate, new BinaryCacheCodec(new ObjectMapper()),
+                new NearCache(meterRegistry, true, 100, 3600), new StageTimers(meterRegistry, true, 1.0));
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromNearCache() {
+        // Given
+        when(valueOperations.get("cep:01310100"))
+                .thenReturn(json("{\"cep\":\"01310100\",\"localidade\":\"São Paulo\"}"));
+
+        // When
+        CepResponse first = cacheService.get("cep:01310100", CepResponse.class);
+        CepResponse second = cacheService.get("cep:01310100", CepResponse.class);
+
+        // Then
+        assertThat(first.getCity()).isEqualTo("São Paulo");
+        assertThat(second).isSameAs(first);
+        verify(valueOperations, times(1)).get("cep:01310100");
+        assertThat(meterRegistry.counter("cep.cache.l1.hits").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cep.cache.l1.misses").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPopulateNearCacheOnSave() {
+        // Given
+        CepResponse response = CepResponse.builder().cep("01310100").build();
+
+        // When
+        cacheService.save("cep:01310100", response, Duration.ofSeconds(60));
+        CepResponse result = cacheService.get("cep:01310100", CepResponse.class);
+
+        // Then
+        assertThat(result).isSameAs(response);
+        verify(valueOperations).set(eq("cep:01310100"), any(byte[].class), eq(Duration.ofSeconds(60)));
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    void shouldFallBackToRedisWhenNearCacheDisabled() {
+        // Given
+        CacheServiceImpl redisOnly = new CacheServiceImpl(redisTemplate, new BinaryCacheCodec(new ObjectMapper()),
+                new NearCache(meterRegistry, false, 100, 3600), new StageTimers(meterRegistry, true, 1.0));
+        when(valueOperations.get("cep:01310100")).thenReturn(json("{\"cep\":\"01310100\"}"));
+
+        // When
+        redisOnly.get("cep:01310100", CepResponse.class);
+        redisOnly.get("cep:01310100", CepResponse.class);
+
+        // Then
+        verify(valueOperations, times(2)).get("cep:01310100");
+    }
+
+    @Test
+    void shouldReadMissingKeysWithSingleMultiGet() {
+        // Given
+        cacheService.save("cep:01310100", CepResponse.builder().cep("01310100").build(), Duration.ofSeconds(60));
+        when(valueOperations.multiGet(List.of("cep:20040020", "cep:30130010")))
+                .thenReturn(Arrays.asList(json("{\"cep\":\"20040020\"}"), null));
+
+        // When
+        Map<String, CepResponse> result = cacheService.getAll(
+                List.of("cep:01310100", "cep:20040020", "cep:30130010"), CepResponse.class);
+
+        // Then
+        assertThat(result).containsOnlyKeys("cep:01310100", "cep:20040020");
+        assertThat(result.get("cep:20040020").getCep()).isEqualTo("20040020");
+        verify(valueOperations, times(1)).multiGet(anyList());
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    // Entradas gravadas antes do codec binário, em JSON
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,136 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.stefanini.ceptracker.domain.dto.CacheWarmUpStatus;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.LookupOrigin;
+import com.stefanini.ceptracker.domain.service.CacheService;
+import com.stefanini.ceptracker.domain.service.CepService;
+import com.stefanini.ceptracker.infrastructure.repository.AuditCepStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.CepStatsTotals;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheWarmUpServiceTest {
+
+    private AuditCepStatsRollupRepository cepStatsRepository;
+    private CepService cepService;
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cepStatsRepository = mock(AuditCepStatsRollupRepository.class);
+        cepService = mock(CepService.class);
+        cacheService = mock(CacheService.class);
+    }
+
+    @Test
+    void shouldFetchOnlyColdCepsAndReportWeightedHitRatio() {
+        // Given
+        when(cepStatsRepository.findTopCeps(any(), any(), any())).thenReturn(List.of(
+                count("01310100", 60), count("20040020", 30), count("30130010", 10)));
+        when(cacheService.getAll(anyCollection(), eq(CachedCepResponse.class))).thenReturn(Map.of(
+                "cep:01310100", CachedCepResponse.of(CepResponse.builder().cep("01310100").build(), 3600, 86400)));
+        doAnswer(invocation -> {
+            Consumer<CepLookupResult> onResult = invocation.getArgument(2);
+            onResult.accept(CepLookupResult.of("20040020", CepResponse.builder().cep("20040020").build()));
+            onResult.accept(CepLookupResult.error("30130010", "API externa indisponível"));
+            return null;
+        }).when(cepService).findCeps(anyCollection(), eq(LookupOrigin.WARMUP), any());
+        CacheWarmUpService warmUp = service(0.9);
+
+        // When
+        warmUp.run();
+
+        // Then
+        verify(cepService).findCeps(argThat((Collection<String> ceps) -> ceps.equals(List.of("20040020", "30130010"))),
+                eq(LookupOrigin.WARMUP), any());
+        CacheWarmUpStatus status = warmUp.status();
+        assertThat(status.getState()).isEqualTo(CacheWarmUpStatus.State.COMPLETED);
+        assertThat(status.getTotalCeps()).isEqualTo(3);
+        assertThat(status.getAlreadyCached()).isEqualTo(1);
+        assertThat(status.getFetched()).isEqualTo(1);
+        assertThat(status.getFailed()).isEqualTo(1);
+        assertThat(status.getWarmHitRatio()).isEqualTo(0.9);
+        assertThat(status.isReady()).isTrue();
+    }
+
+    @Test
+    void shouldStayNotReadyBelowTargetHitRatio() {
+        // Given
+        when(cepStatsRepository.findTopCeps(any(), any(), any())).thenReturn(List.of(
+                count("01310100", 50), count("20040020", 50)));
+        when(cacheService.getAll(anyCollection(), eq(CachedCepResponse.class))).thenReturn(Map.of());
+        doAnswer(invocation -> {
+            Consumer<CepLookupResult> onResult = invocation.getArgument(2);
+            onResult.accept(CepLookupResult.of("01310100", CepResponse.builder().cep("01310100").build()));
+            onResult.accept(CepLookupResult.error("20040020", "API externa indisponível"));
+            return null;
+        }).when(cepService).findCeps(anyCollection(), eq(LookupOrigin.WARMUP), any());
+        CacheWarmUpService warmUp = service(0.9);
+
+        // When
+        warmUp.run();
+
+        // Then
+        assertThat(warmUp.status().getWarmHitRatio()).isEqualTo(0.5);
+        assertThat(warmUp.isReady()).isFalse();
+    }
+
+    @Test
+    void shouldBeReadyWhenThereIsNoHistory() {
+        // Given
+        when(cepStatsRepository.findTopCeps(any(), any(), any())).thenReturn(List.of());
+        CacheWarmUpService warmUp = service(0.9);
+        assertThat(warmUp.isReady()).isFalse();
+
+        // When
+        warmUp.run();
+
+        // Then
+        assertThat(warmUp.isReady()).isTrue();
+        verifyNoInteractions(cepService);
+    }
+
+    private CacheWarmUpService service(double targetHitRatio) {
+        return new CacheWarmUpService(cepStatsRepository, cepService, cacheService, new SimpleMeterRegistry(),
+                true, 100, 30, 100, 0, targetHitRatio, 300);
+    }
+
+    private static CepStatsTotals count(String cep, long requests) {
+        return new CepStatsTotals() {
+            @Override
+            public String getCep() {
+                return cep;
+            }
+
+            @Override
+            public long getTotalRequests() {
+                return requests;
+            }
+
+            @Override
+            public long getSuccessfulRequests() {
+                return requests;
+            }
+
+            @Override
+            public long getFailedRequests() {
+                return 0;
+            }
+        };
+    }
+}
@@ -1,10 +1,16 @@
 package com.stefanini.ceptracker.application.service;
 
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
 import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.dto.LookupOrigin;
 import com.stefanini.ceptracker.domain.service.CacheService;
 import com.stefanini.ceptracker.domain.service.CepService;
 import com.stefanini.ceptracker.infrastructure.client.CepApiClient;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,10 +18,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -31,6 +47,9 @@ class CepServiceImplTest {
         @Autowired
         private CepService cepService;
 
+        @Autowired
+        private MeterRegistry meterRegistry;
+
         @Test
         void shouldReturnCachedCepWhenAvailable() {
                 // Given
@@ -40,8 +59,8 @@ class CepServiceImplTest {
                                 .street("Cached Street")
                                 .build();
 
-                when(cacheService.get("cep:" + cep, CepResponse.class))
-                                .thenReturn(cachedResponse);
+                when(cacheService.get("cep:" + cep, CachedCepResponse.class))
+                                .thenReturn(CachedCepResponse.of(cachedResponse, 3600, 86400));
 
                 // When
                 CepResponse result = cepService.findCep(cep);
@@ -61,7 +80,7 @@ class CepServiceImplTest {
                                 .street("API Street")
                                 .build();
 
-                when(cacheService.get("cep:" + cep, CepResponse.class))
+                when(cacheService.get("cep:" + cep, CachedCepResponse.class))
                                 .thenReturn(null);
                 when(cepApiClient.findCep(cep))
                                 .thenReturn(apiResponse);
@@ -72,7 +91,9 @@ class CepServiceImplTest {
                 // Then
                 assertThat(result).isEqualTo(apiResponse);
                 verify(cepApiClient).findCep(cep);
-                verify(cacheService).save(eq("cep:" + cep), eq(apiResponse), eq(Duration.ofSeconds(3600)));
+                verify(cacheService).save(eq("cep:" + cep),
+                                argThat(entry -> ((CachedCepResponse) entry).getResponse().equals(apiResponse)),
+                                eq(Duration.ofSeconds(86400 + 604800)));
         }
 
         @Test
@@ -83,7 +104,7 @@ class CepServiceImplTest {
                                 .erro(true)
                                 .build();
 
-                when(cacheService.get("cep:" + cep, CepResponse.class))
+                when(cacheService.get("cep:" + cep, CachedCepResponse.class))
                                 .thenReturn(null);
                 when(cepApiClient.findCep(cep))
                                 .thenReturn(errorResponse);
@@ -94,6 +115,198 @@ class CepServiceImplTest {
                 // Then
                 assertThat(result).isEqualTo(errorResponse);
                 verify(cepApiClient).findCep(cep);
+                verify(cacheService, never()).save(eq("cep:" + cep), any(), any());
+                verify(cacheService).save(eq("cep:notfound:" + cep), any(Long.class), eq(Duration.ofSeconds(600)));
+        }
+
+        @Test
+        void shouldServeRepeatedNotFoundFromNegativeCache() {
+                // Given
+                String cep = "99999999";
+                CepResponse errorResponse = CepResponse.builder()
+                                .erro(true)
+                                .build();
+
+                when(cacheService.get("cep:" + cep, CachedCepResponse.class))
+                                .thenReturn(null);
+                when(cepApiClient.findCep(cep))
+                                .thenReturn(errorResponse);
+                cepService.findCep(cep);
+                when(cacheService.get("cep:notfound:" + cep, Long.class))
+                                .thenReturn(System.currentTimeMillis() + 600_000);
+
+                // When
+                CepResponse result = cepService.findCep(cep);
+
+                // Then
+                assertThat(result.getErro()).isTrue();
+                verify(cepApiClient, times(1)).findCep(cep);
+        }
+
+        @Test
+        void shouldServeStaleAndRefreshInBackground() {
+                // Given
+                String cep = "01310100";
+                CepResponse staleResponse = CepResponse.builder()
+                                .cep(cep)
+                                .street("Stale Street")
+                                .build();
+                CepResponse apiResponse = CepResponse.builder()
+                                .cep(cep)
+                                .street("API Street")
+                                .build();
+
+                when(cacheService.get("cep:" + cep, CachedCepResponse.class))
+                                .thenReturn(cachedAt(staleResponse, 7200));
+                when(cepApiClient.findCep(cep))
+                                .thenReturn(apiResponse);
+
+                // When
+                CepResponse result = cepService.findCep(cep);
+
+                // Then
+                assertThat(result).isEqualTo(staleResponse);
+                verify(cepApiClient, timeout(5000)).findCep(cep);
+                verify(cacheService, timeout(5000)).save(eq("cep:" + cep),
+                                argThat(entry -> ((CachedCepResponse) entry).getResponse().equals(apiResponse)),
+                                any());
+        }
+
+        @Test
+        void shouldServeExpiredEntryWhenApiFails() {
+                // Given
+                String cep = "01310100";
+                CepResponse expiredResponse = CepResponse.builder()
+                                .cep(cep)
+                                .street("Expired Street")
+                                .build();
+
+                when(cacheService.get("cep:" + cep, CachedCepResponse.class))
+                                .thenReturn(cachedAt(expiredResponse, 172800));
+                when(cepApiClient.findCep(cep))
+                                .thenThrow(new CepApiException("API indisponível"));
+
+                // When
+                CepResponse result = cepService.findCep(cep);
+
+                // Then
+                assertThat(result).isEqualTo(expiredResponse);
+                verify(cepApiClient).findCep(cep);
+                verify(cacheService, never()).save(any(), any(), any());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldResolveBatchWithOneCacheReadAndOnePipelinedWrite() {
+                // Given
+                CepResponse cached = CepResponse.builder().cep("01310100").build();
+                CepResponse fetched = CepResponse.builder().cep("20040020").build();
+
+                when(cacheService.getAll(any(), eq(CachedCepResponse.class)))
+                                .thenReturn(Map.of("cep:01310100", CachedCepResponse.of(cached, 3600, 86400)));
+                when(cepApiClient.findCep("20040020")).thenReturn(fetched);
+                when(cepApiClient.findCep("11111111")).thenReturn(CepResponse.builder().erro(true).build());
+                when(cepApiClient.findCep("22222222")).thenThrow(new CepApiException("API indisponível"));
+                List<CepLookupResult> results = new ArrayList<>();
+
+                // When
+                cepService.findCeps(List.of("01310100", "20040020", "01310100", "11111111", "22222222"),
+                                results::add);
+
+                // Then
+                assertThat(results).hasSize(4);
+                assertThat(results.get(0)).isEqualTo(CepLookupResult.of("01310100", cached));
+                assertThat(results).contains(CepLookupResult.of("20040020", fetched),
+                                CepLookupResult.of("11111111", CepResponse.builder().erro(true).build()),
+                                CepLookupResult.error("22222222", "API indisponível"));
+                verify(cacheService, times(1)).getAll(any(), eq(CachedCepResponse.class));
+                verify(cacheService, never()).get(startsWith("cep:0"), any());
+                verify(cacheService).saveAll(
+                                argThat(values -> values.keySet().equals(Set.of("cep:20040020"))),
+                                eq(Duration.ofSeconds(86400 + 604800)));
+                verify(cacheService).saveAll(
+                                argThat(values -> values.keySet().equals(Set.of("cep:notfound:11111111"))),
+                                eq(Duration.ofSeconds(600)));
                 verify(cacheService, never()).save(any(), any(), any());
         }
-}
\ No newline at end of file
+
+        @Test
+        void shouldCountWarmUpLookupsSeparatelyFromRequests() {
+                // Given
+                Counter requestMisses = meterRegistry.counter("cep.cache.misses", "origin", "request");
+                Counter warmUpMisses = meterRegistry.counter("cep.cache.misses", "origin", "warmup");
+                double requestMissesBefore = requestMisses.count();
+                double warmUpMissesBefore = warmUpMisses.count();
+                when(cacheService.getAll(any(), eq(CachedCepResponse.class))).thenReturn(Map.of());
+                when(cepApiClient.findCep("04538133")).thenReturn(CepResponse.builder().cep("04538133").build());
+
+                // When
+                cepService.findCeps(List.of("04538133"), LookupOrigin.WARMUP, result -> {
+                });
+
+                // Then
+                assertThat(warmUpMisses.count() - warmUpMissesBefore).isEqualTo(1);
+                assertThat(requestMisses.count() - requestMissesBefore).isZero();
+        }
+
+        @Test
+        void shouldCoalesceConcurrentMissesIntoSingleUpstreamCall() throws Exception {
+                // Given
+                String cep = "01310100";
+                int parallelRequests = 500;
+                Counter coalesced = meterRegistry.counter("cep.upstream.coalesced", "origin", "request");
+                double coalescedBefore = coalesced.count();
+                CepResponse apiResponse = CepResponse.builder()
+                                .cep(cep)
+                                .street("API Street")
+                                .build();
+
+                when(cacheService.get("cep:" + cep, CachedCepResponse.class))
+                                .thenReturn(null);
+                // A chamada externa só termina depois que todas as outras requisições estão aguardando
+                when(cepApiClient.findCep(cep)).thenAnswer(invocation -> {
+                        long deadline = System.currentTimeMillis() + 10_000;
+                        while (coalesced.count() - coalescedBefore < parallelRequests - 1
+                                        && System.currentTimeMillis() < deadline) {
+                                Thread.sleep(5);
+                        }
+                        return apiResponse;
+                });
+
+                ExecutorService executor = Executors.newFixedThreadPool(parallelRequests);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<CepResponse>> results = new ArrayList<>();
+
+                // When
+                try {
+                        for (int i = 0; i < parallelRequests; i++) {
+                                results.add(executor.submit(() -> {
+                                        start.await();
+                                        return cepService.findCep(cep);
+                                }));
+                        }
+                        start.countDown();
+
+                        // Then
+                        for (Future<CepResponse> result : results) {
+                                assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(apiResponse);
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                verify(cepApiClient, times(1)).findCep(cep);
+                verify(cacheService, times(1)).save(eq("cep:" + cep), any(CachedCepResponse.class), any());
+                assertThat(coalesced.count() - coalescedBefore).isEqualTo(parallelRequests - 1);
+        }
+
+        // Entrada gravada há ageSeconds com os TTLs padrão (3600s / 86400s)
+        private CachedCepResponse cachedAt(CepResponse response, long ageSeconds) {
+                CachedCepResponse entry = CachedCepResponse.of(response, 3600, 86400);
+                long shift = TimeUnit.SECONDS.toMillis(ageSeconds);
+                entry.setCachedAt(entry.getCachedAt() - shift);
+                entry.setSoftExpiresAt(entry.getSoftExpiresAt() - shift);
+                entry.setHardExpiresAt(entry.getHardExpiresAt() - shift);
+                return entry;
+        }
+}
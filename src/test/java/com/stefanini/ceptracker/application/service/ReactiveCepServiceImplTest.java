@@ -0,0 +1,195 @@
+package com.stefanini.ceptracker.application.service;
+
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.service.ReactiveCacheService;
+import com.stefanini.ceptracker.infrastructure.cache.NotFoundCepFilter;
+import com.stefanini.ceptracker.infrastructure.client.ReactiveCepApiClient;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveCepServiceImplTest {
+
+    private ReactiveCepApiClient cepApiClient;
+    private ReactiveCacheService cacheService;
+    private ReactiveCepServiceImpl cepService;
+
+    @BeforeEach
+    void setUp() {
+        cepApiClient = mock(ReactiveCepApiClient.class);
+        cacheService = mock(ReactiveCacheService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cepService = new ReactiveCepServiceImpl(cepApiClient, cacheService,
+                new NotFoundCepFilter(meterRegistry, 1000, 0.01), meterRegistry);
+        ReflectionTestUtils.setField(cepService, "cacheTtlSeconds", 3600);
+        ReflectionTestUtils.setField(cepService, "cacheHardTtlSeconds", 86400);
+        ReflectionTestUtils.setField(cepService, "cacheMaxStaleSeconds", 604800);
+        ReflectionTestUtils.setField(cepService, "negativeCacheEnabled", true);
+        ReflectionTestUtils.setField(cepService, "negativeCacheTtlSeconds", 600);
+        when(cacheService.save(any(), any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void shouldReturnCachedCepWhenAvailable() {
+        // Given
+        CepResponse cachedResponse = CepResponse.builder().cep("01310100").build();
+        when(cacheService.get("cep:01310100", CachedCepResponse.class))
+                .thenReturn(Mono.just(CachedCepResponse.of(cachedResponse, 3600, 86400)));
+
+        // When
+        CepResponse result = cepService.findCep("01310100").block();
+
+        // Then
+        assertThat(result).isEqualTo(cachedResponse);
+        verify(cepApiClient, never()).findCep(any());
+    }
+
+    @Test
+    void shouldFetchFromApiAndCacheWhenNotInCache() {
+        // Given
+        CepResponse apiResponse = CepResponse.builder().cep("01310100").build();
+        when(cacheService.get("cep:01310100", CachedCepResponse.class)).thenReturn(Mono.empty());
+        when(cepApiClient.findCep("01310100")).thenReturn(Mono.just(apiResponse));
+
+        // When
+        CepResponse result = cepService.findCep("01310100").block();
+
+        // Then
+        assertThat(result).isEqualTo(apiResponse);
+        verify(cacheService).save(eq("cep:01310100"),
+                argThat(entry -> ((CachedCepResponse) entry).getResponse().equals(apiResponse)),
+                eq(Duration.ofSeconds(86400 + 604800)));
+    }
+
+    @Test
+    void shouldNotCacheWhenResponseHasError() {
+        // Given
+        CepResponse errorResponse = CepResponse.builder().erro(true).build();
+        when(cacheService.get("cep:00000000", CachedCepResponse.class)).thenReturn(Mono.empty());
+        when(cepApiClient.findCep("00000000")).thenReturn(Mono.just(errorResponse));
+
+        // When
+        CepResponse result = cepService.findCep("00000000").block();
+
+        // Then
+        assertThat(result).isEqualTo(errorResponse);
+        verify(cacheService, never()).save(eq("cep:00000000"), any(), any());
+    }
+
+    @Test
+    void shouldServeRepeatedNotFoundFromNegativeCache() {
+        // Given
+        CepResponse errorResponse = CepResponse.builder().erro(true).build();
+        when(cacheService.get("cep:00000000", CachedCepResponse.class)).thenReturn(Mono.empty());
+        when(cacheService.get("cep:notfound:00000000", Long.class))
+                .thenReturn(Mono.just(System.currentTimeMillis() + 600_000));
+        when(cepApiClient.findCep("00000000")).thenReturn(Mono.just(errorResponse));
+        cepService.findCep("00000000").block();
+
+        // When
+        CepResponse result = cepService.findCep("00000000").block();
+
+        // Then
+        assertThat(result.getErro()).isTrue();
+        verify(cepApiClient, times(1)).findCep("00000000");
+        verify(cacheService).save(eq("cep:notfound:00000000"), any(Long.class), eq(Duration.ofSeconds(600)));
+    }
+
+    @Test
+    void shouldShareInFlightUpstreamCallBetweenSubscribers() {
+        // Given
+        CepResponse apiResponse = CepResponse.builder().cep("01310100").build();
+        Sinks.One<CepResponse> upstream = Sinks.one();
+        when(cacheService.get("cep:01310100", CachedCepResponse.class)).thenReturn(Mono.empty());
+        when(cepApiClient.findCep("01310100")).thenReturn(upstream.asMono());
+
+        // When
+        CompletableFuture<CepResponse> first = cepService.findCep("01310100").toFuture();
+        CompletableFuture<CepResponse> second = cepService.findCep("01310100").toFuture();
+        upstream.tryEmitValue(apiResponse);
+
+        // Then
+        assertThat(first.join()).isEqualTo(apiResponse);
+        assertThat(second.join()).isEqualTo(apiResponse);
+        verify(cepApiClient, times(1)).findCep("01310100");
+    }
+
+    @Test
+    void shouldKeepSharedUpstreamCallWhenLeaderCancels() {
+        // Given
+        CepResponse apiResponse = CepResponse.builder().cep("01310100").build();
+        Sinks.One<CepResponse> upstream = Sinks.one();
+        when(cacheService.get("cep:01310100", CachedCepResponse.class)).thenReturn(Mono.empty());
+        when(cepApiClient.findCep("01310100")).thenReturn(upstream.asMono());
+
+        // When - O primeiro assinante desconecta antes da resposta da API
+        Disposable leader = cepService.findCep("01310100").subscribe();
+        CompletableFuture<CepResponse> waiter = cepService.findCep("01310100").toFuture();
+        leader.dispose();
+        upstream.tryEmitValue(apiResponse);
+
+        // Then
+        assertThat(waiter.join()).isEqualTo(apiResponse);
+        verify(cepApiClient, times(1)).findCep("01310100");
+        verify(cacheService).save(eq("cep:01310100"), any(CachedCepResponse.class), any());
+    }
+
+    @Test
+    void shouldServeStaleAndRefreshInBackground() {
+        // Given
+        CepResponse staleResponse = CepResponse.builder().cep("01310100").street("Stale Street").build();
+        CepResponse apiResponse = CepResponse.builder().cep("01310100").street("API Street").build();
+        when(cacheService.get("cep:01310100", CachedCepResponse.class))
+                .thenReturn(Mono.just(cachedAt(staleResponse, 7200)));
+        when(cepApiClient.findCep("01310100")).thenReturn(Mono.just(apiResponse));
+
+        // When
+        CepResponse result = cepService.findCep("01310100").block();
+
+        // Then
+        assertThat(result).isEqualTo(staleResponse);
+        verify(cepApiClient, timeout(5000)).findCep("01310100");
+        verify(cacheService, timeout(5000)).save(eq("cep:01310100"),
+                argThat(entry -> ((CachedCepResponse) entry).getResponse().equals(apiResponse)), any());
+    }
+
+    @Test
+    void shouldServeExpiredEntryWhenApiFails() {
+        // Given
+        CepResponse expiredResponse = CepResponse.builder().cep("01310100").street("Expired Street").build();
+        when(cacheService.get("cep:01310100", CachedCepResponse.class))
+                .thenReturn(Mono.just(cachedAt(expiredResponse, 172800)));
+        when(cepApiClient.findCep("01310100")).thenReturn(Mono.error(new CepApiException("API indisponível")));
+
+        // When
+        CepResponse result = cepService.findCep("01310100").block();
+
+        // Then
+        assertThat(result).isEqualTo(expiredResponse);
+        verify(cacheService, never()).save(any(), any(), any());
+    }
+
+    // Entrada gravada há ageSeconds com os TTLs padrão (3600s / 86400s)
+    private CachedCepResponse cachedAt(CepResponse response, long ageSeconds) {
+        CachedCepResponse entry = CachedCepResponse.of(response, 3600, 86400);
+        long shift = ageSeconds * 1000;
+        entry.setCachedAt(entry.getCachedAt() - shift);
+        entry.setSoftExpiresAt(entry.getSoftExpiresAt() - shift);
+        entry.setHardExpiresAt(entry.getHardExpiresAt() - shift);
+        return entry;
+    }
+}
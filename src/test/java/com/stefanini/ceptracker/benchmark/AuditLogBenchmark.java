@@ -0,0 +1,83 @@
+package com.stefanini.ceptracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.audit.AuditPayloadStore;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.infrastructure.repository.AuditPayloadRepository;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Montagem do CepAuditLog feita na thread da requisição por AuditServiceImpl: com o
+ * payload já gravado só o hash memorizado é copiado; numa resposta nova entram a
+ * serialização, o SHA-256 e o JSON em linha até o writer gravá-lo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private final Clock clock = Clock.systemDefaultZone();
+    private AuditPayloadStore payloadStore;
+    private CepResponse storedResponse;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        payloadStore = new AuditPayloadStore(mock(AuditPayloadRepository.class, withSettings().stubOnly()),
+                new CepResponseJson(new ObjectMapper(), new StageTimers(meterRegistry, true, 1.0)), meterRegistry, 1000);
+        storedResponse = response();
+        payloadStore.store(List.of(auditLog(storedResponse)));
+    }
+
+    @Benchmark
+    public CepAuditLog storedPayload() {
+        return auditLog(storedResponse);
+    }
+
+    @Benchmark
+    public CepAuditLog newPayload() {
+        return auditLog(response());
+    }
+
+    private CepAuditLog auditLog(CepResponse response) {
+        CepAuditLog auditLog = CepAuditLog.builder()
+                .cep("01310100")
+                .requestTimestamp(LocalDateTime.now(clock))
+                .success(true)
+                .executionTimeMs(3L)
+                .sourceIp("203.0.113.7")
+                .userAgent("curl/8.5.0")
+                .build();
+        payloadStore.attach(auditLog, response);
+        return auditLog;
+    }
+
+    private static CepResponse response() {
+        return CepResponse.builder()
+                .cep("01310-100")
+                .street("Avenida Paulista")
+                .complement("de 612 a 1510 - lado par")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .ibgeCode("3550308")
+                .areaCode("11")
+                .siafiCode("7107")
+                .build();
+    }
+}
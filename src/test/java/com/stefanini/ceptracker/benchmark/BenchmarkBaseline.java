@@ -0,0 +1,137 @@
+package com.stefanini.ceptracker.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Linha de base versionada dos benchmarks. O resultado bruto do JMH ({@code -rf json}) traz o
+ * caminho da JVM, todas as iterações e as métricas secundárias, e muda inteiro a cada execução;
+ * aqui ficam só benchmark, params, score, scoreError e gc.alloc.rate.norm, em ordem estável.
+ * <ul>
+ *   <li>{@code write <jmh-result.json> <baseline.json>} regrava a linha de base</li>
+ *   <li>{@code compare <jmh-result.json> <baseline.json>} imprime a variação de cada benchmark e
+ *   termina com código 1 se algum ficou mais lento além do erro somado ou passou a alocar mais</li>
+ * </ul>
+ */
+public final class BenchmarkBaseline {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    // O -prof gc soma a alocação das threads de fundo (ex.: writer da auditoria), que varia entre
+    // execuções; abaixo de um objeto ou de 10% a diferença não é tratada como regressão
+    private static final double ALLOC_TOLERANCE_BYTES = 8;
+    private static final double ALLOC_TOLERANCE_RATIO = 0.10;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("write") || args[0].equals("compare"))) {
+            System.err.println("Uso: BenchmarkBaseline write|compare <jmh-result.json> <baseline.json>");
+            System.exit(2);
+        }
+        ArrayNode current = normalize(MAPPER.readTree(new File(args[1])));
+        File baselineFile = new File(args[2]);
+        if (args[0].equals("write")) {
+            MAPPER.writeValue(baselineFile, current);
+            System.out.printf("Linha de base gravada em %s (%d benchmarks)%n", baselineFile, current.size());
+            return;
+        }
+        int regressions = compare(MAPPER.readTree(baselineFile), current);
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) pior(es) que a linha de base%n", regressions);
+            System.exit(1);
+        }
+    }
+
+    private static ArrayNode normalize(JsonNode jmhResult) {
+        List<ObjectNode> entries = new ArrayList<>();
+        for (JsonNode run : jmhResult) {
+            ObjectNode entry = MAPPER.createObjectNode();
+            entry.put("benchmark", run.get("benchmark").asText());
+            ObjectNode params = entry.putObject("params");
+            if (run.has("params")) {
+                Map<String, String> sorted = new TreeMap<>();
+                run.get("params").fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+                sorted.forEach(params::put);
+            }
+            JsonNode primary = run.get("primaryMetric");
+            entry.put("score", round(primary.get("score").asDouble()));
+            entry.put("scoreError", round(primary.get("scoreError").asDouble()));
+            entry.put("scoreUnit", primary.get("scoreUnit").asText());
+            JsonNode alloc = run.path("secondaryMetrics").path(ALLOC_NORM);
+            if (!alloc.isMissingNode()) {
+                entry.put(ALLOC_NORM, round(alloc.get("score").asDouble()));
+            }
+            entries.add(entry);
+        }
+        entries.sort(Comparator.comparing(BenchmarkBaseline::key));
+        ArrayNode normalized = MAPPER.createArrayNode();
+        entries.forEach(normalized::add);
+        return normalized;
+    }
+
+    private static int compare(JsonNode baseline, ArrayNode current) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        baseline.forEach(entry -> byKey.put(key(entry), entry));
+        int regressions = 0;
+        System.out.printf("%-92s %12s %12s %8s %10s %10s%n", "Benchmark", "Base", "Atual", "Delta", "Base B/op", "Atual B/op");
+        for (JsonNode entry : current) {
+            String key = key(entry);
+            JsonNode base = byKey.remove(key);
+            if (base == null) {
+                System.out.printf("%-92s %12s %12.1f %8s%n", key, "-", entry.get("score").asDouble(), "novo");
+                continue;
+            }
+            double baseScore = base.get("score").asDouble();
+            double score = entry.get("score").asDouble();
+            boolean slower = score - baseScore > base.get("scoreError").asDouble() + entry.get("scoreError").asDouble();
+            double baseAlloc = base.path(ALLOC_NORM).asDouble();
+            boolean allocates = entry.path(ALLOC_NORM).asDouble() - baseAlloc
+                    > Math.max(ALLOC_TOLERANCE_BYTES, baseAlloc * ALLOC_TOLERANCE_RATIO);
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-92s %12.1f %12.1f %+7.1f%% %10.1f %10.1f%s%n", key, baseScore, score,
+                    (score - baseScore) * 100 / baseScore, baseAlloc,
+                    entry.path(ALLOC_NORM).asDouble(), slower || allocates ? "  <- regressão" : "");
+        }
+        byKey.keySet().forEach(key -> System.out.printf("%-92s %12s%n", key, "removido"));
+        return regressions;
+    }
+
+    private static String key(JsonNode entry) {
+        StringBuilder key = new StringBuilder(entry.get("benchmark").asText()
+                .replace("com.stefanini.ceptracker.benchmark.", ""));
+        Iterator<Map.Entry<String, JsonNode>> params = entry.path("params").fields();
+        while (params.hasNext()) {
+            Map.Entry<String, JsonNode> param = params.next();
+            key.append(key.indexOf("(") < 0 ? " (" : ", ").append(param.getKey()).append('=').append(param.getValue().asText());
+        }
+        return key.indexOf("(") < 0 ? key.toString() : key.append(')').toString();
+    }
+
+    // Uma casa decimal basta para ns/op e B/op e evita diffs de ruído nos últimos dígitos
+    private static double round(double value) {
+        if (!Double.isFinite(value)) {
+            return value;
+        }
+        return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP).doubleValue();
+    }
+}
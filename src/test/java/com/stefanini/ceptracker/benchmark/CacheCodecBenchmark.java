@@ -0,0 +1,72 @@
+package com.stefanini.ceptracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.cache.BinaryCacheCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho JSON original (String + StringRedisSerializer) com o codec binário.
+ * Rodar com {@code mvn -Pbenchmark test-compile exec:exec}; o profiler gc informa a
+ * alocação por operação (gc.alloc.rate.norm) e o setup imprime o tamanho dos payloads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    private ObjectMapper objectMapper;
+    private BinaryCacheCodec binaryCodec;
+    private CachedCepResponse entry;
+    private byte[] jsonPayload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        binaryCodec = new BinaryCacheCodec(objectMapper);
+        entry = CachedCepResponse.of(CepResponse.builder()
+                .cep("01310100")
+                .street("Avenida Paulista")
+                .complement("de 612 a 1510 - lado par")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .ibgeCode("3550308")
+                .giaCode("1004")
+                .areaCode("11")
+                .siafiCode("7107")
+                .build(), 3600, 86400);
+        jsonPayload = objectMapper.writeValueAsString(entry).getBytes(StandardCharsets.UTF_8);
+        binaryPayload = binaryCodec.encode(entry);
+        System.out.printf("%nPayload: json=%d bytes, binary=%d bytes%n", jsonPayload.length, binaryPayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsString(entry).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CachedCepResponse decodeJson() throws IOException {
+        return objectMapper.readValue(new String(jsonPayload, StandardCharsets.UTF_8), CachedCepResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() throws IOException {
+        return binaryCodec.encode(entry);
+    }
+
+    @Benchmark
+    public CachedCepResponse decodeBinary() throws IOException {
+        return binaryCodec.decode(binaryPayload, CachedCepResponse.class);
+    }
+}
@@ -0,0 +1,182 @@
+package com.stefanini.ceptracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.application.service.AuditServiceImpl;
+import com.stefanini.ceptracker.application.service.CacheServiceImpl;
+import com.stefanini.ceptracker.application.service.CepServiceImpl;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.archive.AuditArchiveStore;
+import com.stefanini.ceptracker.infrastructure.audit.AsyncAuditLogWriter;
+import com.stefanini.ceptracker.infrastructure.audit.AuditBackpressurePolicy;
+import com.stefanini.ceptracker.infrastructure.audit.AuditPayloadStore;
+import com.stefanini.ceptracker.infrastructure.audit.AuditStatsAggregator;
+import com.stefanini.ceptracker.infrastructure.cache.BinaryCacheCodec;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.infrastructure.cache.NearCache;
+import com.stefanini.ceptracker.infrastructure.cache.NotFoundCepFilter;
+import com.stefanini.ceptracker.infrastructure.client.CepApiClient;
+import com.stefanini.ceptracker.infrastructure.repository.AuditPayloadRepository;
+import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import com.stefanini.ceptracker.presentation.controller.CepCacheHeaders;
+import com.stefanini.ceptracker.presentation.controller.CepController;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers.Stage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * GET /api/v1/cep/{cep} servido pelo cache L1 e pelos bytes do Redis, do controller até a
+ * fila da auditoria. No hit do Redis o L1 fica desligado e o RedisTemplate devolve os bytes
+ * do codec sem rede, então cada requisição passa por CACHE_GET, CACHE_DESERIALIZE e
+ * RESPONSE_SERIALIZE.
+ * Com {@code -Dbenchmark.args="CepRequestPath -prof gc"} o gc.alloc.rate.norm dá os bytes
+ * por requisição (o orçamento verificado no build fica em CepRequestAllocationTest); com
+ * {@code -prof jfr} o JFR grava a origem de cada alocação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepRequestPathBenchmark {
+
+    private static final String CEP = "01310100";
+
+    // Timers por etapa ligados e desligados: a diferença em getRedisCachedCep é o custo da
+    // instrumentação; o hit do L1 não passa por nenhuma etapa medida
+    @Param({"true", "false"})
+    public boolean timeStages;
+
+    // app.metrics.stages.sample-rate: com 1.0 todas as chamadas são medidas
+    @Param({"1.0", "0.01"})
+    public double stageSampleRate;
+
+    private CepServiceImpl cepService;
+    private CepServiceImpl redisCepService;
+    private AsyncAuditLogWriter auditLogWriter;
+    private CepController controller;
+    private CepController redisController;
+    private StageTimers stageTimers;
+    private MockHttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        // Mesmo registry da aplicação: o custo de cada record depende da implementação do Timer
+        MeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        ObjectMapper objectMapper = new ObjectMapper();
+        stageTimers = new StageTimers(meterRegistry, timeStages, stageSampleRate);
+        NearCache nearCache = new NearCache(meterRegistry, true, 10_000, 3600);
+        CacheServiceImpl cacheService = new CacheServiceImpl(mock(RedisTemplate.class),
+                new BinaryCacheCodec(objectMapper), nearCache, stageTimers);
+        cepService = new CepServiceImpl(mock(CepApiClient.class), cacheService,
+                new NotFoundCepFilter(meterRegistry, 1000, 0.01), meterRegistry, 1, 10);
+
+        CepResponseJson responseJson = new CepResponseJson(objectMapper, stageTimers);
+        AuditPayloadStore payloadStore = new AuditPayloadStore(
+                mock(AuditPayloadRepository.class, withSettings().stubOnly()), responseJson, meterRegistry, 1000);
+        // DROP: a fila nunca bloqueia a thread medida se o writer ficar para trás
+        auditLogWriter = new AsyncAuditLogWriter(mock(CepAuditLogRepository.class, withSettings().stubOnly()),
+                mock(AuditStatsAggregator.class, withSettings().stubOnly()), payloadStore, meterRegistry, stageTimers,
+                true, 100_000, 100, 50, 10, 5000, AuditBackpressurePolicy.DROP);
+        auditLogWriter.start();
+        AuditServiceImpl auditService = new AuditServiceImpl(mock(CepAuditLogRepository.class), auditLogWriter,
+                payloadStore, mock(AuditArchiveStore.class));
+        controller = new CepController(cepService, auditService, responseJson,
+                new CepCacheHeaders(meterRegistry, 3600));
+
+        CachedCepResponse entry = CachedCepResponse.of(CepResponse.builder()
+                .cep("01310-100")
+                .street("Avenida Paulista")
+                .complement("de 612 a 1510 - lado par")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .ibgeCode("3550308")
+                .areaCode("11")
+                .siafiCode("7107")
+                .build(), 3600, 86400);
+        nearCache.put("cep:" + CEP, entry);
+
+        BinaryCacheCodec codec = new BinaryCacheCodec(objectMapper);
+        CacheServiceImpl redisCacheService = new CacheServiceImpl(redisReturning(codec.encode(entry)), codec,
+                new NearCache(meterRegistry, false, 10_000, 3600), stageTimers);
+        redisCepService = new CepServiceImpl(mock(CepApiClient.class), redisCacheService,
+                new NotFoundCepFilter(meterRegistry, 1000, 0.01), meterRegistry, 1, 10);
+        redisController = new CepController(redisCepService, auditService, responseJson,
+                new CepCacheHeaders(meterRegistry, 3600));
+
+        request = new MockHttpServletRequest("GET", "/api/v1/cep/" + CEP);
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+        request.addHeader("User-Agent", "curl/8.5.0");
+        // Descarta os headers, como o Response reciclado do Tomcat (ver CepRequestAllocationTest)
+        response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public void setHeader(String name, String value) {
+            }
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        auditLogWriter.shutdown();
+        cepService.shutdown();
+        redisCepService.shutdown();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getCachedCep() {
+        return controller.getCep(CEP, request, response);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getRedisCachedCep() {
+        return redisController.getCep(CEP, request, response);
+    }
+
+    // Só as três etapas de um hit do Redis, sem o trabalho medido: o custo direto dos timers,
+    // que a diferença entre os dois valores de timeStages em getRedisCachedCep esconde no ruído
+    @Benchmark
+    public long recordRedisHitStages() {
+        long start = stageTimers.start();
+        stageTimers.record(Stage.CACHE_GET, start);
+        start = stageTimers.start();
+        stageTimers.record(Stage.CACHE_DESERIALIZE, start);
+        start = stageTimers.start();
+        stageTimers.record(Stage.RESPONSE_SERIALIZE, start);
+        return start;
+    }
+
+    // Proxy em vez de mock do Mockito: o custo do stub fica em poucos ns e não dilui a diferença medida
+    @SuppressWarnings("unchecked")
+    private static RedisTemplate<String, byte[]> redisReturning(byte[] encoded) {
+        ValueOperations<String, byte[]> operations = (ValueOperations<String, byte[]>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(), new Class<?>[] {ValueOperations.class},
+                (proxy, method, args) -> "get".equals(method.getName()) ? encoded : null);
+        return new RedisTemplate<>() {
+            @Override
+            public ValueOperations<String, byte[]> opsForValue() {
+                return operations;
+            }
+        };
+    }
+}
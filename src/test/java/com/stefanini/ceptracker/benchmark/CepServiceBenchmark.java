@@ -0,0 +1,85 @@
+package com.stefanini.ceptracker.benchmark;
+
+import com.stefanini.ceptracker.application.service.CepServiceImpl;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.cache.NotFoundCepFilter;
+import com.stefanini.ceptracker.infrastructure.client.CepApiClient;
+import com.stefanini.ceptracker.loadtest.InMemoryCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CepServiceImpl.findCep com substitutos em memória do cache e da API externa: o hit mede
+ * só o serviço (contadores, filtro negativo, frescor da entrada) e o miss soma o
+ * single-flight e a gravação no cache, sem rede.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepServiceBenchmark {
+
+    private static final String CEP = "01310100";
+
+    private CepServiceImpl hitService;
+    private CepServiceImpl missService;
+
+    @Setup
+    public void setUp() {
+        CepResponse response = CepResponse.builder()
+                .cep("01310-100")
+                .street("Avenida Paulista")
+                .complement("de 612 a 1510 - lado par")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .ibgeCode("3550308")
+                .areaCode("11")
+                .siafiCode("7107")
+                .build();
+
+        InMemoryCacheService cache = new InMemoryCacheService();
+        cache.save("cep:" + CEP, CachedCepResponse.of(response, 3600, 86400), Duration.ofDays(1));
+        hitService = service(cache, cep -> response);
+
+        // Cache que descarta as gravações: toda chamada vai à API
+        missService = service(new InMemoryCacheService() {
+            @Override
+            public <T> void save(String key, T value, Duration ttl) {
+            }
+        }, cep -> response);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hitService.shutdown();
+        missService.shutdown();
+    }
+
+    @Benchmark
+    public CepResponse findCepHit() {
+        return hitService.findCep(CEP);
+    }
+
+    @Benchmark
+    public CepResponse findCepMiss() {
+        return missService.findCep(CEP);
+    }
+
+    private static CepServiceImpl service(InMemoryCacheService cache, CepApiClient apiClient) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CepServiceImpl service = new CepServiceImpl(apiClient, cache,
+                new NotFoundCepFilter(meterRegistry, 1000, 0.01), meterRegistry, 1, 10);
+        ReflectionTestUtils.setField(service, "cacheTtlSeconds", 3600);
+        ReflectionTestUtils.setField(service, "cacheHardTtlSeconds", 86400);
+        ReflectionTestUtils.setField(service, "cacheMaxStaleSeconds", 604800);
+        return service;
+    }
+}
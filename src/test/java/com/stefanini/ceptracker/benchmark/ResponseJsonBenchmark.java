@@ -0,0 +1,53 @@
+package com.stefanini.ceptracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corpo JSON da resposta de GET /api/v1/cep/{cep}: a serialização completa, paga no
+ * primeiro hit de cada CepResponse, contra os bytes memorizados dos hits seguintes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseJsonBenchmark {
+
+    private CepResponseJson responseJson;
+    private CepResponse response;
+
+    @Setup
+    public void setUp() {
+        responseJson = new CepResponseJson(new ObjectMapper(), new StageTimers(new SimpleMeterRegistry(), true, 1.0));
+        response = CepResponse.builder()
+                .cep("01310-100")
+                .street("Avenida Paulista")
+                .complement("de 612 a 1510 - lado par")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .ibgeCode("3550308")
+                .areaCode("11")
+                .siafiCode("7107")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        response.setEncoded(null);
+        return responseJson.toJson(response);
+    }
+
+    @Benchmark
+    public byte[] memoized() {
+        return responseJson.toJson(response);
+    }
+}
@@ -0,0 +1,130 @@
+package com.stefanini.ceptracker.infrastructure.archive;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AuditArchiverTest {
+
+    private static final String PAYLOAD = "{\"cep\":\"01310100\",\"logradouro\":\"Avenida Paulista\",\"bairro\":\"Bela Vista\","
+            + "\"localidade\":\"São Paulo\",\"uf\":\"SP\",\"ibge\":\"3550308\",\"ddd\":\"11\",\"siafi\":\"7107\"}";
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditArchiveStore archiveStore;
+    private AuditArchiver archiver;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-archive-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cep_audit_logs (id BIGINT PRIMARY KEY, cep VARCHAR(8) NOT NULL, "
+                + "request_timestamp TIMESTAMP(6) NOT NULL, response_data TEXT, success BOOLEAN NOT NULL, "
+                + "error_message VARCHAR(255), execution_time_ms BIGINT, source_ip VARCHAR(255), user_agent VARCHAR(255), "
+                + "response_hash VARCHAR(64))");
+        jdbcTemplate.execute("CREATE TABLE cep_audit_payloads (hash VARCHAR(64) PRIMARY KEY, payload TEXT NOT NULL, "
+                + "created_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO cep_audit_payloads VALUES ('p1', ?, CURRENT_TIMESTAMP)", PAYLOAD);
+
+        archiveStore = new AuditArchiveStore(new SimpleMeterRegistry(), true, directory.toString());
+        archiver = new AuditArchiver(dataSource, new DataSourceTransactionManager(dataSource), archiveStore,
+                mock(ObjectProvider.class), new SimpleMeterRegistry(), 30, 4, 100);
+    }
+
+    @Test
+    void shouldMoveAgedDaysToSegmentsAndRemoveThemFromDatabase() throws IOException {
+        // Given - Dois dias antigos e um recente
+        LocalDateTime oldDay = today.minusDays(40).atTime(10, 0);
+        long id = 1;
+        for (int i = 0; i < 10; i++) {
+            insert(id++, i % 3 == 0 ? "20040020" : "01310100", oldDay.plusSeconds(i), i != 5, 12 + i);
+        }
+        insert(id++, "01310100", oldDay.plusDays(1), true, 7);
+        insert(id, "01310100", today.minusDays(1).atTime(9, 0), true, 3);
+
+        // When
+        archiver.archive();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cep_audit_logs", Long.class)).isEqualTo(1);
+        assertThat(archiveStore.archivedUntil()).isEqualTo(oldDay.toLocalDate().plusDays(2).atStartOfDay());
+
+        AuditArchiveStore reloaded = new AuditArchiveStore(new SimpleMeterRegistry(), true, directory.toString());
+        reloaded.load();
+        List<CepAuditLog> page = reloaded.findPageBefore("01310100", LocalDateTime.MIN, LocalDateTime.MAX.minusYears(1), Long.MAX_VALUE, 4);
+        assertThat(page).extracting(CepAuditLog::getId).containsExactly(11L, 9L, 8L, 6L);
+        CepAuditLog failed = reloaded.findPageBefore(null, oldDay, oldDay.plusSeconds(6), Long.MIN_VALUE, 1).get(0);
+        assertThat(failed.getId()).isEqualTo(6L);
+        assertThat(failed.getSuccess()).isFalse();
+        assertThat(failed.getResponseData()).isNull();
+        assertThat(failed.getExecutionTimeMs()).isEqualTo(17L);
+        assertThat(failed.getRequestTimestamp()).isEqualTo(oldDay.plusSeconds(5));
+    }
+
+    @Test
+    void shouldSeekWithinArchivedDayFromCursor() {
+        // Given
+        LocalDateTime oldDay = today.minusDays(35).atStartOfDay();
+        for (long id = 1; id <= 9; id++) {
+            insert(id, "01310100", oldDay.plusMinutes(id / 3), true, 1);
+        }
+        archiver.archive();
+
+        // When - Cursor no meio de registros com o mesmo instante
+        List<CepAuditLog> page = archiveStore.findPageBefore("01310100", oldDay, oldDay.plusMinutes(2), 7L, 3);
+
+        // Then
+        assertThat(page).extracting(CepAuditLog::getId).containsExactly(6L, 5L, 4L);
+        assertThat(page.get(0).getResponseData()).isEqualTo(PAYLOAD);
+        assertThat(page.get(0).getSourceIp()).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void shouldStoreRepeatedPayloadsOncePerBlock() throws IOException {
+        // Given
+        LocalDate day = today.minusDays(31);
+        Path segment = archiveStore.segmentPath(day);
+
+        // When
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(segment, day, 16384)) {
+            for (long id = 1; id <= 1000; id++) {
+                writer.add(CepAuditLog.builder().id(id).cep("01310100").requestTimestamp(day.atStartOfDay().plusSeconds(id))
+                        .success(true).executionTimeMs(5L).responseData(PAYLOAD).sourceIp("10.0.0.1").build());
+            }
+            writer.commit();
+        }
+
+        // Then - Mil respostas idênticas ocupam menos que dez cópias do payload
+        assertThat(Files.size(segment)).isLessThan(PAYLOAD.length() * 10L);
+        assertThat(AuditSegment.open(segment).size()).isEqualTo(1000);
+    }
+
+    private void insert(long id, String cep, LocalDateTime timestamp, boolean success, long executionTime) {
+        // Ids pares com o JSON em linha (registros antigos), ímpares com o hash em cep_audit_payloads
+        boolean inline = id % 2 == 0;
+        jdbcTemplate.update("INSERT INTO cep_audit_logs VALUES (?, ?, ?, ?, ?, ?, ?, '10.0.0.1', 'curl', ?)",
+                id, cep, timestamp, success && inline ? PAYLOAD : null, success, success ? null : "API externa indisponível",
+                executionTime, success && !inline ? "p1" : null);
+    }
+}
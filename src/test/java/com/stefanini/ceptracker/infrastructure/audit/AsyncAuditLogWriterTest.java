@@ -0,0 +1,166 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AsyncAuditLogWriterTest {
+
+    private CepAuditLogRepository auditLogRepository;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(CepAuditLogRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPersistInBatchesAndDrainOnShutdown() {
+        // Given
+        AsyncAuditLogWriter writer = newWriter(1000, 100, AuditBackpressurePolicy.BLOCK);
+        writer.start();
+
+        // When
+        for (int i = 0; i < 250; i++) {
+            writer.submit(auditLog());
+        }
+        writer.shutdown();
+
+        // Then
+        ArgumentCaptor<List<CepAuditLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditLogRepository, atLeastOnce()).saveAll(captor.capture());
+        verify(auditLogRepository, never()).save(any());
+        assertThat(captor.getAllValues()).allSatisfy(batch -> assertThat(batch.size()).isLessThanOrEqualTo(100));
+        assertThat(meterRegistry.counter("cep.audit.written").count()).isEqualTo(250);
+    }
+
+    @Test
+    void shouldDropAndCountWhenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFirstFlush(flushing, release);
+        AsyncAuditLogWriter writer = newWriter(1, 1, AuditBackpressurePolicy.DROP);
+        writer.start();
+
+        // When
+        writer.submit(auditLog());
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.submit(auditLog());
+        writer.submit(auditLog());
+        release.countDown();
+        writer.shutdown();
+
+        // Then
+        assertThat(meterRegistry.counter("cep.audit.dropped").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cep.audit.written").count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSpillToSynchronousWriteWhenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFirstFlush(flushing, release);
+        AsyncAuditLogWriter writer = newWriter(1, 1, AuditBackpressurePolicy.SPILL);
+        writer.start();
+
+        // When
+        writer.submit(auditLog());
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.submit(auditLog());
+        writer.submit(auditLog());
+        release.countDown();
+        writer.shutdown();
+
+        // Then
+        verify(auditLogRepository, times(1)).save(any());
+        assertThat(meterRegistry.counter("cep.audit.spilled").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cep.audit.written").count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRetryBatchAfterTransientFailure() {
+        // Given
+        when(auditLogRepository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Conexão recusada"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        AsyncAuditLogWriter writer = newWriter(1000, 100, AuditBackpressurePolicy.BLOCK);
+        writer.start();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            writer.submit(auditLog());
+        }
+        writer.shutdown();
+
+        // Then
+        verify(auditLogRepository, never()).save(any());
+        assertThat(meterRegistry.counter("cep.audit.flush.failures").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cep.audit.written").count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWriteRowByRowWhenBatchKeepsFailing() {
+        // Given - Uma linha inválida derruba a transação do lote inteiro
+        CepAuditLog invalid = CepAuditLog.builder().cep("inválido").requestTimestamp(LocalDateTime.now()).build();
+        when(auditLogRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("cep muito longo"));
+        when(auditLogRepository.save(any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == invalid) {
+                throw new DataIntegrityViolationException("cep muito longo");
+            }
+            return invocation.getArgument(0);
+        });
+        AsyncAuditLogWriter writer = newWriter(1000, 100, AuditBackpressurePolicy.BLOCK);
+        writer.start();
+
+        // When
+        writer.submit(auditLog());
+        writer.submit(invalid);
+        writer.submit(auditLog());
+        writer.shutdown();
+
+        // Then
+        assertThat(meterRegistry.counter("cep.audit.written").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("cep.audit.failed").count()).isEqualTo(1);
+    }
+
+    private void blockFirstFlush(CountDownLatch flushing, CountDownLatch release) {
+        when(auditLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+    }
+
+    private AsyncAuditLogWriter newWriter(int capacity, int batchSize, AuditBackpressurePolicy policy) {
+        return new AsyncAuditLogWriter(auditLogRepository, mock(AuditStatsAggregator.class), mock(AuditPayloadStore.class),
+                meterRegistry, new StageTimers(meterRegistry, true, 1.0), true, capacity, batchSize, 50, 10, 5000, policy);
+    }
+
+    private CepAuditLog auditLog() {
+        return CepAuditLog.builder()
+                .cep("01310100")
+                .requestTimestamp(LocalDateTime.now())
+                .success(true)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditPartitionManagerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+    }
+
+    @Test
+    void shouldCreatePartitionedTableAndUpcomingMonthlyPartitions() {
+        // Given - Tabela ainda não existe
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), any())).thenReturn(List.of());
+        AuditPartitionManager manager = manager(AuditPartitionManager.Granularity.MONTHLY, 2, 365);
+
+        // When
+        manager.initialize();
+
+        // Then
+        verify(jdbcTemplate).execute(contains("PARTITION BY RANGE (request_timestamp)"));
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS cep_audit_logs_p202610 PARTITION OF cep_audit_logs "
+                + "FOR VALUES FROM ('2026-10-01T00:00') TO ('2026-11-01T00:00')");
+        verify(jdbcTemplate).execute(contains("cep_audit_logs_p202611 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("cep_audit_logs_p202612 PARTITION OF"));
+        verify(jdbcTemplate, never()).execute(contains("cep_audit_logs_p202701"));
+    }
+
+    @Test
+    void shouldDropOnlyDailyPartitionsOutsideRetention() {
+        // Given - Tabela já particionada
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), any())).thenReturn(List.of("p"));
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), any())).thenReturn(List.of(
+                "cep_audit_logs_p20261009", "cep_audit_logs_p20261010", "cep_audit_logs_p20261011",
+                "cep_audit_logs_legacy"));
+        AuditPartitionManager manager = manager(AuditPartitionManager.Granularity.DAILY, 1, 7);
+
+        // When
+        manager.initialize();
+
+        // Then - Retenção a partir de 2026-10-11: partições encerradas até essa data saem
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS cep_audit_logs_p20261009");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS cep_audit_logs_p20261010");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS cep_audit_logs_p20261011");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS cep_audit_logs_legacy");
+        verify(jdbcTemplate, never()).execute(contains("PARTITION BY RANGE"));
+        verify(jdbcTemplate).execute(contains("cep_audit_logs_p20261019 PARTITION OF"));
+    }
+
+    @Test
+    void shouldLeaveUnpartitionedOrNonPostgresTablesUntouched() {
+        // Given
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class), any()))
+                .thenReturn(List.of("r"))
+                .thenThrow(new BadSqlGrammarException("pg_class", "SELECT", new SQLException("H2")));
+
+        // When
+        manager(AuditPartitionManager.Granularity.MONTHLY, 3, 365).initialize();
+        AuditPartitionManager other = manager(AuditPartitionManager.Granularity.MONTHLY, 3, 365);
+        other.initialize();
+        other.maintain();
+
+        // Then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private AuditPartitionManager manager(AuditPartitionManager.Granularity granularity, int premake, int retentionDays) {
+        return new AuditPartitionManager(jdbcTemplate, granularity, premake, retentionDays, CLOCK);
+    }
+}
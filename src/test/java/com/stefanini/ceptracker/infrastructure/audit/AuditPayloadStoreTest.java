@@ -0,0 +1,119 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.entity.AuditPayload;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.infrastructure.repository.AuditPayloadRepository;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditPayloadStoreTest {
+
+    private AuditPayloadRepository payloadRepository;
+    private ObjectMapper objectMapper;
+    private MeterRegistry meterRegistry;
+    private AuditPayloadStore payloadStore;
+
+    @BeforeEach
+    void setUp() {
+        payloadRepository = mock(AuditPayloadRepository.class);
+        objectMapper = spy(new ObjectMapper());
+        meterRegistry = new SimpleMeterRegistry();
+        payloadStore = new AuditPayloadStore(payloadRepository, new CepResponseJson(objectMapper, new StageTimers(meterRegistry, true, 1.0)), meterRegistry, 1000);
+    }
+
+    @Test
+    void shouldSerializeOnlyUntilPayloadIsStored() throws Exception {
+        // Given
+        CepResponse response = paulista();
+        CepAuditLog first = CepAuditLog.builder().cep("01310100").build();
+        CepAuditLog second = CepAuditLog.builder().cep("01310100").build();
+
+        // When
+        payloadStore.attach(first, response);
+        String payload = first.getResponseData();
+        payloadStore.store(List.of(first));
+        payloadStore.attach(second, response);
+
+        // Then - O segundo registro reaproveita o hash memorizado na resposta
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+        verify(payloadRepository).saveAll(anyList());
+        assertThat(first.getResponseHash())
+                .isEqualTo(CepResponseJson.hashOf(payload.getBytes(StandardCharsets.UTF_8)))
+                .hasSize(64);
+        assertThat(first.getResponseData()).isNull();
+        assertThat(second.getResponseHash()).isEqualTo(first.getResponseHash());
+        assertThat(second.getResponseData()).isNull();
+        assertThat(meterRegistry.counter("cep.audit.payload.reused").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotInsertPayloadAlreadyInDatabase() {
+        // Given - Payload gravado por outra instância
+        CepAuditLog auditLog = CepAuditLog.builder().cep("01310100").build();
+        payloadStore.attach(auditLog, paulista());
+        when(payloadRepository.findExistingHashes(any())).thenReturn(List.of(auditLog.getResponseHash()));
+
+        // When
+        payloadStore.store(List.of(auditLog));
+
+        // Then
+        verify(payloadRepository, never()).saveAll(anyList());
+        assertThat(auditLog.getResponseData()).isNull();
+    }
+
+    @Test
+    void shouldKeepPayloadInlineWhenStoreFails() {
+        // Given
+        CepAuditLog auditLog = CepAuditLog.builder().cep("01310100").build();
+        payloadStore.attach(auditLog, paulista());
+        when(payloadRepository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("Conexão recusada"));
+
+        // When
+        payloadStore.store(List.of(auditLog));
+
+        // Then
+        assertThat(auditLog.getResponseData()).contains("Avenida Paulista");
+        assertThat(meterRegistry.counter("cep.audit.payload.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResolvePayloadsByHash() {
+        // Given - Um registro novo (só hash) e um antigo (JSON em linha)
+        CepAuditLog hashed = CepAuditLog.builder().id(2L).responseHash("a1").build();
+        CepAuditLog legacy = CepAuditLog.builder().id(1L).responseData("{\"cep\":\"20040020\"}").build();
+        when(payloadRepository.findAllById(any())).thenReturn(List.of(
+                AuditPayload.builder().hash("a1").payload("{\"cep\":\"01310100\"}").build()));
+
+        // When
+        payloadStore.resolve(List.of(hashed, legacy));
+
+        // Then
+        assertThat(hashed.getResponseData()).isEqualTo("{\"cep\":\"01310100\"}");
+        assertThat(legacy.getResponseData()).isEqualTo("{\"cep\":\"20040020\"}");
+    }
+
+    private CepResponse paulista() {
+        return CepResponse.builder()
+                .cep("01310-100")
+                .street("Avenida Paulista")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .build();
+    }
+}
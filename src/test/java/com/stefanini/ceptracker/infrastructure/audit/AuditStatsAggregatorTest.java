@@ -0,0 +1,179 @@
+package com.stefanini.ceptracker.infrastructure.audit;
+
+import com.stefanini.ceptracker.domain.entity.AuditCepStatsRollup;
+import com.stefanini.ceptracker.domain.entity.AuditLatencyRollup;
+import com.stefanini.ceptracker.domain.entity.AuditStatsRollup;
+import com.stefanini.ceptracker.domain.entity.CepAuditLog;
+import com.stefanini.ceptracker.infrastructure.repository.AuditCepStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.AuditLatencyRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.AuditStatsRollupRepository;
+import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditStatsAggregatorTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(10);
+
+    private AuditStatsRollupRepository statsRepository;
+    private AuditCepStatsRollupRepository cepStatsRepository;
+    private AuditLatencyRollupRepository latencyRepository;
+    private AuditStatsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        statsRepository = mock(AuditStatsRollupRepository.class);
+        cepStatsRepository = mock(AuditCepStatsRollupRepository.class);
+        latencyRepository = mock(AuditLatencyRollupRepository.class);
+        aggregator = new AuditStatsAggregator(statsRepository, cepStatsRepository, latencyRepository,
+                mock(CepAuditLogRepository.class), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), false, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFlushMinuteRollupsAndForgetClosedMinutes() {
+        // Given
+        aggregator.recordAll(List.of(
+                auditLog("01310100", true, 10, 5),
+                auditLog("01310100", true, 12, 30),
+                auditLog("00000000", false, 40, 59)));
+
+        // When
+        aggregator.flush();
+
+        // Then
+        ArgumentCaptor<AuditStatsRollup> totals = ArgumentCaptor.forClass(AuditStatsRollup.class);
+        verify(statsRepository).save(totals.capture());
+        assertThat(totals.getValue().getBucketStart()).isEqualTo(MINUTE);
+        assertThat(totals.getValue().getTotalRequests()).isEqualTo(3);
+        assertThat(totals.getValue().getSuccessfulRequests()).isEqualTo(2);
+        assertThat(totals.getValue().getFailedRequests()).isEqualTo(1);
+        assertThat(totals.getValue().getExecutionTimeSumMs()).isEqualTo(62);
+        assertThat(totals.getValue().getExecutionTimeMaxMs()).isEqualTo(40);
+
+        ArgumentCaptor<List<AuditCepStatsRollup>> ceps = ArgumentCaptor.forClass(List.class);
+        verify(cepStatsRepository).saveAll(ceps.capture());
+        assertThat(ceps.getValue()).extracting(AuditCepStatsRollup::getCep, AuditCepStatsRollup::getTotalRequests)
+                .containsExactlyInAnyOrder(tuple("01310100", 2L), tuple("00000000", 1L));
+
+        ArgumentCaptor<List<AuditLatencyRollup>> latency = ArgumentCaptor.forClass(List.class);
+        verify(latencyRepository).saveAll(latency.capture());
+        assertThat(latency.getValue()).extracting(AuditLatencyRollup::getRequests).containsOnly(1L);
+
+        assertThat(aggregator.pending(MINUTE, MINUTE.plusMinutes(1)).isEmpty()).isTrue();
+        aggregator.flush();
+        verify(statsRepository, times(1)).save(any());
+    }
+
+    @Test
+    void shouldKeepIncrementsInMemoryWhenFlushFails() {
+        // Given
+        when(statsRepository.save(any())).thenThrow(new DataAccessResourceFailureException("banco indisponível"));
+        aggregator.record(auditLog("01310100", true, 10, 0));
+
+        // When
+        aggregator.flush();
+
+        // Then
+        AuditStatsSnapshot pending = aggregator.pending(MINUTE, MINUTE.plusMinutes(1));
+        assertThat(pending.getTotalRequests()).isEqualTo(1);
+        assertThat(pending.getCepCounts().get("01310100")).containsExactly(1, 1, 0);
+        verify(cepStatsRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldNotLoseRecordsWrittenDuringFlush() throws InterruptedException {
+        // Given
+        List<AuditStatsRollup> saved = new CopyOnWriteArrayList<>();
+        when(statsRepository.save(any())).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        int records = 20_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < records; i++) {
+                aggregator.record(auditLog("01310100", i % 2 == 0, 5, 0));
+            }
+        });
+
+        // When
+        writer.start();
+        while (writer.isAlive()) {
+            aggregator.flush();
+        }
+        writer.join();
+        aggregator.flush();
+
+        // Then - Cada registro aparece em exatamente um rollup, sem falhas negativas
+        assertThat(saved.stream().mapToLong(AuditStatsRollup::getTotalRequests).sum()).isEqualTo(records);
+        assertThat(saved).allSatisfy(rollup -> assertThat(rollup.getFailedRequests()).isNotNegative());
+        assertThat(saved.stream().mapToLong(AuditStatsRollup::getFailedRequests).sum()).isEqualTo(records / 2);
+    }
+
+    @Test
+    void shouldExposeUnflushedIncrementsOnlyInsideWindow() {
+        // Given
+        aggregator.record(auditLog("01310100", true, 10, 0));
+        aggregator.record(auditLog("01310100", true, 20, 0, MINUTE.plusMinutes(5)));
+
+        // When
+        AuditStatsSnapshot firstMinute = aggregator.pending(MINUTE, MINUTE.plusMinutes(1));
+        AuditStatsSnapshot all = aggregator.pending(MINUTE, MINUTE.plusMinutes(6));
+
+        // Then
+        assertThat(firstMinute.getTotalRequests()).isEqualTo(1);
+        assertThat(all.getTotalRequests()).isEqualTo(2);
+        assertThat(all.getExecutionTimeMaxMs()).isEqualTo(20);
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void shouldEstimatePercentilesFromLatencyBuckets() {
+        // Given
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        for (long latency = 1; latency <= 1000; latency++) {
+            counts[LatencyHistogram.bucketOf(latency)]++;
+        }
+
+        // When
+        long p50 = LatencyHistogram.percentile(counts, 0.5);
+        long p99 = LatencyHistogram.percentile(counts, 0.99);
+
+        // Then
+        assertThat(p50).isBetween(500L, 625L);
+        assertThat(p99).isBetween(990L, 1023L);
+        assertThat(LatencyHistogram.bucketOf(0)).isZero();
+        assertThat(LatencyHistogram.upperBound(LatencyHistogram.bucketOf(7))).isEqualTo(7);
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+    }
+
+    private static CepAuditLog auditLog(String cep, boolean success, long executionTimeMs, int second) {
+        return auditLog(cep, success, executionTimeMs, second, MINUTE);
+    }
+
+    private static CepAuditLog auditLog(String cep, boolean success, long executionTimeMs, int second,
+            LocalDateTime minute) {
+        return CepAuditLog.builder()
+                .cep(cep)
+                .requestTimestamp(minute.plusSeconds(second))
+                .success(success)
+                .executionTimeMs(executionTimeMs)
+                .build();
+    }
+}
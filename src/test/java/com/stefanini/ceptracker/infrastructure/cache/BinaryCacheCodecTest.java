@@ -0,0 +1,94 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryCacheCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinaryCacheCodec codec = new BinaryCacheCodec(objectMapper);
+
+    @Test
+    void shouldRoundTripCachedCepResponse() throws IOException {
+        // Given
+        CachedCepResponse entry = CachedCepResponse.of(paulista(), 3600, 86400);
+
+        // When
+        byte[] encoded = codec.encode(entry);
+        CachedCepResponse decoded = codec.decode(encoded, CachedCepResponse.class);
+
+        // Then
+        assertThat(decoded).isEqualTo(entry);
+        assertThat(encoded.length).isLessThan(objectMapper.writeValueAsBytes(entry).length / 2);
+    }
+
+    @Test
+    void shouldPreserveNullsEmptyStringsAndLeadingZeros() throws IOException {
+        // Given
+        CepResponse response = CepResponse.builder()
+                .cep("00000000")
+                .street("")
+                .city("Cidade fora do dicionário 🚚")
+                .giaCode("0001")
+                .erro(true)
+                .build();
+
+        // When
+        CepResponse decoded = codec.decode(codec.encode(response), CepResponse.class);
+
+        // Then
+        assertThat(decoded).isEqualTo(response);
+    }
+
+    @Test
+    void shouldReadLegacyJsonEntries() throws IOException {
+        // Given
+        byte[] legacy = objectMapper.writeValueAsBytes(paulista());
+
+        // When
+        CepResponse decoded = codec.decode(legacy, CepResponse.class);
+
+        // Then
+        assertThat(decoded).isEqualTo(paulista());
+    }
+
+    @Test
+    void shouldRejectTruncatedAndUnknownVersions() throws IOException {
+        // Given
+        byte[] encoded = codec.encode(paulista());
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+        byte[] futureVersion = encoded.clone();
+        futureVersion[1] = (byte) (BinaryCacheCodec.VERSION + 1);
+
+        // When & Then
+        assertThatThrownBy(() -> codec.decode(truncated, CepResponse.class)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> codec.decode(futureVersion, CepResponse.class)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> codec.decode(encoded, Long.class)).isInstanceOf(IOException.class);
+        assertThat(codec.decode("1700000000000".getBytes(StandardCharsets.UTF_8), Long.class))
+                .isEqualTo(1700000000000L);
+    }
+
+    static CepResponse paulista() {
+        return CepResponse.builder()
+                .cep("01310100")
+                .street("Avenida Paulista")
+                .complement("de 612 a 1510 - lado par")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .ibgeCode("3550308")
+                .giaCode("1004")
+                .areaCode("11")
+                .siafiCode("7107")
+                .build();
+    }
+}
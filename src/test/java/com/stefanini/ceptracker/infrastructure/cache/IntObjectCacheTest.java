@@ -0,0 +1,99 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntObjectCacheTest {
+
+    @Test
+    void shouldParseCepKeysWithoutPrefixAllocation() {
+        assertThat(CepKey.parse("01310100")).isEqualTo(1_310_100);
+        assertThat(CepKey.parse("00000000")).isZero();
+        assertThat(CepKey.parse("cep:99999999", 4)).isEqualTo(99_999_999);
+        assertThat(CepKey.parse("0131010")).isEqualTo(CepKey.INVALID);
+        assertThat(CepKey.parse("0131010a")).isEqualTo(CepKey.INVALID);
+        assertThat(CepKey.parse("01310-100")).isEqualTo(CepKey.INVALID);
+    }
+
+    @Test
+    void shouldStoreAndOverwriteEntries() {
+        // Given
+        IntObjectCache<String> cache = new IntObjectCache<>(1_000, 3600, () -> { });
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i * 7919, "v" + i);
+        }
+        cache.put(0, "zero");
+
+        // Then
+        assertThat(cache.size()).isEqualTo(1_000);
+        assertThat(cache.get(0)).isEqualTo("zero");
+        assertThat(cache.get(999 * 7919)).isEqualTo("v999");
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void shouldKeepFrequentlyReadEntriesWhenFull() {
+        // Given
+        AtomicInteger evictions = new AtomicInteger();
+        IntObjectCache<String> cache = new IntObjectCache<>(16, 3600, evictions::incrementAndGet);
+        for (int i = 0; i < 16; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        // When
+        for (int i = 100; i < 132; i++) {
+            cache.get(3);
+            cache.put(i, "v" + i);
+        }
+
+        // Then
+        assertThat(cache.size()).isEqualTo(16);
+        assertThat(evictions).hasValue(32);
+        assertThat(cache.get(3)).isEqualTo("v3");
+        assertThat(cache.get(131)).isEqualTo("v131");
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        IntObjectCache<String> cache = new IntObjectCache<>(100, 60, () -> { }, clock::get);
+        cache.put(1_310_100, "paulista");
+
+        // When / Then
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertThat(cache.get(1_310_100)).isEqualTo("paulista");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(cache.get(1_310_100)).isNull();
+    }
+
+    @Test
+    void shouldKeepAllLiveEntriesReachableAfterManyEvictions() {
+        // Given
+        IntObjectCache<Integer> cache = new IntObjectCache<>(64, 3600, () -> { });
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            cache.put(i, i);
+        }
+
+        // Then
+        assertThat(cache.size()).isEqualTo(64);
+        int reachable = 0;
+        for (int i = 0; i < 100_000; i++) {
+            Integer value = cache.get(i);
+            if (value != null) {
+                assertThat(value).isEqualTo(i);
+                reachable++;
+            }
+        }
+        assertThat(reachable).isEqualTo(64);
+    }
+}
@@ -0,0 +1,71 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotFoundCepFilterLoaderTest {
+
+    private StringRedisTemplate redisTemplate;
+    private NotFoundCepFilter notFoundFilter;
+    private NotFoundCepFilterLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        notFoundFilter = new NotFoundCepFilter(new SimpleMeterRegistry(), 1000, 0.01);
+        loader = new NotFoundCepFilterLoader(redisTemplate, notFoundFilter, true, 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLoadNegativeCacheKeysIntoFilter() {
+        // Given - Chaves gravadas antes do restart ou por outra instância
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("cep:notfound:00000000", "cep:notfound:99999999");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        // When
+        loader.loadOnStartup();
+
+        // Then
+        assertThat(notFoundFilter.mightContain("00000000")).isTrue();
+        assertThat(notFoundFilter.mightContain("99999999")).isTrue();
+        verify(redisTemplate).scan(argThat(options -> "cep:notfound:*".equals(options.getPattern())));
+        verify(cursor).close();
+    }
+
+    @Test
+    void shouldKeepFilterWhenRedisIsUnavailable() {
+        // Given
+        notFoundFilter.put("00000000");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenThrow(new RedisConnectionFailureException("Conexão recusada"));
+
+        // When
+        loader.reload();
+
+        // Then
+        assertThat(notFoundFilter.mightContain("00000000")).isTrue();
+    }
+
+    @Test
+    void shouldSkipScanWhenNegativeCacheIsDisabled() {
+        // Given
+        loader = new NotFoundCepFilterLoader(redisTemplate, notFoundFilter, false, 1000);
+
+        // When
+        loader.reload();
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,76 @@
+package com.stefanini.ceptracker.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotFoundCepFilterTest {
+
+    @Test
+    void shouldNeverRejectInsertedCeps() {
+        // Given
+        NotFoundCepFilter filter = new NotFoundCepFilter(new SimpleMeterRegistry(), 10_000, 0.01);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(String.format("%08d", i));
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(String.format("%08d", i))).isTrue();
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredProbability() {
+        // Given
+        NotFoundCepFilter filter = new NotFoundCepFilter(new SimpleMeterRegistry(), 10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(String.format("%08d", i));
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 50_000_000; i < 50_100_000; i++) {
+            if (filter.mightContain(String.format("%08d", i))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void shouldResetWhenCapacityIsExceeded() {
+        // Given
+        NotFoundCepFilter filter = new NotFoundCepFilter(new SimpleMeterRegistry(), 100, 0.01);
+        filter.put("00000000");
+
+        // When
+        for (int i = 1; i <= 100; i++) {
+            filter.put(String.format("%08d", 10_000_000 + i));
+        }
+
+        // Then
+        assertThat(filter.mightContain("00000000")).isFalse();
+        assertThat(filter.mightContain("10000100")).isTrue();
+    }
+
+    @Test
+    void shouldNotCountRepeatedInsertionsTowardsCapacity() {
+        // Given
+        NotFoundCepFilter filter = new NotFoundCepFilter(new SimpleMeterRegistry(), 100, 0.01);
+        filter.put("00000000");
+
+        // When - Recargas sucessivas das mesmas chaves
+        for (int i = 0; i < 500; i++) {
+            filter.put("00000000");
+        }
+
+        // Then
+        assertThat(filter.mightContain("00000000")).isTrue();
+    }
+}
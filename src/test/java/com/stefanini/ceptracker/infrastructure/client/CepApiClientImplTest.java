@@ -0,0 +1,111 @@
+package com.stefanini.ceptracker.infrastructure.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.config.WebClientConfig;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepApiClientImplTest {
+
+    private WireMockServer wireMockServer;
+    private ConnectionProvider connectionProvider;
+    private MeterRegistry meterRegistry;
+    private CepApiClient cepApiClient;
+
+    @BeforeEach
+    void setUp() {
+        // Usa os mappings do diretório wiremock/ do projeto
+        wireMockServer = new WireMockServer(options()
+                .dynamicPort()
+                .usingFilesUnderDirectory("wiremock"));
+        wireMockServer.start();
+
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.cepApiConnectionProvider(10, 100, 1000, 30000, 300000, 30000);
+        WebClient webClient = config.cepApiWebClient(config.webClientBuilder(), connectionProvider,
+                wireMockServer.baseUrl(), 1000, 500, false);
+        meterRegistry = new SimpleMeterRegistry();
+        cepApiClient = new CepApiClientImpl(new ReactiveCepApiClientImpl(webClient,
+                new StageTimers(meterRegistry, true, 1.0), 2000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void shouldResolveCepFromUpstream() {
+        // When
+        CepResponse response = cepApiClient.findCep("01310100");
+
+        // Then
+        assertThat(response.getCep()).isEqualTo("01310100");
+        assertThat(response.getCity()).isEqualTo("São Paulo");
+        assertThat(response.getErro()).isNull();
+        assertThat(upstreamLatency("success", "200").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnErrorFlagForUnknownCep() {
+        // When
+        CepResponse response = cepApiClient.findCep("00000000");
+
+        // Then
+        assertThat(response.getErro()).isTrue();
+    }
+
+    @Test
+    void shouldFailWhenUpstreamExceedsReadTimeout() {
+        // Given
+        wireMockServer.setGlobalFixedDelay(1500);
+
+        // When & Then
+        assertThatThrownBy(() -> cepApiClient.findCep("01310100"))
+                .isInstanceOf(CepApiException.class);
+        assertThat(upstreamLatency("timeout", "none").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagUpstreamLatencyWithHttpStatus() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/ws/33333333/json/"))
+                .willReturn(aResponse().withStatus(503)));
+
+        // When & Then
+        assertThatThrownBy(() -> cepApiClient.findCep("33333333"))
+                .isInstanceOf(CepApiException.class);
+        assertThat(upstreamLatency("http_error", "503").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailWhenUpstreamResetsConnection() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/ws/22222222/json/"))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        // When & Then
+        assertThatThrownBy(() -> cepApiClient.findCep("22222222"))
+                .isInstanceOf(CepApiException.class);
+    }
+
+    private Timer upstreamLatency(String outcome, String status) {
+        return meterRegistry.get("cep.upstream.latency").tag("outcome", outcome).tag("status", status).timer();
+    }
+}
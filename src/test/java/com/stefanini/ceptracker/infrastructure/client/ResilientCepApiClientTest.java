@@ -0,0 +1,156 @@
+package com.stefanini.ceptracker.infrastructure.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.config.ResilienceConfig;
+import com.stefanini.ceptracker.infrastructure.config.WebClientConfig;
+import com.stefanini.ceptracker.infrastructure.exception.CepApiException;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientCepApiClientTest {
+
+    private WireMockServer wireMockServer;
+    private ConnectionProvider connectionProvider;
+    private ReactiveCepApiClient upstream;
+    private MeterRegistry meterRegistry;
+    private final ResilienceConfig resilienceConfig = new ResilienceConfig();
+
+    @BeforeEach
+    void setUp() {
+        // Usa os mappings do diretório wiremock/ do projeto; atrasos e falhas são injetados por teste
+        wireMockServer = new WireMockServer(options()
+                .dynamicPort()
+                .usingFilesUnderDirectory("wiremock"));
+        wireMockServer.start();
+
+        WebClientConfig webClientConfig = new WebClientConfig();
+        connectionProvider = webClientConfig.cepApiConnectionProvider(50, 500, 1000, 30000, 300000, 30000);
+        WebClient webClient = webClientConfig.cepApiWebClient(webClientConfig.webClientBuilder(), connectionProvider,
+                wireMockServer.baseUrl(), 1000, 2000, false);
+        meterRegistry = new SimpleMeterRegistry();
+        upstream = new ReactiveCepApiClientImpl(webClient, new StageTimers(meterRegistry, true, 1.0), 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void shouldOpenCircuitAndFailFastWhenUpstreamKeepsFailing() {
+        // Given
+        wireMockServer.stubFor(get(urlPathMatching("/ws/.*/json/"))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        CircuitBreaker circuitBreaker = circuitBreaker(4);
+        ResilientCepApiClient client = client(circuitBreaker, 100, 1, false);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.findCep("01310100").block()).isInstanceOf(CepApiException.class);
+        }
+        wireMockServer.resetRequests();
+        assertThatThrownBy(() -> client.findCep("01310100").block()).isInstanceOf(CepApiException.class);
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(wireMockServer.getAllServeEvents()).isEmpty();
+        assertThat(meterRegistry.counter("cep.upstream.short.circuited").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCallsBeyondBulkheadLimit() {
+        // Given
+        wireMockServer.stubFor(get(urlPathMatching("/ws/.*/json/"))
+                .willReturn(okJson("{\"cep\":\"01310100\"}").withFixedDelay(500)));
+        ResilientCepApiClient client = client(circuitBreaker(100), 2, 1, false);
+
+        // When
+        List<String> outcomes = Flux.range(0, 5)
+                .flatMap(i -> client.findCep("0131010" + i)
+                        .map(CepResponse::getCep)
+                        .onErrorResume(CepApiException.class, e -> Mono.just("rejected")), 5)
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(outcomes).hasSize(5);
+        assertThat(outcomes.stream().filter("rejected"::equals).count()).isEqualTo(3);
+        assertThat(wireMockServer.getAllServeEvents()).hasSize(2);
+    }
+
+    @Test
+    void shouldRetryTransientFailure() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/ws/01310100/json/"))
+                .inScenario("transient").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER))
+                .willSetStateTo("recovered"));
+        wireMockServer.stubFor(get(urlPathEqualTo("/ws/01310100/json/"))
+                .inScenario("transient").whenScenarioStateIs("recovered")
+                .willReturn(okJson("{\"cep\":\"01310100\"}")));
+        ResilientCepApiClient client = client(circuitBreaker(100), 100, 2, false);
+
+        // When
+        CepResponse response = client.findCep("01310100").block();
+
+        // Then
+        assertThat(response.getCep()).isEqualTo("01310100");
+        assertThat(wireMockServer.getAllServeEvents()).hasSize(2);
+    }
+
+    @Test
+    void shouldHedgeSlowRequest() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/ws/01310100/json/"))
+                .inScenario("slow").whenScenarioStateIs(STARTED)
+                .willReturn(okJson("{\"cep\":\"slow\"}").withFixedDelay(1500))
+                .willSetStateTo("fast"));
+        wireMockServer.stubFor(get(urlPathEqualTo("/ws/01310100/json/"))
+                .inScenario("slow").whenScenarioStateIs("fast")
+                .willReturn(okJson("{\"cep\":\"01310100\"}")));
+        ResilientCepApiClient client = client(circuitBreaker(100), 100, 1, true);
+
+        // When
+        long start = System.currentTimeMillis();
+        CepResponse response = client.findCep("01310100").block();
+        long elapsed = System.currentTimeMillis() - start;
+
+        // Then
+        assertThat(response.getCep()).isEqualTo("01310100");
+        assertThat(elapsed).isLessThan(1500);
+        assertThat(meterRegistry.counter("cep.upstream.hedged").count()).isEqualTo(1);
+    }
+
+    private CircuitBreaker circuitBreaker(int minimumNumberOfCalls) {
+        return resilienceConfig.cepApiCircuitBreaker(meterRegistry, 50, 3000,
+                minimumNumberOfCalls, minimumNumberOfCalls, 60000, 1);
+    }
+
+    private ResilientCepApiClient client(CircuitBreaker circuitBreaker, int maxConcurrentCalls,
+            int maxAttempts, boolean hedging) {
+        return new ResilientCepApiClient(upstream, circuitBreaker,
+                resilienceConfig.cepApiBulkhead(meterRegistry, maxConcurrentCalls),
+                resilienceConfig.cepApiRetry(meterRegistry, maxAttempts, 10, 0.5),
+                meterRegistry, hedging, 50, 100);
+    }
+}
@@ -0,0 +1,119 @@
+package com.stefanini.ceptracker.infrastructure.dataset;
+
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CepSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldResolveCepsImportedFromCsv() throws IOException {
+        // Given
+        Path csv = write("ceps.csv",
+                "cep,logradouro,complemento,bairro,localidade,uf,ibge,gia,ddd,siafi",
+                "01310-100,Avenida Paulista,\"de 612 a 1510 - lado par\",Bela Vista,São Paulo,SP,3550308,1004,11,7107",
+                "20040020,Avenida Rio Branco,,Centro,Rio de Janeiro,RJ,3304557,,21,6001",
+                "01001000,Praça da Sé,lado ímpar,Sé,São Paulo,SP,3550308,1004,11,7107",
+                "20040020,\"Avenida Rio Branco, 1\",,Centro,Rio de Janeiro,RJ,3304557,,21,6001");
+        Path snapshot = dir.resolve("ceps.snapshot");
+
+        // When
+        int records = new CepSnapshotImporter().importFrom(csv, snapshot);
+        CepSnapshotStore store = store(snapshot);
+
+        // Then
+        assertThat(records).isEqualTo(3);
+        CepResponse paulista = store.find("01310100");
+        assertThat(paulista.getCep()).isEqualTo("01310-100");
+        assertThat(paulista.getStreet()).isEqualTo("Avenida Paulista");
+        assertThat(paulista.getComplement()).isEqualTo("de 612 a 1510 - lado par");
+        assertThat(paulista.getCity()).isEqualTo("São Paulo");
+        assertThat(paulista.getState()).isEqualTo("SP");
+        assertThat(paulista.getSiafiCode()).isEqualTo("7107");
+        assertThat(store.find("01001000").getComplement()).isEqualTo("lado ímpar");
+        // Última ocorrência do dump prevalece
+        assertThat(store.find("20040020").getStreet()).isEqualTo("Avenida Rio Branco, 1");
+        assertThat(store.find("99999999")).isNull();
+        assertThat(store.find("0131010A")).isNull();
+    }
+
+    @Test
+    void shouldImportViaCepJsonLinesAndSkipErrors() throws IOException {
+        // Given
+        Path jsonl = write("ceps.jsonl",
+                "{\"cep\":\"01310-100\",\"logradouro\":\"Avenida Paulista\",\"localidade\":\"São Paulo\",\"uf\":\"SP\",\"estado\":\"São Paulo\"}",
+                "",
+                "{\"cep\":\"00000000\",\"erro\":true}");
+        Path snapshot = dir.resolve("ceps.snapshot");
+
+        // When
+        int records = new CepSnapshotImporter().importFrom(jsonl, snapshot);
+        CepSnapshotStore store = store(snapshot);
+
+        // Then
+        assertThat(records).isEqualTo(1);
+        assertThat(store.find("01310100").getCity()).isEqualTo("São Paulo");
+        assertThat(store.find("01310100").getComplement()).isNull();
+        assertThat(store.find("00000000")).isNull();
+    }
+
+    @Test
+    void shouldHotSwapReplacedSnapshot() throws IOException {
+        // Given
+        Path snapshot = dir.resolve("ceps.snapshot");
+        CepSnapshotImporter importer = new CepSnapshotImporter();
+        importer.importFrom(write("v1.csv", "cep,localidade,uf", "01310100,São Paulo,SP"), snapshot);
+        CepSnapshotStore store = store(snapshot);
+        assertThat(store.find("20040020")).isNull();
+
+        // When
+        importer.importFrom(write("v2.csv", "cep,localidade,uf", "20040020,Rio de Janeiro,RJ"), snapshot);
+        Files.setLastModifiedTime(snapshot, FileTime.from(Instant.now().plusSeconds(60)));
+        store.reloadIfChanged();
+
+        // Then
+        assertThat(store.find("20040020").getCity()).isEqualTo("Rio de Janeiro");
+        assertThat(store.find("01310100")).isNull();
+    }
+
+    @Test
+    void shouldKeepCurrentSnapshotWhenReplacementIsInvalid() throws IOException {
+        // Given
+        Path snapshot = dir.resolve("ceps.snapshot");
+        new CepSnapshotImporter().importFrom(write("v1.csv", "cep,localidade,uf", "01310100,São Paulo,SP"), snapshot);
+        CepSnapshotStore store = store(snapshot);
+
+        // When
+        Path invalid = Files.writeString(dir.resolve("invalid.snapshot"), "not a snapshot");
+        Files.move(invalid, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.setLastModifiedTime(snapshot, FileTime.from(Instant.now().plusSeconds(60)));
+        store.reloadIfChanged();
+
+        // Then
+        assertThat(store.find("01310100").getCity()).isEqualTo("São Paulo");
+    }
+
+    private CepSnapshotStore store(Path snapshot) {
+        CepSnapshotStore store = new CepSnapshotStore(new SimpleMeterRegistry(), true, snapshot.toString());
+        store.load();
+        return store;
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(dir.resolve(name), List.of(lines));
+    }
+}
@@ -0,0 +1,113 @@
+package com.stefanini.ceptracker.infrastructure.metrics;
+
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers.Stage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageTimersTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldRecordStageLatencyTaggedByStage() {
+        // Given
+        StageTimers stageTimers = new StageTimers(meterRegistry, true, 1.0);
+
+        // When
+        stageTimers.record(Stage.CACHE_GET, stageTimers.start());
+        stageTimers.record(Stage.CACHE_GET, stageTimers.start());
+        stageTimers.record(Stage.AUDIT_PERSIST, stageTimers.start());
+
+        // Then
+        assertThat(stageLatency("cache_get").count()).isEqualTo(2);
+        assertThat(stageLatency("audit_persist").count()).isEqualTo(1);
+        assertThat(stageLatency("cache_save").count()).isZero();
+    }
+
+    @Test
+    void shouldSkipRecordingWhenDisabledOrOutOfSample() {
+        // Given
+        StageTimers disabled = new StageTimers(meterRegistry, false, 1.0);
+        StageTimers neverSampled = new StageTimers(new SimpleMeterRegistry(), true, 0.0);
+
+        // When
+        long start = disabled.start();
+        disabled.record(Stage.CACHE_GET, start);
+
+        // Then
+        assertThat(start).isEqualTo(StageTimers.NOT_SAMPLED);
+        assertThat(neverSampled.start()).isEqualTo(StageTimers.NOT_SAMPLED);
+        assertThat(stageLatency("cache_get").count()).isZero();
+    }
+
+    @Test
+    void shouldSampleApproximatelyTheConfiguredFraction() {
+        // Given
+        StageTimers stageTimers = new StageTimers(meterRegistry, true, 0.1);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            stageTimers.record(Stage.RESPONSE_SERIALIZE, stageTimers.start());
+        }
+
+        // Then
+        assertThat(stageLatency("response_serialize").count()).isBetween(700L, 1300L);
+    }
+
+    @Test
+    void shouldUseSubMicrosecondBucketsOnlyForCpuStages() {
+        // Given - O SimpleMeterRegistry não publica os buckets do histograma
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new StageTimers(meterRegistry, true, 1.0);
+
+        // When
+        double deserializeFloor = smallestBucketNanos(stageLatency("cache_deserialize"));
+        double serializeFloor = smallestBucketNanos(stageLatency("response_serialize"));
+        double cacheGetFloor = smallestBucketNanos(stageLatency("cache_get"));
+
+        // Then
+        assertThat(deserializeFloor).isLessThan(1_000);
+        assertThat(serializeFloor).isLessThan(1_000);
+        assertThat(cacheGetFloor).isGreaterThanOrEqualTo(50_000);
+    }
+
+    @Test
+    void shouldReuseUpstreamTimerPerOutcomeAndStatus() {
+        // Given
+        StageTimers stageTimers = new StageTimers(meterRegistry, true, 1.0);
+
+        // When
+        stageTimers.recordUpstream(stageTimers.start(), "success", 200);
+        stageTimers.recordUpstream(stageTimers.start(), "success", 200);
+        stageTimers.recordUpstream(stageTimers.start(), "timeout", 0);
+
+        // Then
+        assertThat(meterRegistry.get("cep.upstream.latency").tags("outcome", "success", "status", "200")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cep.upstream.latency").tags("outcome", "timeout", "status", "none")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cep.upstream.latency").timers()).hasSize(2);
+    }
+
+    private double smallestBucketNanos(Timer timer) {
+        return timer.takeSnapshot().histogramCounts()[0].bucket(TimeUnit.NANOSECONDS);
+    }
+
+    private Timer stageLatency(String stage) {
+        return meterRegistry.get("cep.stage.latency").tag("stage", stage).timer();
+    }
+}
@@ -0,0 +1,165 @@
+package com.stefanini.ceptracker.infrastructure.ratelimit;
+
+import com.stefanini.ceptracker.infrastructure.ratelimit.ClientRateLimiter.Scope;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ClientRateLimiterTest {
+
+    private StringRedisTemplate redisTemplate;
+    private MeterRegistry meterRegistry;
+    private ClientRateLimiter rateLimiter;
+    private final List<List<String>> syncedKeys = new ArrayList<>();
+    private final List<Object[]> syncedArgs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // IP: rajada de 2 e 1 token/s; API key: rajada de 5 e 10 tokens/s; até 3 clientes por escopo
+        rateLimiter = new ClientRateLimiter(redisTemplate, meterRegistry, 2, 1, 5, 10, 3, 500);
+    }
+
+    @Test
+    void shouldRejectAfterBurstWithTimeUntilNextToken() {
+        // When
+        long first = rateLimiter.tryAcquire(Scope.IP, "203.0.113.7");
+        long second = rateLimiter.tryAcquire(Scope.IP, "203.0.113.7");
+        long third = rateLimiter.tryAcquire(Scope.IP, "203.0.113.7");
+        long otherClient = rateLimiter.tryAcquire(Scope.IP, "198.51.100.1");
+
+        // Then
+        assertThat(first).isEqualTo(ClientRateLimiter.ALLOWED);
+        assertThat(second).isEqualTo(ClientRateLimiter.ALLOWED);
+        assertThat(third).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(otherClient).isEqualTo(ClientRateLimiter.ALLOWED);
+        assertThat(decisions("ip", "allowed")).isEqualTo(3);
+        assertThat(decisions("ip", "rejected")).isEqualTo(1);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldShareOverflowBucketWhenScopeIsFull() {
+        // Given - Três IPs já ocupam o escopo
+        rateLimiter.tryAcquire(Scope.IP, "198.51.100.1");
+        rateLimiter.tryAcquire(Scope.IP, "198.51.100.2");
+        rateLimiter.tryAcquire(Scope.IP, "198.51.100.3");
+
+        // When - IPs novos (forjados) caem todos no mesmo bucket de transbordo
+        long first = rateLimiter.tryAcquire(Scope.IP, "203.0.113.1");
+        long second = rateLimiter.tryAcquire(Scope.IP, "203.0.113.2");
+        long third = rateLimiter.tryAcquire(Scope.IP, "203.0.113.3");
+
+        // Then
+        assertThat(first).isEqualTo(ClientRateLimiter.ALLOWED);
+        assertThat(second).isEqualTo(ClientRateLimiter.ALLOWED);
+        assertThat(third).isPositive();
+        assertThat(meterRegistry.get("cep.ratelimit.buckets").tag("scope", "ip").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.counter("cep.ratelimit.overflow", "scope", "ip").count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRefundTokenToSameBucket() {
+        // Given
+        rateLimiter.tryAcquire(Scope.IP, "203.0.113.7");
+        rateLimiter.tryAcquire(Scope.IP, "203.0.113.7");
+
+        // When
+        rateLimiter.refund(Scope.IP, "203.0.113.7");
+
+        // Then
+        assertThat(rateLimiter.tryAcquire(Scope.IP, "203.0.113.7")).isEqualTo(ClientRateLimiter.ALLOWED);
+        assertThat(rateLimiter.tryAcquire(Scope.IP, "203.0.113.7")).isPositive();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReconcileConsumptionInOneScriptCallPerScope() {
+        // Given - Outras instâncias já esgotaram o bucket global do primeiro IP
+        rateLimiter.tryAcquire(Scope.IP, "203.0.113.7");
+        rateLimiter.tryAcquire(Scope.IP, "198.51.100.1");
+        rateLimiter.tryAcquire(Scope.IP, "198.51.100.1");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    syncedKeys.add(invocation.getArgument(1));
+                    syncedArgs.add((Object[]) invocation.getRawArguments()[2]);
+                    return List.of("-1.0", "0.5");
+                });
+
+        // When
+        rateLimiter.sync();
+
+        // Then
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertThat(syncedKeys.get(0)).containsExactlyInAnyOrder("ratelimit:ip:203.0.113.7", "ratelimit:ip:198.51.100.1");
+        assertThat(syncedArgs.get(0)).hasSize(4).startsWith("2.0", "1.0");
+        assertThat(rateLimiter.tryAcquire(Scope.IP, syncedKeys.get(0).get(0).substring("ratelimit:ip:".length())))
+                .isPositive();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepConsumptionForNextSyncWhenRedisFails() {
+        // Given
+        rateLimiter.tryAcquire(Scope.API_KEY, "integracao-a");
+        rateLimiter.tryAcquire(Scope.API_KEY, "integracao-a");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("Conexão recusada"))
+                .thenAnswer(invocation -> {
+                    syncedKeys.add(invocation.getArgument(1));
+                    syncedArgs.add((Object[]) invocation.getRawArguments()[2]);
+                    return List.of("3.0");
+                });
+
+        // When
+        rateLimiter.sync();
+        rateLimiter.tryAcquire(Scope.API_KEY, "integracao-a");
+        rateLimiter.sync();
+
+        // Then - Consumo dos dois envios somado; a API key vai para o Redis só como hash
+        assertThat(meterRegistry.counter("cep.ratelimit.sync.failures").count()).isEqualTo(1);
+        assertThat(syncedArgs.get(0)[2]).isEqualTo("3");
+        assertThat(syncedKeys.get(0).get(0))
+                .startsWith("ratelimit:api_key:")
+                .doesNotContain("integracao-a")
+                .hasSize("ratelimit:api_key:".length() + 64);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDropIdleBucketsWithoutCallingRedis() throws InterruptedException {
+        // Given - 1000 tokens/s: o bucket volta a ficar cheio em poucos milissegundos
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new ClientRateLimiter(redisTemplate, meterRegistry, 1, 1000, 1, 1000, 3, 500);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of("0.0"));
+        rateLimiter.tryAcquire(Scope.IP, "203.0.113.7");
+        rateLimiter.sync();
+        Thread.sleep(20);
+
+        // When
+        rateLimiter.sync();
+        rateLimiter.sync();
+
+        // Then - Só a primeira sincronização tinha bucket a enviar
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertThat(meterRegistry.get("cep.ratelimit.buckets").tag("scope", "ip").gauge().value()).isZero();
+    }
+
+    private double decisions(String scope, String decision) {
+        return meterRegistry.counter("cep.ratelimit.decisions", "scope", scope, "decision", decision).count();
+    }
+}
@@ -20,6 +20,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,8 +39,8 @@ class CepTrackerIntegrationTest {
 
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.redis.host", redisContainer::getHost);
-        registry.add("spring.redis.port", () -> redisContainer.getMappedPort(6379));
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", () -> redisContainer.getMappedPort(6379));
     }
 
     @MockBean
@@ -182,13 +183,17 @@ class CepTrackerIntegrationTest {
 
         // When - Consultar logs paginados
         ResponseEntity<Map> logsResponse = restTemplate.getForEntity(
-                "/api/v1/audit/logs?size=1&page=0", Map.class);
+                "/api/v1/audit/logs?size=1", Map.class);
+        ResponseEntity<Map> nextResponse = restTemplate.getForEntity(
+                "/api/v1/audit/logs?size=1&cursor={cursor}", Map.class, logsResponse.getBody().get("nextCursor"));
 
         // Then
         assertThat(logsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(logsResponse.getBody()).isNotNull();
-        assertThat(logsResponse.getBody().get("totalElements")).isEqualTo(2);
         assertThat(logsResponse.getBody().get("size")).isEqualTo(1);
+        assertThat((List<?>) logsResponse.getBody().get("content")).hasSize(1);
+        assertThat(logsResponse.getBody().get("nextCursor")).isNotNull();
+        assertThat((List<?>) nextResponse.getBody().get("content")).hasSize(1);
+        assertThat(nextResponse.getBody().get("nextCursor")).isNull();
     }
 
     @Test
@@ -205,7 +210,7 @@ class CepTrackerIntegrationTest {
         // Then
         assertThat(logsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(logsResponse.getBody()).isNotNull();
-        assertThat(logsResponse.getBody().get("totalElements")).isEqualTo(1);
+        assertThat((List<?>) logsResponse.getBody().get("content")).hasSize(1);
     }
 
     // Métodos auxiliares
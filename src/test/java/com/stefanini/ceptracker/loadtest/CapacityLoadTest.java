@@ -0,0 +1,243 @@
+package com.stefanini.ceptracker.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.global.GlobalSettings;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.stefanini.ceptracker.CepTrackerApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Capacidade do serviço completo antes de cada release: a aplicação sobe com H2, o cache
+ * em memória no lugar do Redis e a API externa simulada pelo WireMock com os mapeamentos de
+ * {@code wiremock/}, latência log-normal e uma taxa de 503. O tráfego segue a popularidade
+ * Zipf de {@link CepTraffic} (ou replay de {@code -Dloadtest.traffic=arquivo}) em carga
+ * aberta: a taxa sobe em degraus até o p99 passar do SLO ou os erros passarem do limite. A
+ * latência conta desde o instante planejado de cada envio, sem omissão coordenada, e os
+ * histogramas HDR de cada degrau ficam em target/loadtest. Executar com
+ * {@code ./mvnw test -Pload-test -Dtest=CapacityLoadTest}.
+ */
+@Tag("load")
+class CapacityLoadTest {
+
+    private static final int START_RPS = Integer.getInteger("loadtest.rps.start", 200);
+    private static final int STEP_RPS = Integer.getInteger("loadtest.rps.step", 200);
+    private static final int MAX_RPS = Integer.getInteger("loadtest.rps.max", 4000);
+    private static final int STEP_SECONDS = Integer.getInteger("loadtest.step-seconds", 10);
+    private static final double SLO_P99_MS = Double.parseDouble(System.getProperty("loadtest.slo.p99-ms", "250"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.01"));
+    private static final int HOT_CEPS = Integer.getInteger("loadtest.hot-ceps", 5000);
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("loadtest.zipf-exponent", "1.0"));
+    private static final double HIT_RATIO = Double.parseDouble(System.getProperty("loadtest.hit-ratio", "0.9"));
+    private static final double UPSTREAM_MEDIAN_MS = Double.parseDouble(System.getProperty("loadtest.upstream.median-ms", "40"));
+    private static final double UPSTREAM_SIGMA = Double.parseDouble(System.getProperty("loadtest.upstream.sigma", "0.4"));
+    private static final double UPSTREAM_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.upstream.error-rate", "0.002"));
+    private static final String TRAFFIC_FILE = System.getProperty("loadtest.traffic");
+    private static final int WARM_UP_CONCURRENCY = 32;
+    private static final int WARM_UP_PASSES = 3;
+    private static final Path REPORT_DIRECTORY = Path.of("target", "loadtest");
+
+    // Latências acima de um minuto são registradas como um minuto
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void startUpstream() {
+        wireMockServer = new WireMockServer(options()
+                .dynamicPort()
+                .usingFilesUnderDirectory("wiremock")
+                .containerThreads(500)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(500)
+                .extensions(new UpstreamFaults(UPSTREAM_ERROR_RATE)));
+        wireMockServer.start();
+        wireMockServer.updateGlobalSettings(GlobalSettings.builder()
+                .delayDistribution(new LogNormal(UPSTREAM_MEDIAN_MS, UPSTREAM_SIGMA))
+                .build());
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void shouldReportMaxSustainableThroughputWithinP99Slo() throws Exception {
+        CepTraffic traffic = TRAFFIC_FILE != null
+                ? CepTraffic.replay(Path.of(TRAFFIC_FILE))
+                : CepTraffic.zipf(HOT_CEPS, ZIPF_EXPONENT, HIT_RATIO);
+        Files.createDirectories(REPORT_DIRECTORY);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                CepTrackerApplication.class, LoadTestConfiguration.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:capacity",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.stefanini.ceptracker=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        // Mesmos caminhos de produção: cache L1 e auditoria assíncrona
+                        "--app.cep-service.cache.l1.enabled=true",
+                        "--app.audit.async.enabled=true",
+                        // Toda a carga sai de um único IP
+                        "--app.rate-limit.enabled=false",
+                        "--app.cep-service.external-api.base-url=" + wireMockServer.baseUrl())) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/cep/";
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            warmUp(httpClient, baseUrl, traffic.warmUpCeps());
+            // Degrau descartado: o JIT compila o caminho da requisição antes da medição
+            runStep(httpClient, baseUrl, traffic, START_RPS);
+
+            System.out.printf("%n%8s %10s %9s %9s %9s %9s %9s %7s%n",
+                    "alvo", "req/s", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9", "máx", "erros");
+            int sustainable = 0;
+            for (int rps = START_RPS; rps <= MAX_RPS; rps += STEP_RPS) {
+                StepResult step = runStep(httpClient, baseUrl, traffic, rps);
+                step.print(rps);
+                step.save(REPORT_DIRECTORY.resolve("latency-" + rps + "rps.hgrm"));
+                if (!step.meetsSlo()) {
+                    break;
+                }
+                sustainable = rps;
+            }
+
+            System.out.printf("%nRPS máximo sustentável com p99 <= %.0f ms e erros <= %.1f%%: %d%n",
+                    SLO_P99_MS, MAX_ERROR_RATE * 100, sustainable);
+            assertThat(sustainable).as("o primeiro degrau (%d req/s) deve cumprir o SLO", START_RPS).isPositive();
+        }
+    }
+
+    // Preenche o cache com o conjunto quente; CEPs rejeitados (ex.: circuit breaker aberto na partida a frio) são repetidos
+    private void warmUp(HttpClient httpClient, String baseUrl, List<String> ceps) throws InterruptedException {
+        List<String> pending = ceps;
+        for (int pass = 0; pass < WARM_UP_PASSES && !pending.isEmpty(); pass++) {
+            Queue<String> failed = new ConcurrentLinkedQueue<>();
+            AtomicInteger next = new AtomicInteger();
+            List<String> batch = pending;
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int worker = 0; worker < WARM_UP_CONCURRENCY; worker++) {
+                    executor.execute(() -> {
+                        int index;
+                        while ((index = next.getAndIncrement()) < batch.size()) {
+                            if (!send(httpClient, baseUrl + batch.get(index))) {
+                                failed.add(batch.get(index));
+                            }
+                        }
+                    });
+                }
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.MINUTES);
+            }
+            pending = List.copyOf(failed);
+        }
+        assertThat(pending).as("CEPs do conjunto quente fora do cache após o aquecimento").isEmpty();
+    }
+
+    // Carga aberta: cada envio tem um instante planejado e não espera as respostas anteriores
+    private StepResult runStep(HttpClient httpClient, String baseUrl, CepTraffic traffic, int rps)
+            throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3);
+        AtomicInteger errors = new AtomicInteger();
+        int requests = rps * STEP_SECONDS;
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                long intended = start + i * interval;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String url = baseUrl + traffic.next();
+                executor.execute(() -> {
+                    if (!send(httpClient, url)) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.recordValue(Math.min(System.nanoTime() - intended, HIGHEST_LATENCY_NANOS));
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        return new StepResult(latencies, requests, System.nanoTime() - start, errors.get());
+    }
+
+    private boolean send(HttpClient httpClient, String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class StepResult {
+        private final Histogram latencies;
+        private final double throughput;
+        private final double errorRate;
+        private final int errors;
+
+        private StepResult(Histogram latencies, int requests, long elapsedNanos, int errors) {
+            this.latencies = latencies;
+            this.throughput = requests / (elapsedNanos / 1_000_000_000.0);
+            this.errorRate = (double) errors / requests;
+            this.errors = errors;
+        }
+
+        private boolean meetsSlo() {
+            return millis(99) <= SLO_P99_MS && errorRate <= MAX_ERROR_RATE;
+        }
+
+        private double millis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+
+        private void print(int targetRps) {
+            System.out.printf("%8d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n", targetRps, throughput,
+                    millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / 1_000_000.0, errors);
+        }
+
+        // Distribuição completa em milissegundos, no formato .hgrm do HdrHistogram
+        private void save(Path file) throws IOException {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                latencies.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+}
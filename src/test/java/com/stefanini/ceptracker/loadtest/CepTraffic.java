@@ -0,0 +1,90 @@
+package com.stefanini.ceptracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CEPs das requisições de carga. No modo Zipf, uma fração {@code hitRatio} sai de um
+ * conjunto quente aquecido antes da medição, com popularidade proporcional a 1/rank^s;
+ * o restante são CEPs inéditos, que sempre passam pela API externa. No modo replay, os
+ * CEPs de um arquivo (um por linha, ou JSON Lines com o campo "cep") são repetidos em ordem.
+ */
+public class CepTraffic {
+
+    private static final int HOT_BASE = 10_000_000;
+    private static final int COLD_BASE = 90_000_000;
+
+    private final List<String> hotCeps;
+    private final double[] cumulative;
+    private final double hitRatio;
+    private final List<String> replay;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private CepTraffic(List<String> hotCeps, double[] cumulative, double hitRatio, List<String> replay) {
+        this.hotCeps = hotCeps;
+        this.cumulative = cumulative;
+        this.hitRatio = hitRatio;
+        this.replay = replay;
+    }
+
+    public static CepTraffic zipf(int hotCeps, double exponent, double hitRatio) {
+        List<String> ceps = new ArrayList<>(hotCeps);
+        double[] cumulative = new double[hotCeps];
+        double total = 0;
+        for (int rank = 1; rank <= hotCeps; rank++) {
+            ceps.add(String.valueOf(HOT_BASE + rank));
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new CepTraffic(ceps, cumulative, hitRatio, null);
+    }
+
+    public static CepTraffic replay(Path file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> ceps = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("{")) {
+                JsonNode cep = objectMapper.readTree(trimmed).get("cep");
+                if (cep != null) {
+                    ceps.add(cep.asText().replace("-", ""));
+                }
+            } else if (!trimmed.isEmpty()) {
+                ceps.add(trimmed.replace("-", ""));
+            }
+        }
+        if (ceps.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo de tráfego sem CEPs: " + file);
+        }
+        return new CepTraffic(List.of(), new double[0], 0, ceps);
+    }
+
+    // CEPs que devem estar em cache antes da medição; o replay parte do cache vazio, como o tráfego gravado
+    public List<String> warmUpCeps() {
+        return hotCeps;
+    }
+
+    public String next() {
+        if (replay != null) {
+            return replay.get(Math.floorMod(sequence.getAndIncrement(), replay.size()));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() >= hitRatio) {
+            return String.valueOf(COLD_BASE + sequence.getAndIncrement());
+        }
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return hotCeps.get(Math.min(index < 0 ? -index - 1 : index, hotCeps.size() - 1));
+    }
+}
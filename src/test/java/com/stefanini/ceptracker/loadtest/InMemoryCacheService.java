@@ -0,0 +1,43 @@
+package com.stefanini.ceptracker.loadtest;
+
+import com.stefanini.ceptracker.domain.service.CacheService;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Substituto em memória do Redis para os testes de carga (ignora o TTL)
+public class InMemoryCacheService implements CacheService {
+
+    private final Map<String, Object> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> void save(String key, T value, Duration ttl) {
+        entries.put(key, value);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        Object value = entries.get(key);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> values = new HashMap<>();
+        for (String key : keys) {
+            T value = get(key, type);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public <T> void saveAll(Map<String, T> values, Duration ttl) {
+        entries.putAll(values);
+    }
+}
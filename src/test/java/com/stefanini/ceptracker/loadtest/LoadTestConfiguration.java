@@ -0,0 +1,17 @@
+package com.stefanini.ceptracker.loadtest;
+
+import com.stefanini.ceptracker.domain.service.CacheService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+// Redis substituído pelo cache em memória: os testes de carga rodam numa máquina sem serviços externos
+@Configuration
+class LoadTestConfiguration {
+
+    @Bean
+    @Primary
+    CacheService inMemoryCacheService() {
+        return new InMemoryCacheService();
+    }
+}
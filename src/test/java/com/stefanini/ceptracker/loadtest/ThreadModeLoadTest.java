@@ -0,0 +1,152 @@
+package com.stefanini.ceptracker.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.stefanini.ceptracker.CepTrackerApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara throughput e p99 do fluxo bloqueante com threads de plataforma e com virtual
+ * threads, contra uma API externa lenta (WireMock com atraso fixo). Executar com
+ * {@code ./mvnw test -Pload-test}.
+ */
+@Tag("load")
+class ThreadModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 4000);
+    private static final int UPSTREAM_DELAY_MS = Integer.getInteger("loadtest.upstream-delay-ms", 200);
+    private static final int PLATFORM_THREADS = Integer.getInteger("loadtest.platform-threads", 50);
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void startUpstream() {
+        wireMockServer = new WireMockServer(options()
+                .dynamicPort()
+                .usingFilesUnderDirectory("wiremock")
+                .containerThreads(CONCURRENCY)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(CONCURRENCY));
+        wireMockServer.start();
+        wireMockServer.setGlobalFixedDelay(UPSTREAM_DELAY_MS);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void virtualThreadsShouldSustainMoreConcurrentSlowUpstreamRequests() throws Exception {
+        LoadResult platform = runAgainstApp(false);
+        LoadResult virtual = runAgainstApp(true);
+
+        System.out.printf("%n%-10s %10s %10s %10s %8s%n", "modo", "req/s", "p50 (ms)", "p99 (ms)", "erros");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+
+        assertThat(platform.errors).isZero();
+        assertThat(virtual.errors).isZero();
+        assertThat(virtual.throughput).isGreaterThan(platform.throughput);
+    }
+
+    private LoadResult runAgainstApp(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                CepTrackerApplication.class, LoadTestConfiguration.class)
+                .profiles("test")
+                // Argumentos de linha de comando têm precedência sobre o application-test.yml
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest-" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.stefanini.ceptracker=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--app.audit.async.enabled=true",
+                        // Toda a carga sai de um único IP
+                        "--app.rate-limit.enabled=false",
+                        // Pool do WebClient maior que a concorrência para não mascarar a comparação
+                        "--app.cep-service.external-api.pool.max-connections=" + CONCURRENCY * 2,
+                        "--app.cep-service.external-api.base-url=" + wireMockServer.baseUrl())) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            // CEPs únicos por requisição: todas passam pela API externa lenta
+            AtomicInteger cepSequence = new AtomicInteger(virtualThreads ? 20000000 : 10000000);
+
+            run(baseUrl, cepSequence, Math.min(REQUESTS, CONCURRENCY));
+            return run(baseUrl, cepSequence, REQUESTS);
+        }
+    }
+
+    private LoadResult run(String baseUrl, AtomicInteger cepSequence, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                executor.execute(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/api/v1/cep/" + cepSequence.getAndIncrement())).build();
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - requestStart;
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - start;
+            return new LoadResult(latencies, elapsed, errors.get());
+        }
+    }
+
+    private static final class LoadResult {
+        private final double throughput;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final int errors;
+
+        private LoadResult(long[] latencies, long elapsedNanos, int errors) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            this.throughput = sorted.length / (elapsedNanos / 1_000_000_000.0);
+            this.p50Ms = sorted[(int) (sorted.length * 0.50)] / 1_000_000.0;
+            this.p99Ms = sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1_000_000.0;
+            this.errors = errors;
+        }
+
+        private String format(String mode) {
+            return String.format("%-10s %10.1f %10.1f %10.1f %8d", mode, throughput, p50Ms, p99Ms, errors);
+        }
+    }
+}
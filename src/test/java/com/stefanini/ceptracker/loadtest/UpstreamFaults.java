@@ -0,0 +1,34 @@
+package com.stefanini.ceptracker.loadtest;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Falhas aleatórias da API externa no WireMock: uma fração das respostas vira 503
+public class UpstreamFaults implements ResponseDefinitionTransformerV2 {
+
+    private final double errorRate;
+
+    public UpstreamFaults(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return ResponseDefinitionBuilder.responseDefinition()
+                    .withStatus(503)
+                    .withBody("Serviço indisponível")
+                    .build();
+        }
+        return serveEvent.getResponseDefinition();
+    }
+
+    @Override
+    public String getName() {
+        return "upstream-faults";
+    }
+}
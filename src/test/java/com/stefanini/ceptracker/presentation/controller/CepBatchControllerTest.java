@@ -0,0 +1,89 @@
+package com.stefanini.ceptracker.presentation.controller;
+
+import com.stefanini.ceptracker.domain.dto.CepLookupResult;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.domain.service.AuditService;
+import com.stefanini.ceptracker.domain.service.CepService;
+import com.stefanini.ceptracker.infrastructure.ratelimit.ClientRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CepBatchController.class)
+class CepBatchControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockBean
+        private CepService cepService;
+
+        @MockBean
+        private AuditService auditService;
+
+        @MockBean
+        private ClientRateLimiter rateLimiter;
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldStreamOneLinePerCep() throws Exception {
+                // Given
+                doAnswer(invocation -> {
+                        Consumer<CepLookupResult> onResult = invocation.getArgument(1);
+                        onResult.accept(CepLookupResult.of("01310100",
+                                        CepResponse.builder().cep("01310100").city("São Paulo").build()));
+                        onResult.accept(CepLookupResult.of("00000000", CepResponse.builder().erro(true).build()));
+                        return null;
+                }).when(cepService).findCeps(any(), any());
+
+                // When
+                MvcResult result = mockMvc.perform(post("/api/v1/cep/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[\"01310100\", \"00000000\"]"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Then
+                String body = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+                String[] lines = body.split("\n");
+                assertThat(lines).hasSize(2);
+                assertThat(lines[0]).startsWith("{\"cep\":\"01310100\",\"status\":\"FOUND\",\"data\":{")
+                                .contains("\"localidade\":\"São Paulo\"");
+                assertThat(lines[1]).isEqualTo("{\"cep\":\"00000000\",\"status\":\"NOT_FOUND\"}");
+                verify(auditService).logCepBatch(argThat(results -> results.size() == 2), anyLong(), any(), any());
+        }
+
+        @Test
+        void shouldRejectInvalidCepInBatch() throws Exception {
+                // When & Then
+                mockMvc.perform(post("/api/v1/cep/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[\"01310100\", \"123\"]"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("Dados inválidos"));
+                verify(cepService, never()).findCeps(any(), any());
+        }
+}
@@ -3,34 +3,57 @@ package com.stefanini.ceptracker.presentation.controller;
 import com.stefanini.ceptracker.domain.dto.CepResponse;
 import com.stefanini.ceptracker.domain.service.AuditService;
 import com.stefanini.ceptracker.domain.service.CepService;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import com.stefanini.ceptracker.infrastructure.ratelimit.ClientRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CepController.class)
+@Import({CepResponseJson.class, CepCacheHeaders.class, SimpleMeterRegistry.class})
 class CepControllerTest {
 
         @Autowired
         private MockMvc mockMvc;
 
+        @Autowired
+        private MeterRegistry meterRegistry;
+
         @MockBean
         private CepService cepService;
 
         @MockBean
         private AuditService auditService;
 
+        @MockBean
+        private StageTimers stageTimers;
+
+        // Mock devolve 0 (ClientRateLimiter.ALLOWED): sem limite nos demais testes
+        @MockBean
+        private ClientRateLimiter rateLimiter;
+
         @Test
         void shouldReturnCepWhenValidCepProvided() throws Exception {
                 // Given
@@ -45,7 +68,7 @@ class CepControllerTest {
 
                 when(cepService.findCep(cep)).thenReturn(expectedResponse);
                 doNothing().when(auditService).logCepRequest(
-                                anyString(), anyString(), anyBoolean(), any(), anyLong(), anyString(), anyString());
+                                anyString(), any(), anyBoolean(), any(), anyLong(), anyString(), anyString());
 
                 // When & Then
                 mockMvc.perform(get("/api/v1/cep/{cep}", cep)
@@ -85,4 +108,91 @@ class CepControllerTest {
                                 .contentType(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isNotFound());
         }
-}
\ No newline at end of file
+
+        @Test
+        void shouldRejectWithRetryAfterWhenClientExceedsRateLimit() throws Exception {
+                // Given - Bucket do IP vazio por mais 1,5s
+                when(rateLimiter.tryAcquire(eq(ClientRateLimiter.Scope.IP), eq("203.0.113.7")))
+                                .thenReturn(1_500_000_000L);
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/cep/{cep}", "01310100")
+                                .header("X-Forwarded-For", "203.0.113.7"))
+                                .andExpect(status().isTooManyRequests())
+                                .andExpect(header().string("Retry-After", "2"))
+                                .andExpect(jsonPath("$.message").value("Limite de requisições excedido"));
+
+                verify(cepService, never()).findCep(anyString());
+        }
+
+        @Test
+        void shouldRejectByApiKeyAndRefundIpBucket() throws Exception {
+                // Given
+                when(rateLimiter.tryAcquire(ClientRateLimiter.Scope.API_KEY, "integracao-a"))
+                                .thenReturn(200_000_000L);
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/cep/{cep}", "01310100")
+                                .header("X-API-Key", "integracao-a"))
+                                .andExpect(status().isTooManyRequests())
+                                .andExpect(header().string("Retry-After", "1"));
+
+                verify(rateLimiter).refund(eq(ClientRateLimiter.Scope.IP), anyString());
+        }
+
+        @Test
+        void shouldReturnStrongEtagAndCacheControlWithCep() throws Exception {
+                // Given
+                when(cepService.findCep("01310100")).thenReturn(paulista());
+
+                // When & Then - max-age segue o TTL do cache (3600s)
+                mockMvc.perform(get("/api/v1/cep/{cep}", "01310100"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", matchesPattern("\"[0-9a-f]{64}\"")))
+                                .andExpect(header().string("Cache-Control", "public, max-age=3600"));
+        }
+
+        @Test
+        void shouldReturnNotModifiedWhenIfNoneMatchHasCurrentEtag() throws Exception {
+                // Given
+                when(cepService.findCep("01310100")).thenReturn(paulista());
+                MvcResult first = mockMvc.perform(get("/api/v1/cep/{cep}", "01310100")).andReturn();
+                String etag = first.getResponse().getHeader("ETag");
+                int bodyLength = first.getResponse().getContentAsByteArray().length;
+
+                // When & Then - Proxies podem reenviar o ETag como fraco
+                mockMvc.perform(get("/api/v1/cep/{cep}", "01310100")
+                                .header("If-None-Match", "\"outro\", W/" + etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", etag))
+                                .andExpect(header().string("Cache-Control", "public, max-age=3600"))
+                                .andExpect(content().bytes(new byte[0]));
+
+                assertThat(meterRegistry.counter("cep.http.conditional", "result", "not_modified").count()).isEqualTo(1);
+                assertThat(meterRegistry.counter("cep.http.not_modified.bytes").count()).isEqualTo(bodyLength);
+        }
+
+        @Test
+        void shouldReturnFullBodyWhenEtagChanged() throws Exception {
+                // Given
+                when(cepService.findCep("01310100")).thenReturn(paulista());
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/cep/{cep}", "01310100")
+                                .header("If-None-Match", "\"0000\""))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.logradouro").value("Avenida Paulista"));
+
+                assertThat(meterRegistry.counter("cep.http.conditional", "result", "modified").count()).isEqualTo(1);
+        }
+
+        private CepResponse paulista() {
+                return CepResponse.builder()
+                                .cep("01310-100")
+                                .street("Avenida Paulista")
+                                .neighborhood("Bela Vista")
+                                .city("São Paulo")
+                                .state("SP")
+                                .build();
+        }
+}
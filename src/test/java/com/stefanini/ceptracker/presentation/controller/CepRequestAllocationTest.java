@@ -0,0 +1,149 @@
+package com.stefanini.ceptracker.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.application.service.AuditServiceImpl;
+import com.stefanini.ceptracker.application.service.CacheServiceImpl;
+import com.stefanini.ceptracker.application.service.CepServiceImpl;
+import com.stefanini.ceptracker.domain.dto.CachedCepResponse;
+import com.stefanini.ceptracker.domain.dto.CepResponse;
+import com.stefanini.ceptracker.infrastructure.archive.AuditArchiveStore;
+import com.stefanini.ceptracker.infrastructure.audit.AsyncAuditLogWriter;
+import com.stefanini.ceptracker.infrastructure.audit.AuditBackpressurePolicy;
+import com.stefanini.ceptracker.infrastructure.audit.AuditPayloadStore;
+import com.stefanini.ceptracker.infrastructure.audit.AuditStatsAggregator;
+import com.stefanini.ceptracker.infrastructure.cache.BinaryCacheCodec;
+import com.stefanini.ceptracker.infrastructure.cache.CepResponseJson;
+import com.stefanini.ceptracker.infrastructure.cache.NearCache;
+import com.stefanini.ceptracker.infrastructure.cache.NotFoundCepFilter;
+import com.stefanini.ceptracker.infrastructure.client.CepApiClient;
+import com.stefanini.ceptracker.infrastructure.repository.AuditPayloadRepository;
+import com.stefanini.ceptracker.infrastructure.repository.CepAuditLogRepository;
+import com.stefanini.ceptracker.infrastructure.metrics.StageTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Guarda de regressão da alocação por requisição em GET /api/v1/cep/{cep} servido pelo
+ * cache L1: controller, serviço, cache, corpo JSON e auditoria reais; só o Redis e o
+ * banco ficam fora. Os bytes vêm do contador de alocação da própria thread, depois do
+ * aquecimento. O valor inclui o MockHttpServletRequest; a medição com o JIT completo
+ * fica no CepRequestPathBenchmark.
+ */
+class CepRequestAllocationTest {
+
+    // Orçamento por requisição; subir este valor exige justificar a alocação nova no hot path
+    static final long BYTES_PER_REQUEST_BUDGET = 512;
+
+    private static final String CEP = "01310100";
+    private static final int WARM_UP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 20_000;
+
+    private CepServiceImpl cepService;
+    private AsyncAuditLogWriter auditLogWriter;
+    private CepController controller;
+    private MockHttpServletRequest request;
+    private HttpServletResponse response;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        StageTimers stageTimers = new StageTimers(meterRegistry, true, 1.0);
+        NearCache nearCache = new NearCache(meterRegistry, true, 10_000, 3600);
+        CacheServiceImpl cacheService = new CacheServiceImpl(mock(RedisTemplate.class),
+                new BinaryCacheCodec(objectMapper), nearCache, stageTimers);
+        cepService = new CepServiceImpl(mock(CepApiClient.class), cacheService,
+                new NotFoundCepFilter(meterRegistry, 1000, 0.01), meterRegistry, 1, 10);
+
+        CepResponseJson responseJson = new CepResponseJson(objectMapper, stageTimers);
+        AuditPayloadStore payloadStore = new AuditPayloadStore(
+                mock(AuditPayloadRepository.class, withSettings().stubOnly()), responseJson, meterRegistry, 1000);
+        auditLogWriter = new AsyncAuditLogWriter(mock(CepAuditLogRepository.class, withSettings().stubOnly()),
+                mock(AuditStatsAggregator.class, withSettings().stubOnly()), payloadStore, meterRegistry, stageTimers,
+                true, 100_000, 100, 50, 10, 5000, AuditBackpressurePolicy.DROP);
+        auditLogWriter.start();
+        AuditServiceImpl auditService = new AuditServiceImpl(mock(CepAuditLogRepository.class), auditLogWriter,
+                payloadStore, mock(AuditArchiveStore.class));
+        controller = new CepController(cepService, auditService, responseJson,
+                new CepCacheHeaders(meterRegistry, 3600));
+
+        nearCache.put("cep:" + CEP, CachedCepResponse.of(CepResponse.builder()
+                .cep("01310-100")
+                .street("Avenida Paulista")
+                .complement("de 612 a 1510 - lado par")
+                .neighborhood("Bela Vista")
+                .city("São Paulo")
+                .state("SP")
+                .ibgeCode("3550308")
+                .areaCode("11")
+                .siafiCode("7107")
+                .build(), 3600, 86400));
+
+        request = new MockHttpServletRequest("GET", "/api/v1/cep/" + CEP);
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+        request.addHeader("User-Agent", "curl/8.5.0");
+        // Descarta os headers: no Tomcat o setHeader reaproveita o buffer do Response reciclado
+        response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public void setHeader(String name, String value) {
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogWriter.shutdown();
+        cepService.shutdown();
+    }
+
+    @Test
+    void shouldServeCachedCepWithinAllocationBudget() throws InterruptedException {
+        // Given - Thread aquecida e payload da auditoria já confirmado pelo writer
+        for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+            controller.getCep(CEP, request, response);
+        }
+        Thread.sleep(Duration.ofMillis(200));
+
+        // When
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        ResponseEntity<?> entity = null;
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            entity = controller.getCep(CEP, request, response);
+        }
+        long bytesPerRequest = (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_REQUESTS;
+
+        // Then
+        assertThat(entity.getBody()).isInstanceOf(byte[].class);
+        assertThat(bytesPerRequest)
+                .as("Alocação por requisição servida pelo L1: %d bytes", bytesPerRequest)
+                .isLessThanOrEqualTo(BYTES_PER_REQUEST_BUDGET);
+    }
+
+    @Test
+    void shouldParseForwardedForWithoutAllocatingForSingleAddress() {
+        String single = "203.0.113.7";
+
+        assertThat(CepRequestSupport.firstAddress(single)).isSameAs(single);
+        assertThat(CepRequestSupport.firstAddress(" 203.0.113.7 , 10.0.0.1, 10.0.0.2")).isEqualTo("203.0.113.7");
+        assertThat(CepRequestSupport.firstAddress("2001:db8::1,10.0.0.1")).isEqualTo("2001:db8::1");
+    }
+}
@@ -0,0 +1,86 @@
+package com.stefanini.ceptracker.presentation.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefanini.ceptracker.infrastructure.ratelimit.ClientRateLimiter;
+import com.stefanini.ceptracker.infrastructure.ratelimit.ClientRateLimiter.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private ClientRateLimiter rateLimiter;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(ClientRateLimiter.class);
+        when(rateLimiter.tryAcquire(any(), anyString())).thenReturn(ClientRateLimiter.ALLOWED);
+        // Dois proxies à frente da aplicação
+        filter = new RateLimitFilter(rateLimiter, new ObjectMapper(), 2);
+    }
+
+    @Test
+    void shouldLimitByAddressAddedByTrustedProxy() throws ServletException, IOException {
+        // Given - O cliente forja o primeiro endereço; os dois últimos vêm dos proxies
+        MockHttpServletRequest request = request();
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7, 10.0.0.2");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        verify(rateLimiter).tryAcquire(Scope.IP, "203.0.113.7");
+    }
+
+    @Test
+    void shouldRefundIpTokenWhenApiKeyIsLimited() throws ServletException, IOException {
+        // Given
+        when(rateLimiter.tryAcquire(Scope.API_KEY, "integracao-a")).thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+        MockHttpServletRequest request = request();
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, "integracao-a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        verify(rateLimiter).refund(Scope.IP, "10.0.0.9");
+    }
+
+    @Test
+    void shouldNotConsumeApiKeyWhenIpIsLimited() throws ServletException, IOException {
+        // Given
+        when(rateLimiter.tryAcquire(Scope.IP, "10.0.0.9")).thenReturn(TimeUnit.SECONDS.toNanos(1));
+        MockHttpServletRequest request = request();
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, "integracao-a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        verify(rateLimiter, never()).tryAcquire(eq(Scope.API_KEY), anyString());
+        verify(rateLimiter, never()).refund(any(), anyString());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/cep/01310100");
+        request.setRemoteAddr("10.0.0.9");
+        return request;
+    }
+}